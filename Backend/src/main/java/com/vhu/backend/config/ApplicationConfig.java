@@ -1,8 +1,12 @@
 package com.vhu.backend.config;
 
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 public class ApplicationConfig {
@@ -10,4 +14,55 @@ public class ApplicationConfig {
     public ModelMapper modelMapper() {
         return new ModelMapper();
     }
+
+    // Pool giới hạn cho các truy vấn song song của trang chủ; khi đầy thì luồng gọi tự chạy
+    @Bean
+    public ThreadPoolTaskExecutor homePageExecutor(@Value("${app.home.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("home-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Pool nhỏ cho việc thu nhỏ ảnh sau khi upload: giới hạn số ảnh lớn được giải nén cùng lúc
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor(@Value("${app.images.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Pool xóa file của tác vụ dọn dẹp media: xóa song song nhưng không làm nghẽn ổ đĩa
+    @Bean
+    public ThreadPoolTaskExecutor mediaCleanupExecutor(@Value("${app.media-cleanup.threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("media-cleanup-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Một luồng riêng cho job xuất prerender: lần xuất toàn bộ có thể kéo dài, không được giữ luồng @Scheduled dùng chung
+    @Bean
+    public ThreadPoolTaskExecutor prerenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("prerender-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -1,22 +1,78 @@
 // src/main/java/com/vhu/backend/config/MvcConfig.java
 package com.vhu.backend.config;
 
+import com.vhu.backend.controller.publics.UploadFileServlet;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.PathResourceResolver;
 
-import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Configuration
 public class MvcConfig implements WebMvcConfigurer {
 
+    public static final String PRERENDER_PATTERN = "/prerender/**";
+
+    @Value("${app.prerender.enabled:false}")
+    private boolean prerenderEnabled;
+
+    @Value("${app.prerender.dir:prerender}")
+    private String prerenderDir;
+
+    // File upload được phục vụ bởi servlet riêng (sendfile, Range, cache), không đi qua DispatcherServlet
+    @Bean
+    public ServletRegistrationBean<UploadFileServlet> uploadFileServlet(@Value("${file.upload-dir}") String uploadDir) {
+        ServletRegistrationBean<UploadFileServlet> registration =
+                new ServletRegistrationBean<>(new UploadFileServlet(uploadDir), UploadFileServlet.URL_PATTERN);
+        registration.setName("uploadFileServlet");
+        return registration;
+    }
+
+    // Servlet trên nằm ngoài Spring Security (web.ignoring) nên không nhận CORS của http.cors();
+    // dùng lại đúng cấu hình CORS chung cho đường dẫn upload
+    // (chỉ định tên bean vì HandlerMappingIntrospector của Spring MVC cũng là một CorsConfigurationSource)
+    @Bean
+    public FilterRegistrationBean<CorsFilter> uploadCorsFilter(
+            @Qualifier("corsConfigurationSource") CorsConfigurationSource corsConfigurationSource) {
+        FilterRegistrationBean<CorsFilter> registration =
+                new FilterRegistrationBean<>(new CorsFilter(corsConfigurationSource));
+        registration.addUrlPatterns(UploadFileServlet.URL_PATTERN);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadDir = Paths.get("uploads");
-        String uploadPath = uploadDir.toFile().getAbsolutePath();
+        if (prerenderEnabled) {
+            // JSON xuất sẵn bởi PrerenderExporter, tự chọn bản .gz khi client chấp nhận gzip.
+            // Không cache kết quả resolve: exporter xóa file của bài bị gỡ / đổi slug và danh mục bị xóa,
+            // Resource đã cache của các file đó sẽ làm request lỗi 500 thay vì 404
+            registry.addResourceHandler(PRERENDER_PATTERN)
+                    .addResourceLocations(Paths.get(prerenderDir).toAbsolutePath().normalize().toUri().toString())
+                    .setCacheControl(CacheControl.noCache().cachePublic())
+                    .resourceChain(false)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new PathResourceResolver());
+        }
+    }
 
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:/" + uploadPath + "/");
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        // Đường dẫn này bỏ qua Spring Security nên phải tự khai báo CORS
+        registry.addMapping(PRERENDER_PATTERN)
+                .allowedOrigins(SecurityConfig.ALLOWED_ORIGINS.toArray(String[]::new))
+                .allowedMethods("GET", "HEAD");
     }
 }
\ No newline at end of file
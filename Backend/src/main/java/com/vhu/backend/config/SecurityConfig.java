@@ -5,6 +5,7 @@ import com.vhu.backend.jwt.JwtAuthenticationFilter;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +14,7 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +32,13 @@ import java.util.List;
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+    public static final List<String> ALLOWED_ORIGINS = List.of(
+            "http://localhost:3001", // Cổng của trang Admin Local
+            "http://localhost:3000", // Cổng của trang Client Local
+            "https://aiotlab.viu.edu.vn", // Trang Client Production
+            "https://aiotlab.viu.edu.vn/admin" // Trang Admin Production
+    );
+
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
@@ -43,6 +52,21 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // File JSON xuất sẵn và file upload là dữ liệu public, không cần chạy qua chuỗi filter bảo mật
+    @Bean
+    public WebSecurityCustomizer publicFilesSecurityCustomizer() {
+        return web -> web.ignoring().requestMatchers(MvcConfig.PRERENDER_PATTERN, "/uploads/**");
+    }
+
+    // JwtAuthenticationFilter là @Component nên Spring Boot tự đăng ký nó cho mọi request;
+    // tắt đi để filter chỉ chạy trong security filter chain (các đường dẫn được bỏ qua ở trên không phải đọc JWT)
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -55,9 +79,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/translate/**").permitAll()
-                        .requestMatchers("/uploads/**").permitAll()
                         .requestMatchers("/api/internal/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        .requestMatchers("/sitemap.xml", "/sitemaps/**", "/feeds/**").permitAll()
                         .anyRequest().authenticated()
                 ).exceptionHandling((exceptionHandling) -> exceptionHandling.authenticationEntryPoint(jwtAuthenticationEntryPoint))
                 .httpBasic(Customizer.withDefaults());
@@ -71,12 +95,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
 
-        configuration.setAllowedOrigins(Arrays.asList(
-                "http://localhost:3001", // Cổng của trang Admin Local
-                "http://localhost:3000", // Cổng của trang Client Local
-                "https://aiotlab.viu.edu.vn", // Trang Client Production
-                "https://aiotlab.viu.edu.vn/admin" // Trang Admin Production
-        ));
+        configuration.setAllowedOrigins(ALLOWED_ORIGINS);
 
         // Các phương thức HTTP được phép (GET, POST, PUT, DELETE...)
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
@@ -84,6 +103,9 @@ public class SecurityConfig {
         // Các header được phép
         configuration.setAllowedHeaders(List.of("*"));
 
+        // Header trả về cho client đọc được (tổng số kết quả và cursor của tìm kiếm)
+        configuration.setExposedHeaders(List.of("X-Total-Count", "X-Next-Cursor"));
+
         // Cho phép gửi cookie hoặc thông tin xác thực
         configuration.setAllowCredentials(true);
 
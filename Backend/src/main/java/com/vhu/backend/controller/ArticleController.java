@@ -3,7 +3,9 @@ package com.vhu.backend.controller;
 import com.vhu.backend.dto.article.request.ArticleCreateRequest;
 import com.vhu.backend.dto.article.request.ArticleUpdateRequest;
 import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.article.response.ArticleSummaryResponse;
 import com.vhu.backend.dto.article.response.ArticleTitleResponse;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.service.ArticleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -40,6 +42,27 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.getAllArticles(page, size, search));
     }
 
+    @GetMapping("/scroll")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> scrollArticles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "") String search,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return ResponseEntity.ok(articleService.getArticlesByCursor(search, cursor, size, withTotal));
+    }
+
+    @GetMapping("/summaries")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<Page<ArticleSummaryResponse>> getAllArticleSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false, defaultValue = "") String search
+    ) {
+        return ResponseEntity.ok(articleService.getAllArticleSummaries(page, size, search));
+    }
+
     @GetMapping("/slug/{slug}")
     public ResponseEntity<ArticleResponse> getArticleBySlug(@PathVariable String slug) {
         return ResponseEntity.ok(articleService.getArticleBySlug(slug));
@@ -64,6 +87,15 @@ public class ArticleController {
         return ResponseEntity.ok(articleService.getAllArticleTitles());
     }
 
+    // Gợi ý bài viết theo tiền tố từ trong tiêu đề, dùng cho ô chọn bài thay vì tải toàn bộ danh sách
+    @GetMapping("/titles/suggest")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<List<ArticleTitleResponse>> suggestArticleTitles(
+            @RequestParam(value = "q", defaultValue = "") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(articleService.suggestArticleTitles(query, Math.max(1, Math.min(limit, 50))));
+    }
+
     @GetMapping("/id/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
     public ResponseEntity<ArticleResponse> getArticleById(@PathVariable("id") Long articleId, Locale locale) {
@@ -1,16 +1,26 @@
 package com.vhu.backend.controller;
 
 import com.vhu.backend.entity.Media;
+import com.vhu.backend.event.MediaUploadedEvent;
 import com.vhu.backend.repository.MediaRepository;
-import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.ChunkedUploadService;
+import com.vhu.backend.service.MediaBlobService;
+import com.vhu.backend.service.MediaCleanupService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
@@ -19,8 +29,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class MediaController {
 
-    private final FileSystemStorageService storageService;
+    private final MediaBlobService mediaBlobService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MediaCleanupService mediaCleanupService;
     private final MediaRepository mediaRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // Upload file to Amazon S3 and create a media record in the database
 //    @PostMapping("/upload")
@@ -52,7 +65,90 @@ public class MediaController {
     public ResponseEntity<Map<String, Object>> uploadFile(
             @RequestParam("file") MultipartFile file
     ) {
-        String relativePath = storageService.store(file, FileSystemStorageService.TEMP_FOLDER);
+        MediaBlobService.StoredFile stored = mediaBlobService.store(file);
+        Media savedMedia = saveMedia(stored);
+
+        return ResponseEntity.ok(Map.of(
+                "mediaId", savedMedia.getId(),
+                "location", savedMedia.getUrl()
+        ));
+    }
+
+    // --- Upload theo từng đoạn cho file lớn (PDF, video), có thể gửi tiếp khi bị ngắt ---
+
+    @PostMapping("/uploads")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<ChunkedUploadService.UploadSession> initChunkedUpload(
+            @RequestParam String fileName,
+            @RequestParam long size,
+            @RequestParam(required = false) String contentType,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return new ResponseEntity<>(chunkedUploadService.init(fileName, size, contentType, userDetails.getUsername()),
+                HttpStatus.CREATED);
+    }
+
+    // Client gọi lại sau khi bị ngắt để biết phải gửi tiếp từ byte nào
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<ChunkedUploadService.UploadSession> getChunkedUpload(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return ResponseEntity.ok(chunkedUploadService.getSession(uploadId, userDetails.getUsername()));
+    }
+
+    // Thân request là dữ liệu thô của đoạn (application/octet-stream), không phải multipart
+    @PutMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<Map<String, Object>> appendChunk(
+            @PathVariable String uploadId,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) throws IOException {
+        long nextOffset = chunkedUploadService.append(uploadId, userDetails.getUsername(), offset, request.getInputStream());
+        return ResponseEntity.ok(Map.of("uploadId", uploadId, "offset", nextOffset));
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    @Transactional
+    public ResponseEntity<Map<String, Object>> completeChunkedUpload(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        ChunkedUploadService.CompletedUpload completed = chunkedUploadService.complete(uploadId, userDetails.getUsername());
+        Media savedMedia = saveMedia(completed.getStoredFile());
+
+        return ResponseEntity.ok(Map.of(
+                "mediaId", savedMedia.getId(),
+                "location", savedMedia.getUrl()
+        ));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('EDITOR')")
+    public ResponseEntity<Void> abortChunkedUpload(
+            @PathVariable String uploadId,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        chunkedUploadService.abort(uploadId, userDetails.getUsername());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Kết quả lần chạy gần nhất của tác vụ dọn dẹp media và đối chiếu thư mục upload
+    @GetMapping("/cleanup/report")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getCleanupReport() {
+        Map<String, Object> body = new HashMap<>();
+        body.put("cleanup", mediaCleanupService.getLastCleanupReport().orElse(null));
+        body.put("reconcile", mediaCleanupService.getLastReconcileReport().orElse(null));
+        return ResponseEntity.ok(body);
+    }
+
+    private Media saveMedia(MediaBlobService.StoredFile stored) {
+        String relativePath = stored.getPath();
 
         String fileUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/uploads/").path(relativePath).toUriString();
@@ -60,12 +156,11 @@ public class MediaController {
         Media newMedia = new Media();
         newMedia.setS3Key(relativePath);
         newMedia.setUrl(fileUrl);
+        newMedia.setBlobHash(stored.getBlobHash());
         // owner_id và owner_type sẽ là NULL, chờ được gán sau
         Media savedMedia = mediaRepository.save(newMedia);
-
-        return ResponseEntity.ok(Map.of(
-                "mediaId", savedMedia.getId(),
-                "location", savedMedia.getUrl()
-        ));
+        // Ảnh thu nhỏ được tạo ở luồng nền sau khi commit
+        eventPublisher.publishEvent(new MediaUploadedEvent(savedMedia.getId()));
+        return savedMedia;
     }
 }
\ No newline at end of file
@@ -1,16 +1,17 @@
 package com.vhu.backend.controller.publics;
 
-import com.vhu.backend.dto.academics.response.MajorResponse;
-import com.vhu.backend.dto.academics.response.ProgramLevelResponse;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.service.ContentVersions;
+import com.vhu.backend.service.JsonSnapshotCache;
 import com.vhu.backend.service.MajorService;
+import com.vhu.backend.utils.HttpCacheUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public")
@@ -18,20 +19,26 @@ import java.util.List;
 public class PublicAcademicsController {
 
     private final MajorService majorService;
+    private final ContentVersions contentVersions;
+    private final JsonSnapshotCache jsonSnapshotCache;
 
     /**
      * API Public: Lấy danh sách các Hệ đào tạo
      */
     @GetMapping("/program-levels/{lang}")
-    public ResponseEntity<List<ProgramLevelResponse>> getPublicProgramLevels(@PathVariable String lang) {
-        return ResponseEntity.ok(majorService.getAllProgramLevels(lang));
+    public ResponseEntity<byte[]> getPublicProgramLevels(@PathVariable String lang, WebRequest request) {
+        return jsonSnapshotCache.respond(request, "program-levels", lang,
+                contentVersions.sectionTag(ContentChangedEvent.Section.MAJOR),
+                HttpCacheUtil.REFERENCE_DATA, () -> majorService.getAllProgramLevels(lang));
     }
 
     /**
      * API Public: Lấy danh sách tất cả các Ngành học
      */
     @GetMapping("/majors/{lang}")
-    public ResponseEntity<List<MajorResponse>> getPublicMajors(@PathVariable String lang) {
-        return ResponseEntity.ok(majorService.getPublicMajors(lang));
+    public ResponseEntity<byte[]> getPublicMajors(@PathVariable String lang, WebRequest request) {
+        return jsonSnapshotCache.respond(request, "majors", lang,
+                contentVersions.sectionTag(ContentChangedEvent.Section.MAJOR),
+                HttpCacheUtil.REFERENCE_DATA, () -> majorService.getPublicMajors(lang));
     }
 }
\ No newline at end of file
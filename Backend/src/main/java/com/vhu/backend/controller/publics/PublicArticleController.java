@@ -1,25 +1,56 @@
 package com.vhu.backend.controller.publics;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.article.response.ArticleSearchResult;
+import com.vhu.backend.dto.article.response.ArticleSummaryResponse;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.service.ArticleService;
+import com.vhu.backend.service.ArticleViewCounter;
+import com.vhu.backend.service.ContentVersions;
+import com.vhu.backend.service.JsonSnapshotCache;
+import com.vhu.backend.service.TrendingArticles;
+import com.vhu.backend.utils.HttpCacheUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/public/articles")
 @RequiredArgsConstructor
 public class PublicArticleController {
 
+    private static final int SEARCH_STREAM_CHUNK_SIZE = 10;
+    private static final int MAX_FEATURED = 20;
+
     private final ArticleService articleService;
+    private final ObjectMapper objectMapper;
+    private final ContentVersions contentVersions;
+    private final JsonSnapshotCache jsonSnapshotCache;
+    private final ArticleViewCounter articleViewCounter;
 
     @GetMapping("/featured/{languageCode}")
-    public ResponseEntity<List<ArticleResponse>> getFeaturedArticles(
+    public ResponseEntity<?> getFeaturedArticles(
             @PathVariable String languageCode,
-            @RequestParam(defaultValue = "3") int limit) {
-        return ResponseEntity.ok(articleService.getPinnedArticles(languageCode, limit));
+            @RequestParam(defaultValue = "3") int limit,
+            WebRequest request) {
+        // Giới hạn limit trước khi đưa vào khóa bản chụp, ngôn ngữ được JsonSnapshotCache kiểm tra
+        int size = Math.max(1, Math.min(limit, MAX_FEATURED));
+        Optional<Long> version = articleService.findPublishedListVersion();
+        if (version.isPresent()) {
+            return jsonSnapshotCache.respond(request, "featured:" + size, languageCode,
+                    contentVersions.articleListTag(version.get()), HttpCacheUtil.REVALIDATE,
+                    () -> articleService.getPinnedArticles(languageCode, size));
+        }
+        return ResponseEntity.ok(articleService.getPinnedArticles(languageCode, size));
     }
 
 //    @GetMapping("/announcements/{languageCode}")
@@ -30,11 +61,41 @@ public class PublicArticleController {
 //        return ResponseEntity.ok(articleService.getLatestArticlesByCategoryId(categoryId, languageCode, limit));
 //    }
 
+    /**
+     * Body vẫn là mảng JSON để tương thích client cũ, nhưng được ghi dần từng nhóm bài viết.
+     * Tổng số kết quả nằm trong header X-Total-Count, trang tiếp theo lấy bằng cursor trong X-Next-Cursor.
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<ArticleResponse>> searchArticles(
+    public ResponseEntity<StreamingResponseBody> searchArticles(
             @RequestParam("q") String query,
-            @RequestParam(defaultValue = "vi") String lang) {
-        return ResponseEntity.ok(articleService.searchPublicArticles(query, lang));
+            @RequestParam(defaultValue = "vi") String lang,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        ArticleSearchResult result = articleService.searchPublicArticleIds(query, lang, page, size, cursor);
+        List<Long> ids = result.getArticleIds();
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                for (int from = 0; from < ids.size(); from += SEARCH_STREAM_CHUNK_SIZE) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + SEARCH_STREAM_CHUNK_SIZE, ids.size()));
+                    for (ArticleResponse article : articleService.getArticleResponses(chunk, lang)) {
+                        objectMapper.writeValue(generator, article);
+                    }
+                    generator.flush();
+                }
+                generator.writeEndArray();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Total-Count", String.valueOf(result.getTotal()));
+        if (result.getNextCursor() != null) {
+            response.header("X-Next-Cursor", result.getNextCursor());
+        }
+        return response.body(body);
     }
 
     @GetMapping("/latest/{languageCode}")
@@ -52,16 +113,56 @@ public class PublicArticleController {
         return ResponseEntity.ok(articleService.getLatestArticlesByCategorySlug(slug, languageCode, limit));
     }
 
+    @GetMapping("/by-category-slug/{slug}/{languageCode}/scroll")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> scrollByCategorySlug(
+            @PathVariable String slug,
+            @PathVariable String languageCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(articleService.getArticlesByCategorySlugCursor(slug, languageCode, cursor, size, withTotal));
+    }
+
     @GetMapping("/slug/{slug}/{languageCode}")
     public ResponseEntity<ArticleResponse> getPublicArticleBySlug(
             @PathVariable String slug,
-            @PathVariable String languageCode) {
+            @PathVariable String languageCode,
+            WebRequest request) {
+
+        Optional<String> version = articleService.findArticleVersionBySlug(slug);
+        if (version.isPresent()) {
+            return HttpCacheUtil.conditional(request, contentVersions.articleTag(version.get()), HttpCacheUtil.REVALIDATE,
+                    () -> articleService.getArticleBySlug(slug));
+        }
 
         ArticleResponse articleResponse = articleService.getArticleBySlug(slug);
 
         return ResponseEntity.ok(articleResponse);
     }
 
+    @PostMapping("/{articleId}/view")
+    public ResponseEntity<Void> recordView(@PathVariable Long articleId) {
+        articleViewCounter.record(articleId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/most-viewed/{languageCode}")
+    public ResponseEntity<List<ArticleResponse>> getMostViewedArticles(
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "week") String window,
+            @RequestParam(defaultValue = "5") int limit) {
+        int size = Math.max(1, Math.min(limit, ArticleViewCounter.MAX_RANKED));
+        return ResponseEntity.ok(articleService.getMostViewedArticles(languageCode, ArticleViewCounter.Window.from(window), size));
+    }
+
+    @GetMapping("/trending/{languageCode}")
+    public ResponseEntity<List<ArticleResponse>> getTrendingArticles(
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "5") int limit) {
+        int size = Math.max(1, Math.min(limit, TrendingArticles.MAX_CANDIDATES));
+        return ResponseEntity.ok(articleService.getTrendingArticles(languageCode, size));
+    }
+
     @GetMapping("/related/{articleId}/{categoryId}/{languageCode}")
     public ResponseEntity<List<ArticleResponse>> getRelatedArticles(
             @PathVariable Long articleId,
@@ -71,4 +172,46 @@ public class PublicArticleController {
 
         return ResponseEntity.ok(articleService.getRelatedArticles(articleId, categoryId, languageCode, limit));
     }
+
+    // --- Bản rút gọn (không có nội dung bài) cho các thẻ bài viết ---
+
+    @GetMapping("/summaries/featured/{languageCode}")
+    public ResponseEntity<List<ArticleSummaryResponse>> getFeaturedArticleSummaries(
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "3") int limit) {
+        return ResponseEntity.ok(articleService.getPinnedArticleSummaries(languageCode, limit));
+    }
+
+    @GetMapping("/summaries/latest/{languageCode}")
+    public ResponseEntity<List<ArticleSummaryResponse>> getLatestArticleSummaries(
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "6") int limit) {
+        return ResponseEntity.ok(articleService.getLatestArticleSummaries(languageCode, limit));
+    }
+
+    @GetMapping("/summaries/by-category-slug/{slug}/{languageCode}")
+    public ResponseEntity<List<ArticleSummaryResponse>> getArticleSummariesByCategorySlug(
+            @PathVariable String slug,
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "3") int limit) {
+        return ResponseEntity.ok(articleService.getArticleSummariesByCategorySlug(slug, languageCode, limit));
+    }
+
+    @GetMapping("/summaries/related/{articleId}/{categoryId}/{languageCode}")
+    public ResponseEntity<List<ArticleSummaryResponse>> getRelatedArticleSummaries(
+            @PathVariable Long articleId,
+            @PathVariable Integer categoryId,
+            @PathVariable String languageCode,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(articleService.getRelatedArticleSummaries(articleId, categoryId, languageCode, limit));
+    }
+
+    @GetMapping("/summaries/search")
+    public ResponseEntity<Page<ArticleSummaryResponse>> searchArticleSummaries(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "vi") String lang,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(articleService.searchPublicArticleSummaries(query, lang, page, size));
+    }
 }
\ No newline at end of file
@@ -1,14 +1,15 @@
 package com.vhu.backend.controller.publics;
 
-import com.vhu.backend.dto.category.response.CategoryResponse;
 import com.vhu.backend.service.CategoryService;
+import com.vhu.backend.service.ContentVersions;
+import com.vhu.backend.service.JsonSnapshotCache;
+import com.vhu.backend.utils.HttpCacheUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public/categories")
@@ -16,10 +17,12 @@ import java.util.List;
 public class PublicCategoryController {
 
     private final CategoryService categoryService;
+    private final ContentVersions contentVersions;
+    private final JsonSnapshotCache jsonSnapshotCache;
 
     @GetMapping("/tree")
-    public ResponseEntity<List<CategoryResponse>> getPublicCategoryTree() {
-        List<CategoryResponse> categoryTree = categoryService.getAllCategoriesAsTree();
-        return ResponseEntity.ok(categoryTree);
+    public ResponseEntity<byte[]> getPublicCategoryTree(WebRequest request) {
+        return jsonSnapshotCache.respond(request, "categories:tree", contentVersions.categoryTag(),
+                HttpCacheUtil.REFERENCE_DATA, categoryService::getAllCategoriesAsTree);
     }
 }
@@ -0,0 +1,23 @@
+package com.vhu.backend.controller.publics;
+
+import com.vhu.backend.dto.home.response.HomePageResponse;
+import com.vhu.backend.service.HomePageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/public/home")
+@RequiredArgsConstructor
+public class PublicHomeController {
+
+    private final HomePageService homePageService;
+
+    @GetMapping("/{languageCode}")
+    public ResponseEntity<HomePageResponse> getHomePage(@PathVariable String languageCode) {
+        return ResponseEntity.ok(homePageService.getHomePage(languageCode));
+    }
+}
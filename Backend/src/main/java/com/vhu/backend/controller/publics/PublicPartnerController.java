@@ -1,15 +1,17 @@
 package com.vhu.backend.controller.publics;
 
-import com.vhu.backend.dto.partner.response.PartnerResponse;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.service.ContentVersions;
+import com.vhu.backend.service.JsonSnapshotCache;
 import com.vhu.backend.service.PartnerService;
+import com.vhu.backend.utils.HttpCacheUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public/partners")
@@ -17,9 +19,14 @@ import java.util.List;
 public class PublicPartnerController {
 
     private final PartnerService partnerService;
+    private final ContentVersions contentVersions;
+    private final JsonSnapshotCache jsonSnapshotCache;
 
     @GetMapping
-    public ResponseEntity<List<PartnerResponse>> getPublicPartners(@RequestParam(defaultValue = "vi") String lang) {
-        return ResponseEntity.ok(partnerService.getPublicPartners(lang));
+    public ResponseEntity<byte[]> getPublicPartners(@RequestParam(defaultValue = "vi") String lang,
+                                                    WebRequest request) {
+        return jsonSnapshotCache.respond(request, "partners", lang,
+                contentVersions.sectionTag(ContentChangedEvent.Section.PARTNER),
+                HttpCacheUtil.REFERENCE_DATA, () -> partnerService.getPublicPartners(lang));
     }
 }
\ No newline at end of file
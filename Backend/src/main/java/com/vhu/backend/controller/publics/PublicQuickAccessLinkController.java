@@ -1,14 +1,16 @@
 package com.vhu.backend.controller.publics;
 
-import com.vhu.backend.dto.quick_access.response.QuickAccessLinkResponse;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.service.ContentVersions;
+import com.vhu.backend.service.JsonSnapshotCache;
 import com.vhu.backend.service.QuickAccessLinkService;
+import com.vhu.backend.utils.HttpCacheUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/public/quick-links")
@@ -16,10 +18,14 @@ import java.util.List;
 public class PublicQuickAccessLinkController {
 
     private final QuickAccessLinkService linkService;
+    private final ContentVersions contentVersions;
+    private final JsonSnapshotCache jsonSnapshotCache;
 
     @GetMapping
-    public ResponseEntity<List<QuickAccessLinkResponse>> getActiveLinks() {
+    public ResponseEntity<byte[]> getActiveLinks(WebRequest request) {
         // Gọi phương thức mới và trả về DTO bạn đã định nghĩa
-        return ResponseEntity.ok(linkService.getActiveLinks());
+        return jsonSnapshotCache.respond(request, "quick-links",
+                contentVersions.sectionTag(ContentChangedEvent.Section.QUICK_LINK),
+                HttpCacheUtil.REFERENCE_DATA, linkService::getActiveLinks);
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.vhu.backend.controller.publics;
+
+import com.vhu.backend.service.SitemapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+@RestController
+@RequiredArgsConstructor
+public class PublicSitemapController {
+
+    private static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+    private static final CacheControl SEO_CACHE = CacheControl.maxAge(Duration.ofMinutes(30)).cachePublic();
+
+    private final SitemapService sitemapService;
+
+    @GetMapping("/sitemap.xml")
+    public ResponseEntity<Resource> getSitemapIndex() {
+        return xml(sitemapService.getSitemapIndex(), MediaType.APPLICATION_XML);
+    }
+
+    @GetMapping("/sitemaps/{section}/{shard:\\d+}.xml")
+    public ResponseEntity<Resource> getSitemapShard(@PathVariable String section, @PathVariable int shard) {
+        return xml(sitemapService.getSitemapShard(SitemapService.Section.from(section), shard), MediaType.APPLICATION_XML);
+    }
+
+    @GetMapping("/feeds/{languageCode}/rss.xml")
+    public ResponseEntity<Resource> getFeed(@PathVariable String languageCode) {
+        return xml(sitemapService.getFeed(languageCode), RSS);
+    }
+
+    // Mở file một lần rồi lấy độ dài từ chính channel đó: nếu file được dựng lại (đổi tên đè lên) ngay sau đây,
+    // response vẫn là bản đã mở với Content-Length khớp, không đọc lẫn hai phiên bản
+    private ResponseEntity<Resource> xml(Path file, MediaType mediaType) {
+        long length;
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể đọc file " + file.getFileName(), e);
+        }
+        try {
+            length = channel.size();
+        } catch (IOException e) {
+            try {
+                channel.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            throw new UncheckedIOException("Không thể đọc file " + file.getFileName(), e);
+        }
+        // Stream được đóng sau khi ResourceHttpMessageConverter ghi xong body
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .contentLength(length)
+                .cacheControl(SEO_CACHE)
+                .body(new InputStreamResource(Channels.newInputStream(channel)));
+    }
+}
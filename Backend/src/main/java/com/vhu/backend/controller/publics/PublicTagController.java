@@ -1,6 +1,7 @@
 package com.vhu.backend.controller.publics;
 
 import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.dto.tag.response.TagResponse;
 import com.vhu.backend.service.TagService;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,16 @@ public class PublicTagController {
         return ResponseEntity.ok(tagService.getPublicArticlesByTagSlug(slug, languageCode));
     }
 
+    @GetMapping("/{slug}/articles/{languageCode}/scroll")
+    public ResponseEntity<CursorPageResponse<ArticleResponse>> scrollArticlesByTagSlug(
+            @PathVariable String slug,
+            @PathVariable String languageCode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "9") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        return ResponseEntity.ok(tagService.getPublicArticlesByTagSlugCursor(slug, languageCode, cursor, size, withTotal));
+    }
+
     @GetMapping("/popular")
     public ResponseEntity<List<TagResponse>> getPopularTags(
             @RequestParam(defaultValue = "10") int limit) {
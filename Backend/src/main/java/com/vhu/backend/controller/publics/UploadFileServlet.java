@@ -0,0 +1,199 @@
+package com.vhu.backend.controller.publics;
+
+import com.vhu.backend.service.FileSystemStorageService;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Phục vụ file trong thư mục upload tại /uploads/*, thay cho resource handler của Spring MVC.
+ * Chạy ngoài DispatcherServlet và được Spring Security bỏ qua (không đọc JWT), hỗ trợ Range, ETag / If-Modified-Since.
+ * Nội dung được gửi bằng sendfile của Tomcat: luồng xử lý request trả về ngay, poller của connector tự đẩy file
+ * ra socket. Nếu connector không hỗ trợ thì dùng FileChannel.transferTo.
+ */
+public class UploadFileServlet extends HttpServlet {
+
+    public static final String URL_PATTERN = "/uploads/*";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // File có tên theo nội dung (blob) hoặc theo UUID không bao giờ bị ghi đè nên cache vĩnh viễn
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // File trong temp sẽ bị chuyển đi khi bài viết được lưu
+    private static final String TEMPORARY = "no-cache";
+    private static final String DEFAULT = "public, max-age=86400";
+
+    private static final Pattern UUID_NAME = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}_.+");
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private final Path root;
+
+    public UploadFileServlet(String uploadDir) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, false);
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, boolean sendBody) throws IOException {
+        String relativePath = request.getPathInfo();
+        Path file = resolve(relativePath);
+        BasicFileAttributes attributes;
+        try {
+            attributes = file == null ? null : Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            attributes = null;
+        }
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(relativePath.substring(1), file));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String mimeType = getServletContext().getMimeType(file.getFileName().toString());
+        response.setContentType(mimeType != null ? mimeType : "application/octet-stream");
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && rangeApplies(request, etag, lastModified)) {
+            Matcher matcher = SINGLE_RANGE.matcher(range.trim());
+            // Nhiều khoảng (multipart/byteranges) thì trả cả file, client vẫn xử lý được
+            if (matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+                try {
+                    if (matcher.group(1).isEmpty()) {
+                        start = Math.max(0, length - Long.parseLong(matcher.group(2)));
+                    } else {
+                        start = Long.parseLong(matcher.group(1));
+                        if (!matcher.group(2).isEmpty()) {
+                            end = Math.min(end, Long.parseLong(matcher.group(2)));
+                        }
+                    }
+                } catch (NumberFormatException e) {
+                    start = length;
+                }
+                if (start >= length || start > end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (!sendBody || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // Chỉ phục vụ file nằm trong thư mục gốc; bỏ qua file ẩn (phiên upload dở, file tạm .tmp)
+    private Path resolve(String relativePath) {
+        if (relativePath == null || relativePath.length() < 2 || relativePath.contains("/.")) {
+            return null;
+        }
+        Path file = root.resolve(relativePath.substring(1)).normalize();
+        if (!file.startsWith(root) || file.getFileName().toString().endsWith(".tmp")) {
+            return null;
+        }
+        return file;
+    }
+
+    private static String cacheControl(String relativePath, Path file) {
+        if (relativePath.startsWith(FileSystemStorageService.TEMP_FOLDER + "/")) {
+            return TEMPORARY;
+        }
+        if (FileSystemStorageService.isBlob(relativePath) || UUID_NAME.matcher(file.getFileName().toString()).matches()) {
+            return IMMUTABLE;
+        }
+        return DEFAULT;
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return ifNoneMatch.trim().equals("*") || ifNoneMatch.contains(etag);
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // If-Range: file đã đổi kể từ lần tải trước thì trả lại cả file thay vì ghép nhầm các đoạn
+    private static boolean rangeApplies(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
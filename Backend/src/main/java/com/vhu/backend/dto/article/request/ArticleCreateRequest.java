@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,6 +25,11 @@ public class ArticleCreateRequest {
     @NotNull(message = "Trạng thái không được để trống")
     private ArticleStatus status;
 
+    // Thời điểm đăng trong tương lai thì bài được hẹn giờ (SCHEDULED)
+    private LocalDateTime publishAt;
+
+    private LocalDateTime unpublishAt;
+
     private boolean isPinned = false;
 
     @Valid
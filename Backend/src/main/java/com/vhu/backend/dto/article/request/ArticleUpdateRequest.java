@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -24,6 +25,14 @@ public class ArticleUpdateRequest {
     @NotNull(message = "Trạng thái không được để trống")
     private ArticleStatus status;
 
+    // Thời điểm đăng trong tương lai thì bài được hẹn giờ (SCHEDULED)
+    private LocalDateTime publishAt;
+
+    // Không gửi publishAt / unpublishAt thì giữ các mốc đã lưu; gửi true để bỏ lịch gỡ bài đã đặt
+    private LocalDateTime unpublishAt;
+
+    private boolean clearUnpublishAt;
+
     private boolean isPinned;
 
     @Valid
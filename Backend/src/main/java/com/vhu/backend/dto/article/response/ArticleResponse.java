@@ -16,10 +16,12 @@ public class ArticleResponse {
     private UserSimpleResponse author;
     private CategorySimpleResponse category;
     private String thumbnailUrl;
+    private String thumbnailSrcset;
     private Long thumbnailMediaId;
     private ArticleStatus status;
     private boolean isPinned;
     private LocalDateTime publishedAt;
+    private LocalDateTime unpublishAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<ArticleTranslationResponse> translations;
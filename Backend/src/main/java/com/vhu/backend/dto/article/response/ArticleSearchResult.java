@@ -0,0 +1,17 @@
+package com.vhu.backend.dto.article.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Một trang kết quả tìm kiếm (chỉ gồm id), kèm tổng số kết quả và cursor cho trang tiếp theo.
+ */
+@Data
+@AllArgsConstructor
+public class ArticleSearchResult {
+    private List<Long> articleIds;
+    private long total;
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.vhu.backend.dto.article.response;
+
+import com.vhu.backend.utils.ImageVariants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dữ liệu rút gọn cho các thẻ bài viết ở trang danh sách, chỉ gồm một ngôn ngữ và không có nội dung bài.
+ * Được dựng trực tiếp từ truy vấn JPQL (constructor expression) nên cột content không bao giờ được đọc.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleSummaryResponse {
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String thumbnailUrl;
+    private String thumbnailSrcset;
+    private String categoryName;
+    private LocalDateTime publishedAt;
+
+    // Dùng cho constructor expression: srcset được dựng từ kích thước ảnh đã lưu trong Media
+    public ArticleSummaryResponse(Long id, String title, String slug, String excerpt, String thumbnailUrl,
+                                  Integer thumbnailWidth, String thumbnailVariants,
+                                  String categoryName, LocalDateTime publishedAt) {
+        this(id, title, slug, excerpt, thumbnailUrl, ImageVariants.srcset(thumbnailUrl, thumbnailWidth, thumbnailVariants),
+                categoryName, publishedAt);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vhu.backend.dto.home.response;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.category.response.CategoryResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeCategorySection {
+    private CategoryResponse category;
+    private List<ArticleResponse> articles;
+}
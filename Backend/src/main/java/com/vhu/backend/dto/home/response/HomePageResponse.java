@@ -0,0 +1,23 @@
+package com.vhu.backend.dto.home.response;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.category.response.CategoryResponse;
+import com.vhu.backend.dto.partner.response.PartnerResponse;
+import com.vhu.backend.dto.quick_access.response.QuickAccessLinkResponse;
+import com.vhu.backend.dto.slide.response.SlideResponse;
+import com.vhu.backend.dto.tag.response.TagResponse;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HomePageResponse {
+    private List<CategoryResponse> categories;
+    private List<ArticleResponse> featuredArticles;
+    private List<ArticleResponse> latestArticles;
+    private List<HomeCategorySection> categorySections;
+    private List<TagResponse> popularTags;
+    private List<SlideResponse> slides;
+    private List<PartnerResponse> partners;
+    private List<QuickAccessLinkResponse> quickLinks;
+}
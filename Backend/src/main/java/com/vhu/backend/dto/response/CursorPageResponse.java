@@ -0,0 +1,18 @@
+package com.vhu.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Một trang dữ liệu phân trang theo cursor (keyset).
+ * nextCursor = null nghĩa là đã hết dữ liệu; totalElements chỉ có khi client yêu cầu.
+ */
+@Data
+@AllArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private Long totalElements;
+}
@@ -9,6 +9,7 @@ public class SlideResponse {
     private Integer displayOrder;
     private boolean isActive;
     private String imageUrl;
+    private String imageSrcset;
     private Long mediaId;
     private List<SlideTranslationResponse> translations;
 }
\ No newline at end of file
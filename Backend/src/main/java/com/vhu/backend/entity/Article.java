@@ -3,6 +3,7 @@ package com.vhu.backend.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
@@ -14,7 +15,11 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        // Phục vụ phân trang keyset theo (is_pinned, published_at, id)
+        @Index(name = "idx_articles_status_feed", columnList = "status, is_pinned, published_at, id"),
+        @Index(name = "idx_articles_category_feed", columnList = "category_id, status, is_pinned, published_at, id")
+})
 public class Article {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -42,6 +47,10 @@ public class Article {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
+    // Thời điểm tự động gỡ bài (null = không gỡ)
+    @Column(name = "unpublish_at")
+    private LocalDateTime unpublishAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -51,9 +60,11 @@ public class Article {
     private LocalDateTime updatedAt;
 
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @BatchSize(size = 50)
     private List<ArticleTranslation> translations = new ArrayList<>();
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JoinTable(
             name = "article_tags",
             joinColumns = @JoinColumn(name = "article_id"),
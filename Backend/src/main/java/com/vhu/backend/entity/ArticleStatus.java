@@ -2,6 +2,7 @@ package com.vhu.backend.entity;
 
 public enum ArticleStatus {
     DRAFT,
+    SCHEDULED,
     PUBLISHED,
     ARCHIVED
 }
@@ -0,0 +1,22 @@
+package com.vhu.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Số lượt xem của một bài viết trong một ngày, được cộng dồn theo lô từ bộ đếm trong bộ nhớ.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "article_view_counts", indexes = {
+        @Index(name = "idx_article_view_counts_date", columnList = "view_date")
+})
+public class ArticleViewCount {
+    @EmbeddedId
+    private ArticleViewCountId id;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+}
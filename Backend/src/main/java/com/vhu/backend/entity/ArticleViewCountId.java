@@ -0,0 +1,26 @@
+package com.vhu.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@Embeddable
+public class ArticleViewCountId implements Serializable {
+    @Column(name = "article_id")
+    private Long articleId;
+
+    @Column(name = "view_date")
+    private LocalDate viewDate;
+}
@@ -3,6 +3,7 @@ package com.vhu.backend.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -12,6 +13,7 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@BatchSize(size = 50)
 @Table(name = "categories")
 public class Category {
 
@@ -25,6 +27,11 @@ public class Category {
     @Column(name = "display_order")
     private Integer displayOrder = 0;
 
+    // Materialised path dạng "/1/5/12/", dùng để truy vấn cả cây con bằng LIKE '/1/5/%'.
+    // CategoryServiceImpl gán lại cho cả cây con khi danh mục đổi cha; CategoryTreeCache bổ sung các dòng cũ lúc khởi động
+    @Column(name = "path")
+    private String path;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Category parent;
@@ -37,5 +44,6 @@ public class Category {
             cascade = CascadeType.ALL,
             orphanRemoval = true
     )
+    @BatchSize(size = 50)
     private List<CategoryTranslation> translations = new ArrayList<>();
 }
\ No newline at end of file
@@ -3,21 +3,32 @@ package com.vhu.backend.entity;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
 @Entity
-@Table(name = "media")
+@BatchSize(size = 50)
+@DynamicUpdate // Chỉ ghi cột thay đổi, không đè thông tin ảnh thu nhỏ được ghi từ luồng nền
+@Table(name = "media", indexes = {
+        @Index(name = "idx_media_blob_hash", columnList = "blob_hash")
+})
 public class Media {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "s3_key", unique = true, nullable = false)
+    // Không còn unique: nhiều Media có thể cùng trỏ tới một blob (xem MediaBlob)
+    @Column(name = "s3_key", nullable = false)
     private String s3Key;
 
+    // Mã SHA-256 của blob dùng chung, null với file lưu theo kiểu cũ (UUID_tên file)
+    @Column(name = "blob_hash", length = 64)
+    private String blobHash;
+
     @Column(nullable = false, length = 512)
     private String url;
 
@@ -27,6 +38,14 @@ public class Media {
     @Column(name = "owner_type")
     private String ownerType;
 
+    // Kích thước ảnh gốc và các bản thu nhỏ ("320x213,640x427"), null nếu không phải ảnh
+    private Integer width;
+
+    private Integer height;
+
+    @Column(length = 64)
+    private String variants;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,35 @@
+package com.vhu.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một file vật lý được lưu theo mã SHA-256 của nội dung, dùng chung cho mọi bản ghi Media có cùng nội dung.
+ * File chỉ bị xóa khi refCount về 0, tức là không còn Media nào tham chiếu.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "media_blobs")
+public class MediaBlob {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private String path;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -16,6 +17,7 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@BatchSize(size = 50)
 @Table(name = "users")
 public class User {
 
@@ -40,6 +42,7 @@ public class User {
     private LocalDateTime createdAt;
 
     @ManyToMany(fetch = FetchType.EAGER) // EAGER để tải quyền ngay khi tải user
+    @BatchSize(size = 50)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
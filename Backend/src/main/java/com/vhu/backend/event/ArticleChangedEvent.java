@@ -0,0 +1,15 @@
+package com.vhu.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phát ra mỗi khi một bài viết được tạo, cập nhật, ghim/bỏ ghim hoặc bị xóa.
+ * Các bộ nhớ đệm phía public lắng nghe sự kiện này sau khi transaction commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleChangedEvent {
+    private final Long articleId;
+    private final boolean deleted;
+}
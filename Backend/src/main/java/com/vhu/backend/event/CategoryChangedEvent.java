@@ -0,0 +1,14 @@
+package com.vhu.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phát ra khi cây danh mục thay đổi (tạo, sửa, xóa, đổi thứ tự hoặc đổi trạng thái hiển thị).
+ */
+@Getter
+@AllArgsConstructor
+public class CategoryChangedEvent {
+    private final Integer categoryId;
+    private final boolean deleted;
+}
@@ -0,0 +1,22 @@
+package com.vhu.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phát ra khi một nội dung public ngoài bài viết và danh mục thay đổi (slide, đối tác, liên kết nhanh, thẻ, ngành học).
+ */
+@Getter
+@AllArgsConstructor
+public class ContentChangedEvent {
+
+    public enum Section {
+        SLIDE,
+        PARTNER,
+        QUICK_LINK,
+        TAG,
+        MAJOR
+    }
+
+    private final Section section;
+}
@@ -0,0 +1,13 @@
+package com.vhu.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phát ra sau khi một file mới được tải lên và bản ghi Media đã được lưu.
+ */
+@Getter
+@AllArgsConstructor
+public class MediaUploadedEvent {
+    private final Long mediaId;
+}
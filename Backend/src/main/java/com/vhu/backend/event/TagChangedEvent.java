@@ -0,0 +1,15 @@
+package com.vhu.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Phát ra khi một thẻ được sửa hoặc bị xóa, để các chỉ mục trong bộ nhớ gỡ thẻ khỏi bài viết
+ * và bỏ các response đã dựng sẵn còn chứa tên thẻ cũ.
+ */
+@Getter
+@AllArgsConstructor
+public class TagChangedEvent {
+    private final Integer tagId;
+    private final boolean deleted;
+}
@@ -94,6 +94,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
     }
 
+    /**
+     * Upload theo từng đoạn bị lệch vị trí: trả về vị trí hiện tại để client gửi tiếp
+     */
+    @ExceptionHandler(UploadOffsetConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadOffsetConflict(UploadOffsetConflictException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("message", ex.getMessage());
+        body.put("uploadId", ex.getUploadId());
+        body.put("offset", ex.getCurrentOffset());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<Map<String, String>> handleMaxSizeException(MaxUploadSizeExceededException ex) {
         Map<String, String> response = new HashMap<>();
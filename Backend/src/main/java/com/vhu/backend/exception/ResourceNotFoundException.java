@@ -12,7 +12,8 @@ public class ResourceNotFoundException extends RuntimeException {
     private final Object fieldValue;
 
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        super(String.format("%s không tìm thấy với %s: '%s'", resourceName, fieldName, fieldValue));
+        // Chỉ dùng để trả 404, không cần stack trace (tốn kém khi bị dò slug liên tục)
+        super(String.format("%s không tìm thấy với %s: '%s'", resourceName, fieldName, fieldValue), null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
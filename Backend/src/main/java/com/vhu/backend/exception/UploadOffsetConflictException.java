@@ -0,0 +1,18 @@
+package com.vhu.backend.exception;
+
+import lombok.Getter;
+
+/**
+ * Đoạn upload gửi tới không khớp với số byte server đã nhận (client cần gửi tiếp từ currentOffset).
+ */
+@Getter
+public class UploadOffsetConflictException extends RuntimeException {
+    private final String uploadId;
+    private final long currentOffset;
+
+    public UploadOffsetConflictException(String uploadId, long currentOffset) {
+        super(String.format("Phiên upload %s đang ở vị trí %d", uploadId, currentOffset), null, false, false);
+        this.uploadId = uploadId;
+        this.currentOffset = currentOffset;
+    }
+}
\ No newline at end of file
@@ -1,25 +1,189 @@
 package com.vhu.backend.repository;
 
+import com.vhu.backend.dto.article.response.ArticleSummaryResponse;
 import com.vhu.backend.entity.Article;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.repository.projection.ArticleTagId;
+import com.vhu.backend.repository.projection.CategoryArticleId;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Các truy vấn danh sách dùng entity graph để JOIN sẵn author, category, thumbnail.
+ * Translations, tags và bản dịch của category/tag được Hibernate nạp theo lô nhờ @BatchSize trên entity,
+ * nên một trang bài viết chỉ tốn một số câu SQL cố định thay vì N+1.
+ */
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long>, JpaSpecificationExecutor<Article> {
 
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
+    List<Article> findByIdIn(Collection<Long> ids);
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
+    Page<Article> findAll(Specification<Article> spec, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
     List<Article> findByIsPinnedTrueAndStatusOrderByPublishedAtDesc(ArticleStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
     List<Article> findByCategoryIdAndStatus(Integer categoryId, ArticleStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
     List<Article> findByCategoryIdInAndStatus(List<Integer> categoryIds, ArticleStatus status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
     List<Article> findByCategoryIdAndStatusAndIdNot(Integer categoryId, ArticleStatus status, Long articleId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
     List<Article> findByStatus(ArticleStatus status, Pageable pageable);
-}
\ No newline at end of file
+
+    @EntityGraph(attributePaths = {"author", "category", "thumbnail"})
+    List<Article> findByTagsIdAndStatus(Integer tagId, ArticleStatus status, Sort sort);
+
+    // --- Lịch đăng / gỡ bài: [id, thời điểm] ---
+
+    @Query("SELECT a.id, a.publishedAt FROM Article a WHERE a.status = :status AND a.publishedAt IS NOT NULL")
+    List<Object[]> findScheduleByStatus(@Param("status") ArticleStatus status);
+
+    @Query("SELECT a.id, a.unpublishAt FROM Article a WHERE a.status = :status AND a.unpublishAt IS NOT NULL")
+    List<Object[]> findUnpublishScheduleByStatus(@Param("status") ArticleStatus status);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.status = :published, a.updatedAt = :now " +
+            "WHERE a.id IN :ids AND a.status = :scheduled AND a.publishedAt <= :now")
+    int publishScheduled(@Param("ids") Collection<Long> ids,
+                         @Param("scheduled") ArticleStatus scheduled,
+                         @Param("published") ArticleStatus published,
+                         @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.status = :archived, a.unpublishAt = NULL, a.updatedAt = :now " +
+            "WHERE a.id IN :ids AND a.status = :published AND a.unpublishAt <= :now")
+    int unpublishExpired(@Param("ids") Collection<Long> ids,
+                         @Param("published") ArticleStatus published,
+                         @Param("archived") ArticleStatus archived,
+                         @Param("now") LocalDateTime now);
+
+    // --- Truy vấn chỉ lấy id, dùng khi read model chưa sẵn sàng ---
+
+    @Query("SELECT a.id FROM Article a WHERE a.status = :status")
+    List<Long> findIdsByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+
+    @Query("SELECT a.id FROM Article a WHERE a.isPinned = true AND a.status = :status")
+    List<Long> findPinnedIdsByStatus(@Param("status") ArticleStatus status, Pageable pageable);
+
+    @Query("SELECT a.id FROM Article a WHERE a.category.id IN :categoryIds AND a.status = :status")
+    List<Long> findIdsByCategoryIdInAndStatus(@Param("categoryIds") Collection<Integer> categoryIds,
+                                              @Param("status") ArticleStatus status,
+                                              Pageable pageable);
+
+    @Query("SELECT a.id FROM Article a WHERE a.category.id = :categoryId AND a.status = :status AND a.id <> :articleId")
+    List<Long> findRelatedIds(@Param("categoryId") Integer categoryId,
+                              @Param("status") ArticleStatus status,
+                              @Param("articleId") Long articleId,
+                              Pageable pageable);
+
+    @Query("SELECT a.id AS articleId, t.id AS tagId FROM Article a JOIN a.tags t WHERE a.status = :status")
+    List<ArticleTagId> findArticleTagIdsByStatus(@Param("status") ArticleStatus status);
+
+    // Top-N bài mới nhất cho từng cây danh mục trong một câu lệnh (MySQL 8, ROW_NUMBER theo danh mục gốc).
+    // Cây con được duyệt bằng CTE đệ quy theo parent_id, không dựa vào cột path: truy vấn này chạy cả lúc khởi động,
+    // trước khi CategoryTreeCache kịp bổ sung path cho các danh mục cũ.
+    @Query(value = "WITH RECURSIVE tree (root_id, id) AS (" +
+            "SELECT c.id, c.id FROM categories c WHERE c.id IN (:categoryIds) " +
+            "UNION ALL " +
+            "SELECT tree.root_id, c.id FROM categories c JOIN tree ON c.parent_id = tree.id" +
+            ") " +
+            "SELECT ranked.root_id AS categoryId, ranked.article_id AS articleId FROM (" +
+            "SELECT tree.root_id AS root_id, a.id AS article_id, " +
+            "ROW_NUMBER() OVER (PARTITION BY tree.root_id ORDER BY a.is_pinned DESC, a.published_at DESC, a.id DESC) AS rn " +
+            "FROM tree " +
+            "JOIN articles a ON a.category_id = tree.id " +
+            "WHERE a.status = :status" +
+            ") ranked WHERE ranked.rn <= :limit ORDER BY ranked.root_id, ranked.rn",
+            nativeQuery = true)
+    List<CategoryArticleId> findTopIdsPerCategoryTree(@Param("categoryIds") Collection<Integer> categoryIds,
+                                                      @Param("status") String status,
+                                                      @Param("limit") int limit);
+
+    // Tìm theo tiêu đề khi chỉ mục tìm kiếm chưa sẵn sàng. offset là vị trí tuyệt đối (từ cursor),
+    // không nhất thiết là bội số của kích thước trang nên dùng LIMIT / OFFSET thay vì Pageable.
+    @Query(value = "SELECT a.id FROM articles a JOIN article_translations t ON t.article_id = a.id " +
+            "WHERE a.status = :status AND t.language_code = :languageCode " +
+            "AND LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+            "ORDER BY a.published_at DESC, a.id DESC LIMIT :limit OFFSET :offset",
+            nativeQuery = true)
+    List<Long> searchIdsByTitle(@Param("keyword") String keyword,
+                                @Param("languageCode") String languageCode,
+                                @Param("status") String status,
+                                @Param("offset") int offset,
+                                @Param("limit") int limit);
+
+    @Query("SELECT COUNT(a) FROM Article a JOIN a.translations t " +
+            "WHERE a.status = :status AND t.languageCode = :languageCode " +
+            "AND LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    long countByTitle(@Param("keyword") String keyword,
+                      @Param("languageCode") String languageCode,
+                      @Param("status") ArticleStatus status);
+
+    // --- Projection rút gọn cho trang danh sách (không đọc cột content) ---
+    // Bản dịch của bài và của danh mục được chọn giống mapToArticleResponse: đúng ngôn ngữ yêu cầu,
+    // không có thì tiếng Việt, rồi tới bản dịch bất kỳ; nhờ vậy bài thiếu bản dịch không bị loại khỏi danh sách.
+
+    String SUMMARY_TRANSLATION = "t.id = COALESCE(" +
+            "(SELECT MIN(t1.id) FROM ArticleTranslation t1 WHERE t1.article = a AND t1.languageCode = :languageCode), " +
+            "(SELECT MIN(t2.id) FROM ArticleTranslation t2 WHERE t2.article = a AND t2.languageCode = 'vi'), " +
+            "(SELECT MIN(t3.id) FROM ArticleTranslation t3 WHERE t3.article = a))";
+
+    String SUMMARY_FROM = "FROM Article a JOIN a.translations t LEFT JOIN a.thumbnail m " +
+            "LEFT JOIN a.category c LEFT JOIN c.translations ct ON ct.id = COALESCE(" +
+            "(SELECT MIN(c1.id) FROM CategoryTranslation c1 WHERE c1.category = c AND c1.languageCode = :languageCode), " +
+            "(SELECT MIN(c2.id) FROM CategoryTranslation c2 WHERE c2.category = c AND c2.languageCode = 'vi'), " +
+            "(SELECT MIN(c3.id) FROM CategoryTranslation c3 WHERE c3.category = c)) ";
+
+    String SUMMARY_SELECT = "SELECT new com.vhu.backend.dto.article.response.ArticleSummaryResponse(" +
+            "a.id, t.title, t.slug, t.excerpt, m.url, m.width, m.variants, ct.name, a.publishedAt) ";
+
+    @Query(SUMMARY_SELECT + SUMMARY_FROM + "WHERE " + SUMMARY_TRANSLATION + " AND a.id IN :ids")
+    List<ArticleSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids,
+                                                     @Param("languageCode") String languageCode);
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_FROM + "WHERE " + SUMMARY_TRANSLATION + " " +
+            "AND (:status IS NULL OR a.status = :status) " +
+            "AND (:keyword = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')))",
+            countQuery = "SELECT COUNT(a) FROM Article a JOIN a.translations t " +
+                    "WHERE " + SUMMARY_TRANSLATION + " " +
+                    "AND (:status IS NULL OR a.status = :status) " +
+                    "AND (:keyword = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Page<ArticleSummaryResponse> findSummaries(@Param("status") ArticleStatus status,
+                                               @Param("keyword") String keyword,
+                                               @Param("languageCode") String languageCode,
+                                               Pageable pageable);
+
+    // Chỉ lấy id và tiêu đề cho chỉ mục gợi ý, không đụng tới content
+    @Query("SELECT a.id, t.title FROM Article a LEFT JOIN a.translations t ON t.languageCode = :languageCode")
+    List<Object[]> findTitles(@Param("languageCode") String languageCode);
+
+    @Query("SELECT a.id, t.title FROM Article a LEFT JOIN a.translations t ON t.languageCode = :languageCode " +
+            "WHERE a.id = :id")
+    List<Object[]> findTitleById(@Param("id") Long id, @Param("languageCode") String languageCode);
+
+    @Query("SELECT MAX(a.id) FROM Article a WHERE a.status = :status")
+    Optional<Long> findMaxIdByStatus(@Param("status") ArticleStatus status);
+}
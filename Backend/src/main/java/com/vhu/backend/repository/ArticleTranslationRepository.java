@@ -1,12 +1,47 @@
 package com.vhu.backend.repository;
 
+import com.vhu.backend.entity.ArticleStatus;
 import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.repository.projection.FeedItem;
+import com.vhu.backend.repository.projection.SitemapUrl;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ArticleTranslationRepository extends JpaRepository<ArticleTranslation, Long> {
     Optional<ArticleTranslation> findBySlug(String slug);
+
+    @Query("SELECT t.slug FROM ArticleTranslation t")
+    List<String> findAllSlugs();
+
+    @Query("SELECT t.slug FROM ArticleTranslation t WHERE t.article.id = :articleId")
+    List<String> findSlugsByArticleId(@Param("articleId") Long articleId);
+
+    // Đọc dần từng dòng (MySQL streaming) để dựng sitemap với bộ nhớ cố định
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT t.languageCode AS languageCode, t.slug AS slug, a.updatedAt AS lastModified " +
+            "FROM ArticleTranslation t JOIN t.article a " +
+            "WHERE a.status = :status AND a.id BETWEEN :fromId AND :toId ORDER BY a.id")
+    Stream<SitemapUrl> streamSitemapUrls(@Param("status") ArticleStatus status,
+                                         @Param("fromId") Long fromId,
+                                         @Param("toId") Long toId);
+
+    @Query("SELECT a.id AS id, t.title AS title, t.slug AS slug, t.excerpt AS excerpt, " +
+            "a.publishedAt AS publishedAt, ct.name AS categoryName " +
+            "FROM ArticleTranslation t JOIN t.article a " +
+            "LEFT JOIN a.category c LEFT JOIN c.translations ct ON ct.languageCode = :languageCode " +
+            "WHERE t.languageCode = :languageCode AND a.status = :status ORDER BY a.publishedAt DESC")
+    List<FeedItem> findFeedItems(@Param("languageCode") String languageCode,
+                                 @Param("status") ArticleStatus status,
+                                 Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.vhu.backend.repository;
+
+import com.vhu.backend.entity.ArticleViewCount;
+import com.vhu.backend.entity.ArticleViewCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArticleViewCountRepository extends JpaRepository<ArticleViewCount, ArticleViewCountId> {
+
+    List<ArticleViewCount> findByIdViewDateGreaterThanEqual(LocalDate from);
+
+    // [articleId, tổng lượt xem]
+    @Query("SELECT v.id.articleId, SUM(v.views) FROM ArticleViewCount v GROUP BY v.id.articleId")
+    List<Object[]> sumViewsByArticle();
+}
@@ -36,4 +36,7 @@ public interface CategoryRepository extends JpaRepository<Category, Integer>, Jp
 
     @Query("SELECT MAX(c.displayOrder) FROM Category c WHERE c.parent IS NULL")
     Optional<Integer> findMaxDisplayOrderForRootCategories();
+
+    @Query("SELECT MAX(c.id) FROM Category c")
+    Optional<Integer> findMaxId();
 }
\ No newline at end of file
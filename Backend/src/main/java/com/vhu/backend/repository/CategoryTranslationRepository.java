@@ -1,12 +1,32 @@
 package com.vhu.backend.repository;
 
 import com.vhu.backend.entity.CategoryTranslation;
+import com.vhu.backend.repository.projection.SitemapUrl;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CategoryTranslationRepository extends JpaRepository<CategoryTranslation, Integer> {
     Optional<CategoryTranslation> findBySlug(String slug);
+
+    @Query("SELECT t.slug FROM CategoryTranslation t")
+    List<String> findAllSlugs();
+
+    @Query("SELECT t FROM CategoryTranslation t WHERE t.category.id IN :categoryIds")
+    List<CategoryTranslation> findByCategoryIdIn(@Param("categoryIds") Collection<Integer> categoryIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT t.languageCode AS languageCode, t.slug AS slug FROM CategoryTranslation t " +
+            "WHERE t.category.id BETWEEN :fromId AND :toId ORDER BY t.category.id")
+    Stream<SitemapUrl> streamSitemapUrls(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
\ No newline at end of file
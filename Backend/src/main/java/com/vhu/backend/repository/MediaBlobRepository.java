@@ -0,0 +1,37 @@
+package com.vhu.backend.repository;
+
+import com.vhu.backend.entity.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+    // Tạo blob mới hoặc tăng số tham chiếu của blob đã có trong cùng một câu lệnh
+    @Modifying
+    @Query(value = "INSERT INTO media_blobs (hash, path, size, ref_count, created_at) " +
+            "VALUES (:hash, :path, :size, 1, NOW()) " +
+            "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1", nativeQuery = true)
+    void acquire(@Param("hash") String hash, @Param("path") String path, @Param("size") long size);
+
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount + 1 WHERE b.hash = :hash")
+    int retain(@Param("hash") String hash);
+
+    @Modifying
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount - :count WHERE b.hash = :hash AND b.refCount > 0")
+    int release(@Param("hash") String hash, @Param("count") int count);
+
+    @Modifying
+    @Query("DELETE FROM MediaBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+
+    @Query("SELECT b.path FROM MediaBlob b WHERE b.path IN :paths")
+    List<String> findExistingPaths(@Param("paths") Collection<String> paths);
+}
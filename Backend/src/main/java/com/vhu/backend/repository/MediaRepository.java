@@ -1,20 +1,67 @@
 package com.vhu.backend.repository;
 
 import com.vhu.backend.entity.Media;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MediaRepository extends JpaRepository<Media, Long> {
-    List<Media> findByOwnerIdIsNullAndCreatedAtBefore(LocalDateTime threshold);
+    // Một lô Media chưa có chủ theo id tăng dần, khóa lại cho tới khi lô bị xóa để không chạy chen với việc gán chủ
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Media m WHERE m.ownerId IS NULL AND m.createdAt < :threshold AND m.id > :afterId ORDER BY m.id")
+    List<Media> findOrphanBatch(@Param("threshold") LocalDateTime threshold, @Param("afterId") Long afterId,
+                                Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Media m WHERE m.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.s3Key FROM Media m WHERE m.s3Key IN :paths")
+    List<String> findExistingS3Keys(@Param("paths") Collection<String> paths);
 
     List<Media> findByUrlIn(List<String> urls);
 
     List<Media> findByOwnerIdAndOwnerType(Long ownerId, String ownerType);
 
     Optional<Media> findByS3Key(String s3Key);
+
+    Optional<Media> findFirstByBlobHashAndWidthIsNotNullAndIdNot(String blobHash, Long id);
+
+    @Query("SELECT m.id FROM Media m WHERE m.ownerId = :ownerId AND m.ownerType = :ownerType")
+    List<Long> findIdsByOwner(@Param("ownerId") Long ownerId, @Param("ownerType") String ownerType);
+
+    @Query("SELECT m.id FROM Media m WHERE m.s3Key IN :paths")
+    List<Long> findIdsByS3KeyIn(@Param("paths") Collection<String> paths);
+
+    // Các câu UPDATE hàng loạt bên dưới flush thay đổi đang chờ trước khi chạy (xem MediaOwnershipService)
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Media m SET m.ownerId = :ownerId, m.ownerType = :ownerType WHERE m.id IN :ids")
+    int assignOwner(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId,
+                    @Param("ownerType") String ownerType);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Media m SET m.ownerId = NULL, m.ownerType = NULL WHERE m.id IN :ids")
+    int clearOwner(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Media m SET m.ownerId = NULL, m.ownerType = NULL WHERE m.ownerId = :ownerId AND m.ownerType = :ownerType")
+    int clearOwnerByOwner(@Param("ownerId") Long ownerId, @Param("ownerType") String ownerType);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Media m SET m.width = :width, m.height = :height, m.variants = :variants WHERE m.id = :id")
+    int updateImageInfo(@Param("id") Long id, @Param("width") Integer width,
+                        @Param("height") Integer height, @Param("variants") String variants);
 }
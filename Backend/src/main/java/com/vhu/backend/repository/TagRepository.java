@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Integer>, JpaSpecificationExecutor<Tag> {
@@ -16,4 +17,7 @@ public interface TagRepository extends JpaRepository<Tag, Integer>, JpaSpecifica
 
     @Query("SELECT t FROM Tag t JOIN t.articles a GROUP BY t.id ORDER BY COUNT(a) DESC")
     List<Tag> findPopularTags(Pageable pageable);
+
+    @Query("SELECT MAX(t.id) FROM Tag t")
+    Optional<Integer> findMaxId();
 }
\ No newline at end of file
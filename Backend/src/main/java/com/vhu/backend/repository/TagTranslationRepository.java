@@ -1,12 +1,28 @@
 package com.vhu.backend.repository;
 
 import com.vhu.backend.entity.TagTranslation;
+import com.vhu.backend.repository.projection.SitemapUrl;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TagTranslationRepository extends JpaRepository<TagTranslation, Integer> {
     Optional<TagTranslation> findBySlug(String slug);
+
+    @Query("SELECT t.slug FROM TagTranslation t")
+    List<String> findAllSlugs();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT t.languageCode AS languageCode, t.slug AS slug FROM TagTranslation t " +
+            "WHERE t.tag.id BETWEEN :fromId AND :toId ORDER BY t.tag.id")
+    Stream<SitemapUrl> streamSitemapUrls(@Param("fromId") Integer fromId, @Param("toId") Integer toId);
 }
\ No newline at end of file
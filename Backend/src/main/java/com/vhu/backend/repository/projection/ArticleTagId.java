@@ -0,0 +1,10 @@
+package com.vhu.backend.repository.projection;
+
+/**
+ * Một dòng (bài viết, thẻ) của bảng article_tags.
+ */
+public interface ArticleTagId {
+    Long getArticleId();
+
+    Integer getTagId();
+}
@@ -0,0 +1,10 @@
+package com.vhu.backend.repository.projection;
+
+/**
+ * Một dòng (danh mục gốc, bài viết) trả về từ truy vấn top-N theo cây danh mục.
+ */
+public interface CategoryArticleId {
+    Integer getCategoryId();
+
+    Long getArticleId();
+}
@@ -0,0 +1,20 @@
+package com.vhu.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một bài viết trong RSS feed, chỉ gồm các cột cần thiết (không có content).
+ */
+public interface FeedItem {
+    Long getId();
+
+    String getTitle();
+
+    String getSlug();
+
+    String getExcerpt();
+
+    LocalDateTime getPublishedAt();
+
+    String getCategoryName();
+}
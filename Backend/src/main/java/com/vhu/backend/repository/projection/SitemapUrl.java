@@ -0,0 +1,14 @@
+package com.vhu.backend.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một URL trong sitemap: slug theo ngôn ngữ và thời điểm cập nhật (null nếu không có).
+ */
+public interface SitemapUrl {
+    String getLanguageCode();
+
+    String getSlug();
+
+    LocalDateTime getLastModified();
+}
@@ -1,20 +1,72 @@
 package com.vhu.backend.repository.specification;
 
 import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
 import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.utils.FeedCursor;
 import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 public class ArticleSpecification {
     public static Specification<Article> searchByTitle(String keyword) {
         return (root, query, criteriaBuilder) -> {
             if (keyword == null || keyword.isBlank()) {
                 return criteriaBuilder.conjunction();
             }
+            // Một bài có nhiều bản dịch khớp chỉ được trả về một lần
+            query.distinct(true);
             // Join Article với ArticleTranslation
             Join<Article, ArticleTranslation> translationJoin = root.join("translations");
             // Điều kiện tìm kiếm trên trường 'title'
             return criteriaBuilder.like(criteriaBuilder.lower(translationJoin.get("title")), "%" + keyword.toLowerCase() + "%");
         };
     }
-}
\ No newline at end of file
+
+    public static Specification<Article> isPublished() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("status"), ArticleStatus.PUBLISHED);
+    }
+
+    public static Specification<Article> inCategories(Collection<Integer> categoryIds) {
+        return (root, query, criteriaBuilder) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Article> hasTag(Integer tagId) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.join("tags").get("id"), tagId);
+    }
+
+    /**
+     * Điều kiện keyset: các bài đứng sau cursor theo thứ tự (is_pinned DESC, published_at DESC, id DESC).
+     * MySQL xếp NULL cuối cùng khi sắp xếp giảm dần, nên bài chưa có published_at nằm sau mọi bài đã đăng.
+     */
+    public static Specification<Article> after(FeedCursor cursor) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Boolean> pinned = root.get("isPinned");
+            Path<LocalDateTime> publishedAt = root.get("publishedAt");
+            Path<Long> id = root.get("id");
+
+            Predicate afterInSamePinGroup;
+            if (cursor.getPublishedAt() != null) {
+                afterInSamePinGroup = criteriaBuilder.or(
+                        criteriaBuilder.lessThan(publishedAt, cursor.getPublishedAt()),
+                        criteriaBuilder.isNull(publishedAt),
+                        criteriaBuilder.and(
+                                criteriaBuilder.equal(publishedAt, cursor.getPublishedAt()),
+                                criteriaBuilder.lessThan(id, cursor.getId())));
+            } else {
+                afterInSamePinGroup = criteriaBuilder.and(
+                        criteriaBuilder.isNull(publishedAt),
+                        criteriaBuilder.lessThan(id, cursor.getId()));
+            }
+
+            Predicate laterPinGroup = cursor.isPinned() ? criteriaBuilder.isFalse(pinned) : criteriaBuilder.disjunction();
+            return criteriaBuilder.or(
+                    laterPinGroup,
+                    criteriaBuilder.and(criteriaBuilder.equal(pinned, cursor.isPinned()), afterInSamePinGroup));
+        };
+    }
+}
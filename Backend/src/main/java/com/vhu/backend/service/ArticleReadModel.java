@@ -0,0 +1,281 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.entity.Tag;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.TagChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.utils.LruCache;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Mô hình đọc trong bộ nhớ cho các API bài viết public.
+ * Giữ chỉ mục nhẹ (id, danh mục, ghim, ngày đăng, thẻ, slug) của toàn bộ bài đã xuất bản
+ * và một cache LRU giới hạn các ArticleResponse đã dựng sẵn theo từng ngôn ngữ.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleReadModel {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleReadModel.class);
+    private static final int WARMUP_PAGE_SIZE = 200;
+
+    private static final Comparator<ArticleEntry> BY_PUBLISHED_AT =
+            Comparator.comparing(ArticleEntry::getPublishedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(ArticleEntry::getId, Comparator.reverseOrder());
+
+    private static final Comparator<ArticleEntry> BY_PINNED_THEN_PUBLISHED_AT =
+            Comparator.comparing(ArticleEntry::isPinned, Comparator.reverseOrder())
+                    .thenComparing(BY_PUBLISHED_AT);
+
+    private final ArticleRepository articleRepository;
+
+    @Value("${app.read-model.max-entries:1000}")
+    private int maxEntries;
+
+    private final Map<Long, ArticleEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, SlugTarget> slugs = new ConcurrentHashMap<>();
+    private final Map<String, LruCache<Long, ArticleResponse>> responses = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile List<ArticleEntry> byPublishedAt = List.of();
+    private volatile List<ArticleEntry> byPinnedThenPublishedAt = List.of();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        int page = 0;
+        List<Article> batch;
+        do {
+            batch = articleRepository.findByStatus(ArticleStatus.PUBLISHED,
+                    PageRequest.of(page++, WARMUP_PAGE_SIZE, Sort.by("id")));
+            batch.forEach(article -> index(toEntry(article)));
+        } while (batch.size() == WARMUP_PAGE_SIZE);
+
+        rebuildOrderings();
+        ready = true;
+        logger.info("Đã nạp {} bài viết đã xuất bản vào read model.", entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getArticleId());
+            return;
+        }
+        articleRepository.findById(event.getArticleId())
+                .ifPresentOrElse(this::upsert, () -> remove(event.getArticleId()));
+    }
+
+    // Bỏ thẻ khỏi các bài đang giữ và xóa response đã dựng sẵn của những bài đó (tên thẻ nằm trong response)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTagChanged(TagChangedEvent event) {
+        List<ArticleEntry> tagged = entries.values().stream()
+                .filter(entry -> entry.getTagIds().contains(event.getTagId()))
+                .collect(Collectors.toList());
+        if (tagged.isEmpty()) {
+            return;
+        }
+        for (ArticleEntry entry : tagged) {
+            if (event.isDeleted()) {
+                Set<Integer> remaining = new HashSet<>(entry.getTagIds());
+                remaining.remove(event.getTagId());
+                entries.put(entry.getId(), new ArticleEntry(entry.getId(), entry.getCategoryId(), entry.isPinned(),
+                        entry.getPublishedAt(), entry.getUpdatedAt(), Set.copyOf(remaining), entry.getSlugs()));
+            }
+            evictResponses(entry.getId());
+        }
+        rebuildOrderings();
+        version.incrementAndGet();
+    }
+
+    /**
+     * Tên và slug danh mục nằm trong ArticleResponse: xóa response đã dựng sẵn của các bài thuộc danh mục vừa đổi
+     * (categoryId null, ví dụ đổi thứ tự, thì xóa toàn bộ). Chạy trước ContentVersions.onCategoryChanged
+     * để ETag mới của bài viết không bao giờ đi kèm response cũ còn trong cache.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getCategoryId() == null) {
+            responses.values().forEach(LruCache::clear);
+        } else {
+            entries.values().stream()
+                    .filter(entry -> event.getCategoryId().equals(entry.getCategoryId()))
+                    .map(ArticleEntry::getId)
+                    .forEach(this::evictResponses);
+        }
+        version.incrementAndGet();
+    }
+
+    public synchronized void upsert(Article article) {
+        if (article.getStatus() != ArticleStatus.PUBLISHED) {
+            remove(article.getId());
+            return;
+        }
+        unindex(article.getId());
+        index(toEntry(article));
+        evictResponses(article.getId());
+        rebuildOrderings();
+        version.incrementAndGet();
+    }
+
+    public synchronized void remove(Long articleId) {
+        unindex(articleId);
+        evictResponses(articleId);
+        rebuildOrderings();
+        version.incrementAndGet();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public List<Long> findLatestIds(int limit) {
+        return collectIds(byPublishedAt, entry -> true, limit);
+    }
+
+    public List<Long> findPinnedIds(int limit) {
+        return collectIds(byPublishedAt, ArticleEntry::isPinned, limit);
+    }
+
+    public List<Long> findIdsByCategories(Collection<Integer> categoryIds, int limit) {
+        Set<Integer> wanted = new HashSet<>(categoryIds);
+        return collectIds(byPinnedThenPublishedAt, entry -> wanted.contains(entry.getCategoryId()), limit);
+    }
+
+    public List<Long> findRelatedIds(Long articleId, Integer categoryId, int limit) {
+        return collectIds(byPinnedThenPublishedAt,
+                entry -> categoryId.equals(entry.getCategoryId()) && !entry.getId().equals(articleId), limit);
+    }
+
+    public Optional<SlugTarget> findBySlug(String slug) {
+        return Optional.ofNullable(slugs.get(slug));
+    }
+
+    public Optional<ArticleEntry> findEntry(Long articleId) {
+        return Optional.ofNullable(entries.get(articleId));
+    }
+
+    public ArticleResponse getResponse(Long articleId, String languageCode) {
+        LruCache<Long, ArticleResponse> cache = responses.get(languageCode);
+        return cache != null ? cache.get(articleId) : null;
+    }
+
+    /**
+     * Chỉ lưu response nếu read model không thay đổi kể từ lúc bắt đầu đọc DB (expectedVersion),
+     * tránh ghi đè dữ liệu cũ lên một bài vừa được cập nhật.
+     */
+    public void putResponse(Long articleId, String languageCode, ArticleResponse response, long expectedVersion) {
+        if (!entries.containsKey(articleId)) {
+            return;
+        }
+        synchronized (this) {
+            if (version.get() != expectedVersion) {
+                return;
+            }
+            responses.computeIfAbsent(languageCode, lang -> new LruCache<>(maxEntries))
+                    .put(articleId, response);
+        }
+    }
+
+    private List<Long> collectIds(List<ArticleEntry> ordered, Predicate<ArticleEntry> filter, int limit) {
+        return ordered.stream()
+                .filter(filter)
+                .limit(limit)
+                .map(ArticleEntry::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void index(ArticleEntry entry) {
+        entries.put(entry.getId(), entry);
+        entry.getSlugs().forEach((lang, slug) -> slugs.put(slug, new SlugTarget(entry.getId(), lang)));
+    }
+
+    private void unindex(Long articleId) {
+        ArticleEntry previous = entries.remove(articleId);
+        if (previous != null) {
+            previous.getSlugs().values().forEach(slugs::remove);
+        }
+    }
+
+    private void evictResponses(Long articleId) {
+        responses.values().forEach(cache -> cache.remove(articleId));
+    }
+
+    private void rebuildOrderings() {
+        List<ArticleEntry> snapshot = new ArrayList<>(entries.values());
+        snapshot.sort(BY_PUBLISHED_AT);
+        byPublishedAt = List.copyOf(snapshot);
+        snapshot.sort(BY_PINNED_THEN_PUBLISHED_AT);
+        byPinnedThenPublishedAt = List.copyOf(snapshot);
+    }
+
+    private ArticleEntry toEntry(Article article) {
+        Map<String, String> slugsByLanguage = article.getTranslations().stream()
+                .collect(Collectors.toMap(ArticleTranslation::getLanguageCode, ArticleTranslation::getSlug, (a, b) -> a));
+        Set<Integer> tagIds = article.getTags().stream()
+                .map(Tag::getId)
+                .collect(Collectors.toUnmodifiableSet());
+        return new ArticleEntry(
+                article.getId(),
+                article.getCategory().getId(),
+                article.isPinned(),
+                article.getPublishedAt(),
+                article.getUpdatedAt(),
+                tagIds,
+                Map.copyOf(slugsByLanguage)
+        );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ArticleEntry {
+        private final Long id;
+        private final Integer categoryId;
+        private final boolean pinned;
+        private final LocalDateTime publishedAt;
+        private final LocalDateTime updatedAt;
+        private final Set<Integer> tagIds;
+        private final Map<String, String> slugs;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlugTarget {
+        private final Long articleId;
+        private final String languageCode;
+    }
+}
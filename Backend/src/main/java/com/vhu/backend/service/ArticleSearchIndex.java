@@ -0,0 +1,245 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.utils.SlugUtil;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Chỉ mục đảo ngược trong bộ nhớ cho tìm kiếm bài viết public.
+ * Mỗi ngôn ngữ có một chỉ mục riêng trên tiêu đề, tóm tắt và nội dung (đã bỏ thẻ HTML),
+ * chuẩn hóa bằng SlugUtil.fold để "tuyen sinh" khớp với "tuyển sinh", xếp hạng theo BM25.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleSearchIndex.class);
+    private static final int WARMUP_PAGE_SIZE = 100;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int EXCERPT_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>");
+    private static final Pattern HTML_ENTITY = Pattern.compile("&[a-zA-Z0-9#]+;");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+
+    // Điểm cao trước, cùng điểm thì bài mới hơn (id lớn hơn) trước
+    private static final Comparator<Map.Entry<Long, Double>> RANKING =
+            Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+    private final ArticleRepository articleRepository;
+
+    private final Map<String, LanguageIndex> indexes = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        int page = 0;
+        int count = 0;
+        List<Article> batch;
+        do {
+            batch = articleRepository.findByStatus(ArticleStatus.PUBLISHED,
+                    PageRequest.of(page++, WARMUP_PAGE_SIZE, Sort.by("id")));
+            batch.forEach(this::index);
+            count += batch.size();
+        } while (batch.size() == WARMUP_PAGE_SIZE);
+
+        ready = true;
+        logger.info("Đã lập chỉ mục tìm kiếm cho {} bài viết.", count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isDeleted()) {
+            remove(event.getArticleId());
+            return;
+        }
+        articleRepository.findById(event.getArticleId())
+                .ifPresentOrElse(this::index, () -> remove(event.getArticleId()));
+    }
+
+    public synchronized void index(Article article) {
+        remove(article.getId());
+        if (article.getStatus() != ArticleStatus.PUBLISHED) {
+            return;
+        }
+        for (ArticleTranslation translation : article.getTranslations()) {
+            Map<String, Integer> termFrequencies = new HashMap<>();
+            addTerms(termFrequencies, translation.getTitle(), TITLE_WEIGHT);
+            addTerms(termFrequencies, translation.getExcerpt(), EXCERPT_WEIGHT);
+            addTerms(termFrequencies, stripHtml(translation.getContent()), CONTENT_WEIGHT);
+            indexes.computeIfAbsent(translation.getLanguageCode(), lang -> new LanguageIndex())
+                    .add(article.getId(), termFrequencies);
+        }
+    }
+
+    public synchronized void remove(Long articleId) {
+        indexes.values().forEach(index -> index.remove(articleId));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Chỉ giữ tối đa offset + limit kết quả tốt nhất trong một heap nhỏ,
+     * không sắp xếp toàn bộ danh sách khớp.
+     */
+    public SearchResult search(String query, String languageCode, int offset, int limit) {
+        LanguageIndex index = indexes.get(languageCode);
+        List<String> terms = tokenize(query).stream().distinct().collect(Collectors.toList());
+        if (index == null || terms.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Map<Long, Double> scores = index.score(terms);
+        int keep = offset + limit;
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(keep, RANKING.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > keep) {
+                top.poll();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Long> pageIds = ranked.stream()
+                .skip(offset)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        return new SearchResult(pageIds, scores.size());
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(SlugUtil.fold(text)))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static String stripHtml(String html) {
+        if (html == null) {
+            return null;
+        }
+        String text = HTML_TAG.matcher(html).replaceAll(" ");
+        return HTML_ENTITY.matcher(text).replaceAll(" ");
+    }
+
+    private static void addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String token : tokenize(text)) {
+            termFrequencies.merge(token, weight, Integer::sum);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SearchResult {
+        private final List<Long> articleIds;
+        private final long total;
+    }
+
+    private static class LanguageIndex {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Integer> docLengths = new HashMap<>();
+        private final Map<Long, Set<String>> docTerms = new HashMap<>();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private long totalLength = 0;
+
+        void add(Long articleId, Map<String, Integer> termFrequencies) {
+            lock.writeLock().lock();
+            try {
+                int length = 0;
+                for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                    postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(articleId, entry.getValue());
+                    length += entry.getValue();
+                }
+                docLengths.put(articleId, length);
+                docTerms.put(articleId, new HashSet<>(termFrequencies.keySet()));
+                totalLength += length;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long articleId) {
+            lock.writeLock().lock();
+            try {
+                Set<String> terms = docTerms.remove(articleId);
+                if (terms == null) {
+                    return;
+                }
+                for (String term : terms) {
+                    Map<Long, Integer> posting = postings.get(term);
+                    if (posting != null) {
+                        posting.remove(articleId);
+                        if (posting.isEmpty()) {
+                            postings.remove(term);
+                        }
+                    }
+                }
+                totalLength -= docLengths.remove(articleId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        Map<Long, Double> score(List<String> terms) {
+            lock.readLock().lock();
+            try {
+                Map<Long, Double> scores = new HashMap<>();
+                int docCount = docLengths.size();
+                if (docCount == 0) {
+                    return scores;
+                }
+                double avgLength = (double) totalLength / docCount;
+                for (String term : terms) {
+                    Map<Long, Integer> posting = postings.get(term);
+                    if (posting == null) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (docCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                    for (Map.Entry<Long, Integer> entry : posting.entrySet()) {
+                        double tf = entry.getValue();
+                        double norm = K1 * (1 - B + B * docLengths.get(entry.getKey()) / avgLength);
+                        scores.merge(entry.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                    }
+                }
+                return scores;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -3,34 +3,80 @@ package com.vhu.backend.service;
 import com.vhu.backend.dto.article.request.ArticleCreateRequest;
 import com.vhu.backend.dto.article.request.ArticleUpdateRequest;
 import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.article.response.ArticleSearchResult;
+import com.vhu.backend.dto.article.response.ArticleSummaryResponse;
 import com.vhu.backend.dto.article.response.ArticleTitleResponse;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.entity.Article;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 public interface ArticleService {
     Page<ArticleResponse> getAllArticles(int page, int size, String search);
     ArticleResponse togglePinStatus(Long articleId);
     ArticleResponse getArticleBySlug(String slug);
+
+    Optional<String> findArticleVersionBySlug(String slug);
+
+    Optional<Long> findPublishedListVersion();
     ArticleResponse createArticle(ArticleCreateRequest request);
     ArticleResponse updateArticle(Long articleId, ArticleUpdateRequest request);
     void deleteArticle(Long articleId);
     List<ArticleTitleResponse> getAllArticleTitles();
+
+    List<ArticleTitleResponse> suggestArticleTitles(String query, int limit);
     ArticleResponse getArticleById(Long articleId, Locale locale);
 
     List<ArticleResponse> getPinnedArticles(String languageCode, int limit);
 
     List<ArticleResponse> getLatestArticles(String languageCode, int limit);
 
-    List<ArticleResponse> searchPublicArticles(String query, String languageCode);
+    Page<ArticleResponse> searchPublicArticles(String query, String languageCode, int page, int size);
+
+    ArticleSearchResult searchPublicArticleIds(String query, String languageCode, int page, int size, String cursor);
+
+    List<ArticleResponse> getArticleResponses(List<Long> articleIds, String languageCode);
 
     List<ArticleResponse> getLatestArticlesByCategoryId(Integer categoryId, String languageCode, int limit);
 
     List<ArticleResponse> getLatestArticlesByCategorySlug(String slug, String languageCode, int limit);
 
+    Map<Integer, List<ArticleResponse>> getLatestArticlesByCategoryTrees(List<Integer> categoryIds, String languageCode, int limitPerCategory);
+
     List<ArticleResponse> getRelatedArticles(Long articleId, Integer categoryId, String languageCode, int limit);
 
+    List<ArticleResponse> getMostViewedArticles(String languageCode, ArticleViewCounter.Window window, int limit);
+
+    List<ArticleResponse> getTrendingArticles(String languageCode, int limit);
+
     ArticleResponse mapToArticleResponse(Article article, String languageCode);
+
+    // --- Phân trang keyset (cursor), không chạy COUNT(*) trừ khi withTotal = true ---
+
+    CursorPageResponse<ArticleResponse> scrollArticles(Specification<Article> filter, String languageCode,
+                                                       String cursor, int size, boolean withTotal);
+
+    CursorPageResponse<ArticleResponse> getArticlesByCursor(String search, String cursor, int size, boolean withTotal);
+
+    CursorPageResponse<ArticleResponse> getArticlesByCategorySlugCursor(String slug, String languageCode,
+                                                                        String cursor, int size, boolean withTotal);
+
+    // --- Bản rút gọn cho các trang danh sách ---
+
+    Page<ArticleSummaryResponse> getAllArticleSummaries(int page, int size, String search);
+
+    List<ArticleSummaryResponse> getPinnedArticleSummaries(String languageCode, int limit);
+
+    List<ArticleSummaryResponse> getLatestArticleSummaries(String languageCode, int limit);
+
+    Page<ArticleSummaryResponse> searchPublicArticleSummaries(String query, String languageCode, int page, int size);
+
+    List<ArticleSummaryResponse> getArticleSummariesByCategorySlug(String slug, String languageCode, int limit);
+
+    List<ArticleSummaryResponse> getRelatedArticleSummaries(Long articleId, Integer categoryId, String languageCode, int limit);
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.utils.SlugUtil;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Chỉ mục tiêu đề (tiếng Việt) của mọi bài viết cho ô chọn bài / gợi ý tìm nhanh trong trang quản trị.
+ * Chỉ giữ id, tiêu đề và các từ đã chuẩn hóa (SlugUtil.fold) trong một skip list sắp theo từ,
+ * tìm theo tiền tố từ bằng subMap; không bao giờ đọc cột content.
+ * Khi một bài thay đổi chỉ các từ của bài đó được gỡ / thêm lại (O(số từ · log n)), không sắp xếp lại cả chỉ mục.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleTitleIndex {
+
+    public static final String TITLE_LANGUAGE = "vi";
+    public static final String UNTITLED = "Bài viết không có tiêu đề";
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleTitleIndex.class);
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^a-z0-9]+");
+
+    private final ArticleRepository articleRepository;
+
+    // Từ -> id các bài có từ đó. Chỉ ghi khi giữ khóa của đối tượng, đọc không cần khóa
+    private final ConcurrentNavigableMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<Long, TitleEntry> byIdDesc = new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    // Danh sách cho findAll, lập lại khi có bài thay đổi
+    private volatile List<TitleEntry> allEntries;
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        List<Object[]> rows = articleRepository.findTitles(TITLE_LANGUAGE);
+        synchronized (this) {
+            rows.forEach(row -> put(toEntry((Long) row[0], (String) row[1])));
+        }
+        ready = true;
+        logger.info("Đã lập chỉ mục tiêu đề cho {} bài viết.", rows.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        List<Object[]> rows = event.isDeleted() ? List.of() : articleRepository.findTitleById(event.getArticleId(), TITLE_LANGUAGE);
+        synchronized (this) {
+            remove(event.getArticleId());
+            rows.forEach(row -> put(toEntry((Long) row[0], (String) row[1])));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Toàn bộ bài viết, mới nhất (id lớn nhất) trước.
+     */
+    public List<TitleEntry> findAll() {
+        List<TitleEntry> all = allEntries;
+        if (all == null) {
+            // Lập lại trong khóa để không lưu nhầm bản chụp giữa chừng của một lần cập nhật
+            synchronized (this) {
+                if (allEntries == null) {
+                    allEntries = List.copyOf(byIdDesc.values());
+                }
+                all = allEntries;
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Tối đa limit bài có mọi từ của truy vấn là tiền tố của một từ trong tiêu đề.
+     * Bài có tiêu đề bắt đầu bằng truy vấn đứng trước, sau đó đến bài mới hơn.
+     */
+    public List<TitleEntry> suggest(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return byIdDesc.values().stream().limit(Math.max(limit, 0)).collect(Collectors.toList());
+        }
+
+        // Dùng từ dài nhất để thu hẹp tập ứng viên nhất; từ chỉ gồm [a-z0-9] nên pivot + Character.MAX_VALUE là cận trên của tiền tố
+        String pivot = terms.stream().max(Comparator.comparingInt(String::length)).get();
+        Set<Long> candidates = new HashSet<>();
+        postings.subMap(pivot, true, pivot + Character.MAX_VALUE, false).values().forEach(candidates::addAll);
+
+        String foldedQuery = String.join(" ", terms);
+        List<TitleEntry> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            TitleEntry entry = byIdDesc.get(id);
+            if (entry != null && terms.stream().allMatch(term -> entry.hasWordStartingWith(term))) {
+                matches.add(entry);
+            }
+        }
+        matches.sort(Comparator
+                .comparing((TitleEntry entry) -> !entry.getFoldedTitle().startsWith(foldedQuery))
+                .thenComparing(TitleEntry::getId, Comparator.reverseOrder()));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private static TitleEntry toEntry(Long id, String title) {
+        String displayTitle = title != null ? title : UNTITLED;
+        List<String> words = tokenize(title);
+        return new TitleEntry(id, displayTitle, String.join(" ", words), words.toArray(new String[0]));
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : TOKEN_SEPARATOR.split(SlugUtil.fold(text))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // Hai hàm dưới phải gọi khi đang giữ khóa của đối tượng
+    private void put(TitleEntry entry) {
+        remove(entry.getId());
+        byIdDesc.put(entry.getId(), entry);
+        for (String word : entry.words) {
+            postings.computeIfAbsent(word, key -> ConcurrentHashMap.newKeySet()).add(entry.getId());
+        }
+        allEntries = null;
+    }
+
+    private void remove(Long id) {
+        TitleEntry old = byIdDesc.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String word : old.words) {
+            Set<Long> ids = postings.get(word);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+        allEntries = null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TitleEntry {
+        private final Long id;
+        private final String title;
+        private final String foldedTitle;
+        private final String[] words;
+
+        boolean hasWordStartingWith(String prefix) {
+            for (String word : words) {
+                if (word.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
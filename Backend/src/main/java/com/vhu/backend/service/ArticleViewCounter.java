@@ -0,0 +1,218 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.ArticleViewCount;
+import com.vhu.backend.repository.ArticleViewCountRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Bộ đếm lượt xem bài viết.
+ * Mỗi lượt xem chỉ tăng LongAdder trong bộ nhớ (không khóa dòng nào trong DB);
+ * định kỳ phần chênh lệch được ghi vào bảng article_view_counts bằng một lô INSERT ... ON DUPLICATE KEY UPDATE.
+ * Khi sập chỉ mất tối đa số lượt xem của một chu kỳ flush.
+ */
+@Service
+@RequiredArgsConstructor
+public class ArticleViewCounter {
+
+    public enum Window {
+        DAY,
+        WEEK,
+        ALL;
+
+        public static Window from(String value) {
+            try {
+                return Window.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Khoảng thời gian không hợp lệ: " + value + " (day, week, all).");
+            }
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ArticleViewCounter.class);
+    private static final int WEEK_DAYS = 7;
+    public static final int MAX_RANKED = 100;
+    // Cú pháp alias cho dòng mới (MySQL 8.0.19+), thay cho VALUES(col) đã bị đánh dấu deprecated từ 8.0.20
+    private static final String UPSERT_SQL =
+            "INSERT INTO article_view_counts (article_id, view_date, views) VALUES (?, ?, ?) AS new " +
+            "ON DUPLICATE KEY UPDATE views = article_view_counts.views + new.views";
+
+    private final ArticleViewCountRepository viewCountRepository;
+    private final ArticleReadModel articleReadModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TrendingArticles trendingArticles;
+
+    // Tổng lượt xem ghi nhận trong bộ nhớ theo (bài, ngày) và phần đã ghi xuống DB (chỉ luồng flush đọc/ghi)
+    private final Map<ViewKey, LongAdder> recorded = new ConcurrentHashMap<>();
+    private final Map<ViewKey, Long> flushed = new HashMap<>();
+
+    // Số liệu tổng hợp (DB + bộ nhớ) dùng cho bảng xếp hạng
+    private final Map<LocalDate, Map<Long, LongAdder>> dailyViews = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> allTimeViews = new ConcurrentHashMap<>();
+    private volatile Map<Window, List<Long>> rankings = Map.of();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        LocalDate from = LocalDate.now().minusDays(WEEK_DAYS - 1);
+        for (ArticleViewCount row : viewCountRepository.findByIdViewDateGreaterThanEqual(from)) {
+            dailyViews.computeIfAbsent(row.getId().getViewDate(), day -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(row.getId().getArticleId(), id -> new LongAdder())
+                    .add(row.getViews());
+        }
+        for (Object[] row : viewCountRepository.sumViewsByArticle()) {
+            allTimeViews.computeIfAbsent((Long) row[0], id -> new LongAdder()).add(((Number) row[1]).longValue());
+        }
+        // Trending chỉ nằm trong bộ nhớ: nạp lại từ số liệu 7 ngày, lượt xem mỗi ngày tính như xảy ra lúc giữa trưa
+        dailyViews.forEach((day, counts) -> trendingArticles.seed(toTotals(counts),
+                day.atTime(LocalTime.NOON).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        recomputeRankings();
+        ready = true;
+        logger.info("Đã nạp lượt xem của {} bài viết.", allTimeViews.size());
+    }
+
+    /**
+     * Ghi nhận một lượt xem. Chỉ nhận bài đang xuất bản để id ngẫu nhiên không làm phình bộ nhớ.
+     */
+    public boolean record(Long articleId) {
+        if (!ready || !articleReadModel.isReady() || articleReadModel.findEntry(articleId).isEmpty()) {
+            return false;
+        }
+        LocalDate today = LocalDate.now();
+        recorded.computeIfAbsent(new ViewKey(articleId, today), key -> new LongAdder()).increment();
+        dailyViews.computeIfAbsent(today, day -> new ConcurrentHashMap<>())
+                .computeIfAbsent(articleId, id -> new LongAdder()).increment();
+        allTimeViews.computeIfAbsent(articleId, id -> new LongAdder()).increment();
+        trendingArticles.record(articleId);
+        return true;
+    }
+
+    /**
+     * Id các bài xem nhiều nhất trong khoảng thời gian, chỉ gồm bài vẫn đang xuất bản.
+     */
+    public List<Long> findMostViewedIds(Window window, int limit) {
+        return rankings.getOrDefault(window, List.of()).stream()
+                .filter(id -> articleReadModel.findEntry(id).isPresent())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        if (!ready) {
+            return;
+        }
+        List<ViewKey> keys = new ArrayList<>();
+        List<Long> totals = new ArrayList<>();
+        List<Object[]> batch = new ArrayList<>();
+        recorded.forEach((key, adder) -> {
+            long total = adder.sum();
+            long delta = total - flushed.getOrDefault(key, 0L);
+            if (delta > 0) {
+                keys.add(key);
+                totals.add(total);
+                batch.add(new Object[]{key.getArticleId(), Date.valueOf(key.getDay()), delta});
+            }
+        });
+
+        if (!batch.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch));
+            } catch (RuntimeException e) {
+                // Giữ nguyên phần chênh lệch, lần flush sau sẽ ghi lại
+                logger.error("Không thể ghi {} bộ đếm lượt xem xuống DB.", batch.size(), e);
+                return;
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                flushed.put(keys.get(i), totals.get(i));
+            }
+        }
+
+        evictOldEntries();
+        recomputeRankings();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Bỏ bộ đếm của những ngày đã qua (đã ghi hết xuống DB) và số liệu ngày ngoài khoảng 7 ngày
+    private void evictOldEntries() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        recorded.entrySet().removeIf(entry -> entry.getKey().getDay().isBefore(yesterday)
+                && entry.getValue().sum() == flushed.getOrDefault(entry.getKey(), 0L));
+        flushed.keySet().retainAll(recorded.keySet());
+
+        LocalDate oldestDay = LocalDate.now().minusDays(WEEK_DAYS - 1);
+        dailyViews.keySet().removeIf(day -> day.isBefore(oldestDay));
+    }
+
+    private void recomputeRankings() {
+        LocalDate today = LocalDate.now();
+        Map<Long, Long> week = new HashMap<>();
+        dailyViews.forEach((day, counts) -> counts.forEach((id, adder) -> week.merge(id, adder.sum(), Long::sum)));
+
+        Map<Window, List<Long>> computed = new EnumMap<>(Window.class);
+        computed.put(Window.DAY, topIds(toTotals(dailyViews.getOrDefault(today, Map.of()))));
+        computed.put(Window.WEEK, topIds(week));
+        computed.put(Window.ALL, topIds(toTotals(allTimeViews)));
+        rankings = computed;
+    }
+
+    private static Map<Long, Long> toTotals(Map<Long, LongAdder> counts) {
+        Map<Long, Long> totals = new HashMap<>();
+        counts.forEach((id, adder) -> totals.put(id, adder.sum()));
+        return totals;
+    }
+
+    // Giữ MAX_RANKED bài nhiều lượt xem nhất bằng heap nhỏ, cùng lượt xem thì bài mới hơn (id lớn hơn) trước
+    private static List<Long> topIds(Map<Long, Long> totals) {
+        Comparator<Map.Entry<Long, Long>> ascending = Map.Entry.<Long, Long>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Long>> top = new PriorityQueue<>(MAX_RANKED + 1, ascending);
+        for (Map.Entry<Long, Long> entry : totals.entrySet()) {
+            top.offer(entry);
+            if (top.size() > MAX_RANKED) {
+                top.poll();
+            }
+        }
+        List<Long> ids = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ids.add(top.poll().getKey());
+        }
+        Collections.reverse(ids);
+        return List.copyOf(ids);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class ViewKey {
+        private final Long articleId;
+        private final LocalDate day;
+    }
+}
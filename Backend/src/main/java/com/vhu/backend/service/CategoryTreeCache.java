@@ -0,0 +1,132 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Category;
+import com.vhu.backend.entity.CategoryTranslation;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.repository.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+
+/**
+ * Bảng đóng (closure) của cây danh mục giữ trong bộ nhớ:
+ * mỗi danh mục ánh xạ tới danh sách id của chính nó và mọi danh mục con cháu, cùng bảng slug -> id.
+ * Được dựng lại từ một lần đọc bảng categories mỗi khi cây thay đổi.
+ */
+@Service
+@RequiredArgsConstructor
+public class CategoryTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryRepository categoryRepository;
+
+    private volatile Map<Integer, List<Integer>> subtreeIds = Map.of();
+    private volatile Map<Integer, Integer> parentIds = Map.of();
+    private volatile Map<String, Integer> idBySlug = Map.of();
+    private volatile boolean ready = false;
+
+    // Lần đầu khởi động cũng bổ sung cột path cho các danh mục cũ chưa có
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void warmUp() {
+        List<Category> categories = categoryRepository.findAll();
+        int backfilled = 0;
+        for (Category category : categories) {
+            String expected = buildPath(category);
+            if (!expected.equals(category.getPath())) {
+                category.setPath(expected);
+                backfilled++;
+            }
+        }
+        rebuild(categories);
+        ready = true;
+        logger.info("Đã nạp cây {} danh mục vào bộ nhớ ({} path được cập nhật).", categories.size(), backfilled);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        rebuild(categoryRepository.findAll());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return id của danh mục và toàn bộ danh mục con cháu, hoặc chỉ chính nó nếu không có trong cache.
+     */
+    public List<Integer> getSubtreeIds(Integer categoryId) {
+        return subtreeIds.getOrDefault(categoryId, List.of(categoryId));
+    }
+
+    /**
+     * @return id của danh mục và mọi danh mục tổ tiên (các trang danh mục có thể chứa bài của nó), từ dưới lên.
+     */
+    public List<Integer> getAncestorIds(Integer categoryId) {
+        Map<Integer, Integer> parents = parentIds;
+        List<Integer> ids = new ArrayList<>();
+        for (Integer id = categoryId; id != null && !ids.contains(id); id = parents.get(id)) {
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    public Optional<Integer> findIdBySlug(String slug) {
+        return Optional.ofNullable(idBySlug.get(slug));
+    }
+
+    /**
+     * Materialised path dạng "/1/5/12/" tính từ chuỗi cha của danh mục.
+     */
+    public static String buildPath(Category category) {
+        Deque<Integer> ids = new ArrayDeque<>();
+        for (Category current = category; current != null; current = current.getParent()) {
+            ids.push(current.getId());
+        }
+        StringBuilder path = new StringBuilder("/");
+        ids.forEach(id -> path.append(id).append('/'));
+        return path.toString();
+    }
+
+    private void rebuild(List<Category> categories) {
+        Map<Integer, List<Integer>> childrenByParent = new HashMap<>();
+        Map<Integer, Integer> parents = new HashMap<>();
+        Map<String, Integer> slugs = new HashMap<>();
+        for (Category category : categories) {
+            if (category.getParent() != null) {
+                childrenByParent.computeIfAbsent(category.getParent().getId(), id -> new ArrayList<>()).add(category.getId());
+                parents.put(category.getId(), category.getParent().getId());
+            }
+            for (CategoryTranslation translation : category.getTranslations()) {
+                slugs.put(translation.getSlug(), category.getId());
+            }
+        }
+
+        Map<Integer, List<Integer>> closure = new HashMap<>();
+        for (Category category : categories) {
+            List<Integer> ids = new ArrayList<>();
+            Deque<Integer> stack = new ArrayDeque<>();
+            stack.push(category.getId());
+            while (!stack.isEmpty()) {
+                Integer id = stack.pop();
+                ids.add(id);
+                childrenByParent.getOrDefault(id, List.of()).forEach(stack::push);
+            }
+            closure.put(category.getId(), List.copyOf(ids));
+        }
+
+        subtreeIds = Map.copyOf(closure);
+        parentIds = Map.copyOf(parents);
+        idBySlug = Map.copyOf(slugs);
+    }
+}
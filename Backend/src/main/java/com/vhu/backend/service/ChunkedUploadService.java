@@ -0,0 +1,280 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.exception.ResourceNotFoundException;
+import com.vhu.backend.exception.UploadOffsetConflictException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Upload file lớn (PDF, video) theo từng đoạn: init -> append (nhiều lần) -> complete.
+ * Mỗi phiên gồm file {id}.part nhận dữ liệu và file {id}.properties mô tả phiên, cùng nằm trong temp/.chunked,
+ * nên upload bị ngắt (kể cả khi server khởi động lại) có thể gửi tiếp từ vị trí cuối cùng đã được xác nhận.
+ * Dữ liệu đi thẳng từ request xuống file qua FileChannel, không bao giờ giữ cả file trong heap.
+ * Phiên gắn với email người tạo; người khác gọi vào phiên đó nhận 404 như khi phiên không tồn tại.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String META_SUFFIX = ".properties";
+
+    private final FileSystemStorageService storageService;
+    private final MediaBlobService mediaBlobService;
+    // Mỗi phiên chỉ cho một request ghi tại một thời điểm
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.chunked.max-file-size:2147483648}")
+    private long maxFileSize;
+
+    @Value("${app.upload.chunked.max-chunk-size:16777216}")
+    private long maxChunkSize;
+
+    @Value("${app.upload.chunked.expire-hours:24}")
+    private long expireHours;
+
+    public ChunkedUploadService(FileSystemStorageService storageService, MediaBlobService mediaBlobService) {
+        this.storageService = storageService;
+        this.mediaBlobService = mediaBlobService;
+    }
+
+    public UploadSession init(String fileName, long size, String contentType, String ownerEmail) {
+        String cleanFileName = fileName == null ? "" : StringUtils.cleanPath(fileName);
+        if (cleanFileName.isBlank() || cleanFileName.contains("..") || cleanFileName.contains("/")) {
+            throw new IllegalArgumentException("Tên file không hợp lệ.");
+        }
+        if (size <= 0 || size > maxFileSize) {
+            throw new IllegalArgumentException("Dung lượng file phải từ 1 byte đến " + maxFileSize / 1024 / 1024 + "MB.");
+        }
+
+        UploadSession session = new UploadSession(UUID.randomUUID().toString(), cleanFileName, size,
+                contentType == null ? "" : contentType, 0);
+        Properties meta = new Properties();
+        meta.setProperty("fileName", session.getFileName());
+        meta.setProperty("size", Long.toString(size));
+        meta.setProperty("contentType", session.getContentType());
+        meta.setProperty("owner", ownerEmail);
+        try {
+            Files.createFile(partFile(session.getUploadId()));
+            Path metaFile = metaFile(session.getUploadId());
+            Path temp = metaFile.resolveSibling(metaFile.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                meta.store(out, null);
+            }
+            Files.move(temp, metaFile, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            discard(session.getUploadId());
+            throw new RuntimeException("Không thể tạo phiên upload.", e);
+        }
+        return session;
+    }
+
+    public UploadSession getSession(String uploadId, String ownerEmail) {
+        Path metaFile = metaFile(uploadId);
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+            meta.load(in);
+            // Phiên tạo trước khi có trường owner cũng không dùng được nữa, sẽ bị dọn khi hết hạn
+            if (ownerEmail == null || !ownerEmail.equals(meta.getProperty("owner"))) {
+                throw new ResourceNotFoundException("Phiên upload", "id", uploadId);
+            }
+            return new UploadSession(uploadId, meta.getProperty("fileName"), Long.parseLong(meta.getProperty("size")),
+                    meta.getProperty("contentType", ""), Files.size(partFile(uploadId)));
+        } catch (IOException | RuntimeException e) {
+            throw new ResourceNotFoundException("Phiên upload", "id", uploadId);
+        }
+    }
+
+    /**
+     * Ghi một đoạn vào đúng vị trí offset. offset phải bằng số byte đã nhận, nếu không trả về 409 kèm vị trí hiện tại.
+     * Vị trí trả về chỉ được tính sau khi dữ liệu đã được đẩy xuống đĩa.
+     */
+    public long append(String uploadId, String ownerEmail, long offset, InputStream body) {
+        // Kiểm tra chủ phiên trước khi lấy khóa, để người khác không nhận được 409 kèm vị trí của phiên
+        getSession(uploadId, ownerEmail);
+        ReentrantLock lock = acquire(uploadId);
+        UploadSession session;
+        try {
+            session = getSession(uploadId, ownerEmail);
+        } catch (RuntimeException e) {
+            lock.unlock();
+            locks.remove(validId(uploadId));
+            throw e;
+        }
+        try (FileChannel channel = FileChannel.open(partFile(uploadId), StandardOpenOption.WRITE)) {
+            long current = channel.size();
+            if (offset != current) {
+                throw new UploadOffsetConflictException(uploadId, current);
+            }
+            // Đọc dư 1 byte để phát hiện đoạn vượt giới hạn
+            long limit = Math.min(maxChunkSize, session.getSize() - current);
+            long written = 0;
+            ReadableByteChannel source = Channels.newChannel(body);
+            while (written <= limit) {
+                long transferred = channel.transferFrom(source, current + written, limit + 1 - written);
+                if (transferred <= 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written > limit) {
+                channel.truncate(current);
+                throw new IllegalArgumentException("Đoạn upload vượt quá dung lượng cho phép.");
+            }
+            channel.force(false);
+            return current + written;
+        } catch (IOException e) {
+            // Phần đã ghi được vẫn giữ lại, client hỏi lại vị trí rồi gửi tiếp
+            logger.warn("Upload {} bị gián đoạn: {}", uploadId, e.getMessage());
+            throw new RuntimeException("Lỗi khi ghi dữ liệu upload.", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Kiểm tra đã nhận đủ dữ liệu rồi đưa file vào kho lưu trữ bằng thao tác đổi tên (không copy).
+     */
+    public CompletedUpload complete(String uploadId, String ownerEmail) {
+        getSession(uploadId, ownerEmail);
+        ReentrantLock lock = acquire(uploadId);
+        try {
+            UploadSession session = getSession(uploadId, ownerEmail);
+            if (session.getOffset() != session.getSize()) {
+                throw new IllegalArgumentException("Chưa nhận đủ dữ liệu: " + session.getOffset() + "/" + session.getSize() + " byte.");
+            }
+            MediaBlobService.StoredFile stored = mediaBlobService.store(partFile(uploadId), session.getFileName());
+            discard(uploadId);
+            return new CompletedUpload(session, stored);
+        } finally {
+            lock.unlock();
+            locks.remove(validId(uploadId));
+        }
+    }
+
+    public void abort(String uploadId, String ownerEmail) {
+        getSession(uploadId, ownerEmail);
+        ReentrantLock lock = acquire(uploadId);
+        try {
+            getSession(uploadId, ownerEmail);
+            discard(uploadId);
+        } finally {
+            lock.unlock();
+            locks.remove(validId(uploadId));
+        }
+    }
+
+    // Xóa các phiên bỏ dở: tính theo lần ghi cuối cùng nên upload đang chạy chậm không bị xóa
+    @Scheduled(fixedDelayString = "${app.upload.chunked.cleanup-interval-ms:3600000}")
+    public void removeExpiredSessions() {
+        Instant expiredBefore = Instant.now().minus(Duration.ofHours(expireHours));
+        try (Stream<Path> files = Files.list(storageService.getChunkedUploadFolder())) {
+            files.filter(file -> file.getFileName().toString().endsWith(PART_SUFFIX)).forEach(part -> {
+                try {
+                    if (Files.getLastModifiedTime(part).toInstant().isBefore(expiredBefore)) {
+                        String name = part.getFileName().toString();
+                        String uploadId = name.substring(0, name.length() - PART_SUFFIX.length());
+                        ReentrantLock lock = locks.get(uploadId);
+                        if (lock == null || lock.tryLock()) {
+                            discard(uploadId);
+                            locks.remove(uploadId);
+                            if (lock != null) {
+                                lock.unlock();
+                            }
+                            logger.info("Đã xóa phiên upload hết hạn {}", uploadId);
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.warn("Không thể kiểm tra {}: {}", part, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Không thể dọn thư mục upload: {}", e.getMessage());
+        }
+    }
+
+    // Request khác đang ghi vào cùng phiên thì trả 409 ngay thay vì chờ
+    private ReentrantLock acquire(String uploadId) {
+        ReentrantLock lock = locks.computeIfAbsent(validId(uploadId), id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            long current;
+            try {
+                current = Files.size(partFile(uploadId));
+            } catch (IOException e) {
+                current = 0;
+            }
+            throw new UploadOffsetConflictException(uploadId, current);
+        }
+        return lock;
+    }
+
+    private void discard(String uploadId) {
+        try {
+            Files.deleteIfExists(metaFile(uploadId));
+            Files.deleteIfExists(partFile(uploadId));
+        } catch (IOException e) {
+            logger.warn("Không thể xóa phiên upload {}: {}", uploadId, e.getMessage());
+        }
+    }
+
+    private Path partFile(String uploadId) {
+        return storageService.getChunkedUploadFolder().resolve(validId(uploadId) + PART_SUFFIX);
+    }
+
+    private Path metaFile(String uploadId) {
+        return storageService.getChunkedUploadFolder().resolve(validId(uploadId) + META_SUFFIX);
+    }
+
+    // Id đi vào đường dẫn file nên chỉ chấp nhận đúng dạng UUID
+    private static String validId(String uploadId) {
+        try {
+            return UUID.fromString(uploadId).toString();
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("Phiên upload", "id", uploadId);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class UploadSession {
+        private final String uploadId;
+        private final String fileName;
+        private final long size;
+        private final String contentType;
+        // Số byte đã nhận, cũng là vị trí của đoạn tiếp theo
+        private final long offset;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CompletedUpload {
+        private final UploadSession session;
+        private final MediaBlobService.StoredFile storedFile;
+    }
+}
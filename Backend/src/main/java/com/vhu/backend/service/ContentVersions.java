@@ -0,0 +1,63 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bộ đếm phiên bản cho từng nhóm dữ liệu public, dùng để sinh ETag mà không phải dựng lại response.
+ * Mỗi lần khởi động có một tiền tố riêng để ETag cũ không trùng với bộ đếm vừa được đặt lại.
+ */
+@Service
+public class ContentVersions {
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<ContentChangedEvent.Section, AtomicLong> sectionVersions = new EnumMap<>(ContentChangedEvent.Section.class);
+    private final AtomicLong categoryVersion = new AtomicLong();
+
+    public ContentVersions() {
+        for (ContentChangedEvent.Section section : ContentChangedEvent.Section.values()) {
+            sectionVersions.put(section, new AtomicLong());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        sectionVersions.get(event.getSection()).incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        categoryVersion.incrementAndGet();
+    }
+
+    public String sectionTag(ContentChangedEvent.Section section) {
+        return bootId + "-" + section.name().toLowerCase() + "-" + sectionVersions.get(section).get();
+    }
+
+    public String categoryTag() {
+        return bootId + "-category-" + categoryVersion.get();
+    }
+
+    /**
+     * ETag của một bài viết: phiên bản riêng của bài cộng với phiên bản danh mục và thẻ,
+     * vì response có chứa tên danh mục và tên thẻ.
+     */
+    public String articleTag(String articleVersion) {
+        return bootId + "-article-" + articleVersion + "-" + categoryVersion.get()
+                + "." + sectionVersions.get(ContentChangedEvent.Section.TAG).get();
+    }
+
+    /**
+     * ETag của một danh sách bài viết đã đăng, theo phiên bản của read model.
+     */
+    public String articleListTag(long listVersion) {
+        return bootId + "-articles-" + listVersion + "-" + categoryVersion.get()
+                + "." + sectionVersions.get(ContentChangedEvent.Section.TAG).get();
+    }
+}
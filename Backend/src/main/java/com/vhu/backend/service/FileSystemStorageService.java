@@ -1,24 +1,59 @@
 package com.vhu.backend.service;
 
+import com.vhu.backend.utils.ImageVariants;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
 public class FileSystemStorageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemStorageService.class);
+
     private final Path rootLocation;
     public static final String TEMP_FOLDER = "temp";
+    public static final String BLOB_FOLDER = "blobs";
+    // Các phiên upload theo từng đoạn (ChunkedUploadService)
+    public static final String CHUNKED_FOLDER = TEMP_FOLDER + "/.chunked";
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+    private static final float JPEG_QUALITY = 0.82f;
 
     @Value("${file.base-url}")
     private String baseUrl;
@@ -28,6 +63,7 @@ public class FileSystemStorageService {
         try {
             Files.createDirectories(rootLocation);
             Files.createDirectories(rootLocation.resolve(TEMP_FOLDER));
+            Files.createDirectories(rootLocation.resolve(CHUNKED_FOLDER));
         } catch (IOException e) {
             throw new RuntimeException("Không thể khởi tạo thư mục lưu trữ", e);
         }
@@ -49,17 +85,46 @@ public class FileSystemStorageService {
             String uniqueFileName = UUID.randomUUID().toString() + "_" + originalFilename;
             Path destinationFile = destinationFolder.resolve(uniqueFileName);
 
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, destinationFile, StandardCopyOption.REPLACE_EXISTING);
-            }
+            // Tomcat chỉ đổi tên file đã đệm trên đĩa thay vì copy lại qua heap (cần đường dẫn tuyệt đối)
+            file.transferTo(destinationFile.toFile());
+
+            return folderName + "/" + uniqueFileName;
+        } catch (IOException e) {
+            throw new RuntimeException("Lỗi khi lưu file.", e);
+        }
+    }
 
+    /**
+     * Đưa một file đã ghi xong trên đĩa (ví dụ file ghép từ các đoạn upload) vào thư mục folderName
+     * bằng thao tác đổi tên, không copy dữ liệu.
+     */
+    public String store(Path source, String originalFilename, String folderName) {
+        String cleanFilename = StringUtils.cleanPath(originalFilename);
+        if (cleanFilename.contains("..")) throw new RuntimeException("Tên file chứa ký tự không hợp lệ.");
+        try {
+            Path destinationFolder = rootLocation.resolve(folderName).normalize().toAbsolutePath();
+            Files.createDirectories(destinationFolder);
+            String uniqueFileName = UUID.randomUUID().toString() + "_" + cleanFilename;
+            Files.move(source, destinationFolder.resolve(uniqueFileName), StandardCopyOption.ATOMIC_MOVE);
             return folderName + "/" + uniqueFileName;
         } catch (IOException e) {
             throw new RuntimeException("Lỗi khi lưu file.", e);
         }
     }
 
+    public Path getRootLocation() {
+        return rootLocation.toAbsolutePath().normalize();
+    }
+
+    public Path getChunkedUploadFolder() {
+        return rootLocation.resolve(CHUNKED_FOLDER).toAbsolutePath();
+    }
+
     public String moveFile(String tempRelativePath, String permanentFolder) throws IOException {
+        // Blob dùng chung không thuộc riêng bài viết / slide nào nên không di chuyển
+        if (isBlob(tempRelativePath)) {
+            return tempRelativePath;
+        }
         Path sourceFile = rootLocation.resolve(tempRelativePath).normalize().toAbsolutePath();
         Path destinationFolder = rootLocation.resolve(permanentFolder).normalize().toAbsolutePath();
 
@@ -69,21 +134,29 @@ public class FileSystemStorageService {
         Path destinationFile = destinationFolder.resolve(sourceFile.getFileName());
 
         Files.move(sourceFile, destinationFile, StandardCopyOption.REPLACE_EXISTING);
+        moveVariants(sourceFile, destinationFolder);
 
         System.out.println("Di chuyển file từ " + sourceFile + " đến " + destinationFile);
 
         return permanentFolder + "/" + destinationFile.getFileName().toString();
     }
 
-    public void delete(String filePath) {
-        if (filePath == null || filePath.isBlank()) {
-            return;
+    // Trả về true nếu file gốc tồn tại và đã bị xóa
+    public boolean delete(String filePath) {
+        // Blob chỉ bị xóa qua deleteBlob khi không còn Media nào tham chiếu (MediaBlobService)
+        if (filePath == null || filePath.isBlank() || isBlob(filePath)) {
+            return false;
         }
         try {
             Path file = rootLocation.resolve(filePath).normalize().toAbsolutePath();
-            Files.deleteIfExists(file);
+            boolean deleted = Files.deleteIfExists(file);
+            for (int width : ImageVariants.WIDTHS) {
+                Files.deleteIfExists(file.resolveSibling(ImageVariants.variantPath(file.getFileName().toString(), width)));
+            }
+            return deleted;
         } catch (IOException e) {
             System.err.println("Lỗi khi xóa file: " + filePath + " - " + e.getMessage());
+            return false;
         }
     }
 
@@ -91,6 +164,228 @@ public class FileSystemStorageService {
         return baseUrl + "/uploads/" + relativePath;
     }
 
+    // --- Lưu theo nội dung (content-addressed) ---
+
+    public static boolean isBlob(String relativePath) {
+        return relativePath != null && relativePath.startsWith(BLOB_FOLDER + "/");
+    }
+
+    /**
+     * Ghi file upload ra file tạm, đồng thời tính SHA-256 trong lúc ghi (không đọc file hai lần).
+     * Đường dẫn đích là blobs/{2 ký tự đầu của hash}/{hash}.{đuôi file}; file tạm chỉ được đưa vào đó ở commitBlob.
+     */
+    public StagedBlob stageBlob(MultipartFile file) {
+        if (file.isEmpty()) throw new RuntimeException("Không thể lưu file rỗng.");
+        Path temp = rootLocation.resolve(TEMP_FOLDER).resolve(".upload-" + UUID.randomUUID());
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream inputStream = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String path = BLOB_FOLDER + "/" + hash.substring(0, 2) + "/" + hash + extensionOf(file.getOriginalFilename());
+            return new StagedBlob(hash, path, size, temp);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("Lỗi khi lưu file.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Giống stageBlob(MultipartFile) cho file đã nằm sẵn trên đĩa: chỉ đọc một lượt để tính hash
+     * (bộ đệm cố định, không nạp cả file vào heap), chính file đó được dùng làm file tạm của blob.
+     */
+    public StagedBlob stageBlob(Path source, String originalFilename) {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String path = BLOB_FOLDER + "/" + hash.substring(0, 2) + "/" + hash + extensionOf(originalFilename);
+            return new StagedBlob(hash, path, channel.size(), source);
+        } catch (IOException e) {
+            throw new RuntimeException("Lỗi khi lưu file.", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Đưa file tạm vào vị trí của blob; nếu blob đã tồn tại (cùng nội dung) thì chỉ xóa file tạm.
+     */
+    public void commitBlob(StagedBlob blob, String blobPath) {
+        Path destination = rootLocation.resolve(blobPath).normalize().toAbsolutePath();
+        try {
+            if (Files.exists(destination)) {
+                deleteQuietly(blob.getTempFile());
+                return;
+            }
+            Files.createDirectories(destination.getParent());
+            Files.move(blob.getTempFile(), destination, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(blob.getTempFile());
+            throw new RuntimeException("Lỗi khi lưu file.", e);
+        }
+    }
+
+    public void deleteBlob(String blobPath) {
+        if (!isBlob(blobPath)) {
+            return;
+        }
+        Path file = rootLocation.resolve(blobPath).normalize().toAbsolutePath();
+        deleteQuietly(file);
+        for (int width : ImageVariants.WIDTHS) {
+            deleteQuietly(file.resolveSibling(ImageVariants.variantPath(file.getFileName().toString(), width)));
+        }
+    }
+
+    private static String extensionOf(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        if (extension == null || !extension.matches("[A-Za-z0-9]{1,8}")) {
+            return "";
+        }
+        return "." + extension.toLowerCase();
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Không thể xóa file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // --- Bản thu nhỏ của ảnh ---
+
+    /**
+     * Tạo các bản thu nhỏ theo ImageVariants.WIDTHS (chỉ những mức nhỏ hơn ảnh gốc) ngay cạnh file gốc.
+     * Chỉ xử lý JPEG và PNG; file khác (hoặc ảnh lỗi) trả về rỗng.
+     */
+    public Optional<ImageInfo> createVariants(String relativePath) {
+        Path source = rootLocation.resolve(relativePath).normalize().toAbsolutePath();
+        if (!Files.exists(source)) {
+            return Optional.empty();
+        }
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return Optional.empty();
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                String format = reader.getFormatName().toLowerCase();
+                if (!format.equals("jpeg") && !format.equals("png")) {
+                    return Optional.empty();
+                }
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                List<Integer> targets = Arrays.stream(ImageVariants.WIDTHS).filter(w -> w < width).boxed().toList();
+                if (targets.isEmpty()) {
+                    return Optional.of(new ImageInfo(width, height, null));
+                }
+
+                // Chỉ giải nén ở độ phân giải gấp đôi mức lớn nhất cần tạo, không bung cả ảnh máy ảnh vào bộ nhớ
+                int subsampling = Math.max(1, width / (targets.get(targets.size() - 1) * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                BufferedImage image = reader.read(0, param);
+
+                String fileName = source.getFileName().toString();
+                List<String> created = new ArrayList<>();
+                for (int target : targets) {
+                    int targetHeight = Math.max(1, Math.round((float) height * target / width));
+                    BufferedImage resized = resize(image, target, targetHeight, format.equals("png"));
+                    writeImage(resized, format, source.resolveSibling(ImageVariants.variantPath(fileName, target)));
+                    created.add(target + "x" + targetHeight);
+                }
+                return Optional.of(new ImageInfo(width, height, String.join(",", created)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Không thể tạo ảnh thu nhỏ cho {}: {}", relativePath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Chuyển các bản thu nhỏ theo file gốc khi file gốc đã được chuyển đi trong lúc đang tạo.
+     */
+    public void moveVariants(String fromRelativePath, String toRelativePath) throws IOException {
+        Path source = rootLocation.resolve(fromRelativePath).normalize().toAbsolutePath();
+        Path destination = rootLocation.resolve(toRelativePath).normalize().toAbsolutePath();
+        moveVariants(source, destination.getParent());
+    }
+
+    private void moveVariants(Path sourceFile, Path destinationFolder) throws IOException {
+        for (int width : ImageVariants.WIDTHS) {
+            Path variant = sourceFile.resolveSibling(ImageVariants.variantPath(sourceFile.getFileName().toString(), width));
+            if (Files.exists(variant)) {
+                Files.move(variant, destinationFolder.resolve(variant.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    // Thu nhỏ nhiều bước (mỗi bước tối đa một nửa) để ảnh không bị răng cưa khi giảm kích thước nhiều lần
+    private static BufferedImage resize(BufferedImage source, int width, int height, boolean alpha) {
+        BufferedImage current = source;
+        do {
+            int stepWidth = Math.max(width, current.getWidth() / 2);
+            int stepHeight = Math.max(height, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(stepWidth, stepHeight,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, stepWidth, stepHeight, null);
+            graphics.dispose();
+            current = next;
+        } while (current.getWidth() != width || current.getHeight() != height);
+        return current;
+    }
+
+    private static void writeImage(BufferedImage image, String format, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (format.equals("jpeg")) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+        }
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StagedBlob {
+        private final String hash;
+        private final String path;
+        private final long size;
+        private final Path tempFile;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ImageInfo {
+        private final int width;
+        private final int height;
+        // Dạng "320x213,640x427", null nếu ảnh đã nhỏ hơn mọi mức
+        private final String variants;
+    }
+
 //    public String buildUrl(String relativePath) {
 //        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/uploads/").path(relativePath).toUriString();
 //    }
@@ -0,0 +1,7 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.dto.home.response.HomePageResponse;
+
+public interface HomePageService {
+    HomePageResponse getHomePage(String languageCode);
+}
@@ -0,0 +1,97 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Media;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.event.MediaUploadedEvent;
+import com.vhu.backend.repository.MediaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Tạo ảnh thu nhỏ (320/640/1280) cho file vừa upload trên pool imageExecutor, rồi ghi kích thước vào Media.
+ * Ảnh nằm trong thư mục temp cho tới khi bài viết / slide được lưu, nên sau khi tạo xong phải kiểm tra
+ * file gốc có bị chuyển đi trong lúc đó không.
+ */
+@Service
+public class ImageVariantGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantGenerator.class);
+
+    private final MediaRepository mediaRepository;
+    private final FileSystemStorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ImageVariantGenerator(MediaRepository mediaRepository,
+                                 FileSystemStorageService storageService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Qualifier("imageExecutor") ThreadPoolTaskExecutor executor) {
+        this.mediaRepository = mediaRepository;
+        this.storageService = storageService;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMediaUploaded(MediaUploadedEvent event) {
+        executor.execute(() -> generate(event.getMediaId()));
+    }
+
+    private void generate(Long mediaId) {
+        Optional<Media> uploaded = mediaRepository.findById(mediaId);
+        if (uploaded.isEmpty()) {
+            return;
+        }
+        // Cùng nội dung đã được xử lý trước đó thì chỉ cần chép lại kích thước
+        String blobHash = uploaded.get().getBlobHash();
+        if (blobHash != null) {
+            Optional<Media> processed = mediaRepository.findFirstByBlobHashAndWidthIsNotNullAndIdNot(blobHash, mediaId);
+            if (processed.isPresent()) {
+                mediaRepository.updateImageInfo(mediaId, processed.get().getWidth(), processed.get().getHeight(),
+                        processed.get().getVariants());
+                return;
+            }
+        }
+
+        String path = uploaded.get().getS3Key();
+        Optional<FileSystemStorageService.ImageInfo> info = storageService.createVariants(path);
+        if (info.isEmpty()) {
+            return;
+        }
+        mediaRepository.updateImageInfo(mediaId, info.get().getWidth(), info.get().getHeight(), info.get().getVariants());
+
+        mediaRepository.findById(mediaId).ifPresent(media -> {
+            if (info.get().getVariants() != null && !media.getS3Key().equals(path)) {
+                try {
+                    storageService.moveVariants(path, media.getS3Key());
+                } catch (IOException e) {
+                    logger.warn("Không thể chuyển ảnh thu nhỏ của media {}: {}", mediaId, e.getMessage());
+                }
+            }
+            notifyOwner(media);
+        });
+    }
+
+    // Response của chủ sở hữu có thể đã được cache khi chưa có srcset
+    private void notifyOwner(Media media) {
+        if (media.getOwnerId() == null || media.getOwnerType() == null) {
+            return;
+        }
+        switch (media.getOwnerType()) {
+            case "ARTICLE_THUMBNAIL" -> eventPublisher.publishEvent(new ArticleChangedEvent(media.getOwnerId(), false));
+            case "SLIDE" -> eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
+            default -> {
+                // Các ảnh khác không có srcset trong response
+            }
+        }
+    }
+}
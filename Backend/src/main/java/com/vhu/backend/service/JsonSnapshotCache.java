@@ -0,0 +1,176 @@
+package com.vhu.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vhu.backend.utils.LruCache;
+import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lưu sẵn JSON của các response public giống nhau cho mọi khách (cây danh mục, đối tác, liên kết nhanh...)
+ * dưới dạng byte thô và byte đã nén gzip/deflate, theo khóa (endpoint, ngôn ngữ) và phiên bản dữ liệu.
+ * Bản chụp chỉ được dựng lại khi phiên bản đổi, tức là khi service sở hữu dữ liệu thay đổi.
+ */
+@Service
+public class JsonSnapshotCache {
+
+    // Ngôn ngữ được lưu bản chụp; ngôn ngữ khác vẫn được trả lời nhưng không chiếm chỗ trong cache
+    public static final Set<String> LANGUAGES = Set.of("vi", "en");
+
+    // Payload nhỏ hơn ngưỡng này nén không đáng, trả luôn bản thô
+    private static final int MIN_COMPRESS_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, Snapshot> snapshots;
+
+    public JsonSnapshotCache(ObjectMapper objectMapper,
+                             @Value("${app.json-snapshot.max-entries:256}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.snapshots = new LruCache<>(maxEntries);
+    }
+
+    /**
+     * Trả 304 nếu client đã có đúng phiên bản, ngược lại ghi thẳng byte đã dựng sẵn
+     * (kèm Content-Encoding phù hợp với Accept-Encoding). Body chỉ được gọi khi phải dựng lại bản chụp.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, String key, String version,
+                                          CacheControl cacheControl, Supplier<?> body) {
+        return respond(request, version, cacheControl, () -> {
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot == null || !snapshot.version.equals(version)) {
+                snapshot = render(version, body.get(), true);
+                snapshots.put(key, snapshot);
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Như trên với khóa (endpoint, ngôn ngữ). Ngôn ngữ lấy từ đường dẫn / tham số do client gửi,
+     * nên chỉ ngôn ngữ trong LANGUAGES mới được lưu; giá trị khác được dựng mới mỗi lần (không nén)
+     * để tham số tùy ý không đẩy các bản chụp thật ra khỏi LRU.
+     */
+    public ResponseEntity<byte[]> respond(WebRequest request, String endpoint, String languageCode, String version,
+                                          CacheControl cacheControl, Supplier<?> body) {
+        if (!LANGUAGES.contains(languageCode)) {
+            return respond(request, version, cacheControl, () -> render(version, body.get(), false));
+        }
+        return respond(request, endpoint + ":" + languageCode, version, cacheControl, body);
+    }
+
+    private ResponseEntity<byte[]> respond(WebRequest request, String version, CacheControl cacheControl,
+                                           Supplier<Snapshot> snapshotSupplier) {
+        // Bản thô, gzip và deflate có byte khác nhau nên không được chung một ETag mạnh;
+        // ETag yếu vẫn khớp If-None-Match (so sánh yếu) với bất kỳ bản nào client đang giữ
+        String etag = weakETag(version);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        Snapshot snapshot = snapshotSupplier.get();
+        String encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] bytes = snapshot.raw;
+        if ("gzip".equals(encoding) && snapshot.gzip != null) {
+            bytes = snapshot.gzip;
+        } else if ("deflate".equals(encoding) && snapshot.deflate != null) {
+            bytes = snapshot.deflate;
+        } else {
+            encoding = null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        return response.body(bytes);
+    }
+
+    static String weakETag(String version) {
+        if (version.startsWith("W/")) {
+            return version;
+        }
+        return "W/" + (version.startsWith("\"") ? version : "\"" + version + "\"");
+    }
+
+    private Snapshot render(String version, Object body, boolean compress) {
+        try {
+            byte[] raw = objectMapper.writeValueAsBytes(body);
+            if (!compress || raw.length < MIN_COMPRESS_SIZE) {
+                return new Snapshot(version, raw, null, null);
+            }
+            return new Snapshot(version, raw, compress(raw, true), compress(raw, false));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Không thể chuyển response sang JSON", e);
+        }
+    }
+
+    private static byte[] compress(byte[] raw, boolean gzip) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(raw.length / 4 + 64);
+        // Chỉ nén một lần cho mỗi phiên bản nên dùng mức nén cao nhất
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(buffer) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}
+                : new DeflaterOutputStream(buffer, new Deflater(Deflater.BEST_COMPRESSION))) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Ưu tiên gzip, sau đó deflate; bỏ qua các mã hóa client từ chối bằng q=0.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        boolean deflate = false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            if (tokens.length > 1 && tokens[1].replace(" ", "").matches("q=0(\\.0*)?")) {
+                continue;
+            }
+            if ("gzip".equals(coding)) {
+                return "gzip";
+            }
+            if ("deflate".equals(coding)) {
+                deflate = true;
+            }
+        }
+        return deflate ? "deflate" : null;
+    }
+
+    @AllArgsConstructor
+    private static class Snapshot {
+        private final String version;
+        private final byte[] raw;
+        private final byte[] gzip;
+        private final byte[] deflate;
+    }
+}
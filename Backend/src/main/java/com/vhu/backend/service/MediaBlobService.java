@@ -0,0 +1,217 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Media;
+import com.vhu.backend.entity.MediaBlob;
+import com.vhu.backend.repository.MediaBlobRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Lưu file upload theo nội dung (SHA-256): cùng một ảnh được tải lên nhiều lần chỉ tốn một file trên đĩa,
+ * các bản ghi Media trỏ tới cùng một MediaBlob và blob giữ số tham chiếu.
+ * Mọi thay đổi số tham chiếu của một hash được khóa theo hash và commit ngay (REQUIRES_NEW),
+ * để việc xóa file khi về 0 không chạy chen với một lần upload cùng nội dung.
+ * Tham chiếu lấy khi upload được trả lại nếu transaction tạo Media bị rollback.
+ */
+@Service
+public class MediaBlobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaBlobService.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    // Unique index một cột trên media.s3_key do phiên bản cũ của entity Media tạo ra
+    private static final String LEGACY_S3_KEY_INDEX_SQL = "SELECT index_name FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'media' AND non_unique = 0 AND index_name <> 'PRIMARY' " +
+            "GROUP BY index_name HAVING COUNT(*) = 1 AND MAX(column_name) = 's3_key'";
+
+    private final FileSystemStorageService storageService;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNew;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    @Value("${app.storage.content-addressed:false}")
+    private boolean contentAddressed;
+
+    public MediaBlobService(FileSystemStorageService storageService,
+                            MediaBlobRepository mediaBlobRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.storageService = storageService;
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Ở chế độ content-addressed nhiều Media dùng chung một s3_key. ddl-auto=update không bao giờ xóa ràng buộc cũ,
+     * nên khi bật chế độ này trên CSDL cũ thì bỏ unique index của media.s3_key trước khi nhận upload.
+     */
+    @PostConstruct
+    public void dropLegacyS3KeyIndex() {
+        if (!contentAddressed) {
+            return;
+        }
+        try {
+            List<String> indexes = jdbcTemplate.queryForList(LEGACY_S3_KEY_INDEX_SQL, String.class);
+            for (String index : indexes) {
+                jdbcTemplate.execute("ALTER TABLE media DROP INDEX `" + index.replace("`", "``") + "`");
+                logger.info("Đã bỏ unique index {} của media.s3_key cho chế độ content-addressed.", index);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Không thể bỏ unique index của media.s3_key, upload trùng nội dung sẽ lỗi. " +
+                    "Hãy chạy: ALTER TABLE media DROP INDEX <tên index>;", e);
+        }
+    }
+
+    /**
+     * Lưu file upload. Ở chế độ content-addressed trả về đường dẫn blob kèm hash,
+     * ngược lại lưu vào thư mục temp như trước (hash = null).
+     * Gọi trong transaction sẽ lưu Media: nếu transaction đó rollback thì file / tham chiếu vừa lấy được trả lại.
+     */
+    public StoredFile store(MultipartFile file) {
+        if (!contentAddressed) {
+            return discardOnRollback(new StoredFile(storageService.store(file, FileSystemStorageService.TEMP_FOLDER), null));
+        }
+        return discardOnRollback(store(storageService.stageBlob(file)));
+    }
+
+    /**
+     * Như store(MultipartFile) cho file đã được ghi đủ trên đĩa (upload theo từng đoạn).
+     * File nguồn được đổi tên vào vị trí mới hoặc bị xóa nếu nội dung đã có.
+     */
+    public StoredFile store(Path source, String originalFilename) {
+        if (!contentAddressed) {
+            return discardOnRollback(new StoredFile(
+                    storageService.store(source, originalFilename, FileSystemStorageService.TEMP_FOLDER), null));
+        }
+        return discardOnRollback(store(storageService.stageBlob(source, originalFilename)));
+    }
+
+    private StoredFile store(FileSystemStorageService.StagedBlob staged) {
+        synchronized (lockFor(staged.getHash())) {
+            // Nếu blob đã có (có thể với đuôi file khác) thì dùng lại đường dẫn cũ
+            String path = requiresNew.execute(status -> {
+                mediaBlobRepository.acquire(staged.getHash(), staged.getPath(), staged.getSize());
+                return mediaBlobRepository.findById(staged.getHash()).map(MediaBlob::getPath).orElse(staged.getPath());
+            });
+            // Tham chiếu đã commit nhưng discardOnRollback chưa được đăng ký: nếu ghi file lỗi thì phải tự trả lại
+            try {
+                storageService.commitBlob(staged, path);
+            } catch (RuntimeException e) {
+                releaseBlob(staged.getHash(), path, 1);
+                throw e;
+            }
+            return new StoredFile(path, staged.getHash());
+        }
+    }
+
+    // Tham chiếu được lấy và commit ở REQUIRES_NEW trước khi Media được lưu. Nếu bỏ qua lần rollback
+    // (ví dụ lưu Media lỗi) thì số tham chiếu không bao giờ về 0 và file không bao giờ bị xóa.
+    // Chỉ trả lại khi chắc chắn đã rollback: STATUS_UNKNOWN có thể là đã commit.
+    private StoredFile discardOnRollback(StoredFile stored) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        releaseDeleted(stored.getBlobHash(), stored.getPath(), 1);
+                    }
+                }
+            });
+        }
+        return stored;
+    }
+
+    /**
+     * Thêm một tham chiếu cho blob đã có, khi tạo thêm một Media trỏ vào cùng file.
+     */
+    public void retain(String hash) {
+        synchronized (lockFor(hash)) {
+            requiresNew.executeWithoutResult(status -> mediaBlobRepository.retain(hash));
+        }
+    }
+
+    /**
+     * Gọi sau khi xóa bản ghi Media. Chỉ chạy khi transaction hiện tại commit thành công,
+     * file vật lý bị xóa khi tham chiếu cuối cùng mất đi. File kiểu cũ (không có hash) bị xóa ngay.
+     */
+    public void release(Media media) {
+        String hash = media.getBlobHash();
+        String path = media.getS3Key();
+        Runnable action = () -> {
+            if (hash == null) {
+                storageService.delete(path);
+            } else {
+                releaseBlob(hash, path, 1);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Dùng khi xóa Media theo lô (MediaCleanupService): các bản ghi đã bị xóa và đã commit,
+     * count là số Media vừa bị xóa cùng trỏ tới file này. Trả về true nếu file vật lý bị xóa.
+     */
+    public boolean releaseDeleted(String hash, String path, int count) {
+        if (hash == null) {
+            return storageService.delete(path);
+        }
+        return releaseBlob(hash, path, count);
+    }
+
+    private boolean releaseBlob(String hash, String path, int count) {
+        synchronized (lockFor(hash)) {
+            Boolean unreferenced = requiresNew.execute(status -> {
+                mediaBlobRepository.release(hash, count);
+                return mediaBlobRepository.deleteIfUnreferenced(hash) > 0;
+            });
+            if (Boolean.TRUE.equals(unreferenced)) {
+                storageService.deleteBlob(path);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StoredFile {
+        private final String path;
+        private final String blobHash;
+    }
+}
@@ -1,53 +1,310 @@
 package com.vhu.backend.service;
 
 import com.vhu.backend.entity.Media;
+import com.vhu.backend.repository.MediaBlobRepository;
 import com.vhu.backend.repository.MediaRepository;
-import lombok.RequiredArgsConstructor;
+import com.vhu.backend.utils.ImageVariants;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Dọn dẹp media không dùng tới, gồm hai tác vụ:
+ * 1. Xóa các Media chưa được gán chủ sau app.media-cleanup.orphan-hours, theo từng lô: mỗi lô là một transaction ngắn
+ *    (khóa, xóa hàng loạt bằng một câu DELETE ... IN), commit xong mới xóa file song song trên pool mediaCleanupExecutor.
+ *    Lô đã commit là điểm dừng: tác vụ bị ngắt giữa chừng thì lần chạy sau tiếp tục với các bản ghi còn lại.
+ * 2. Đối chiếu thư mục upload với CSDL, tìm các file không còn Media / MediaBlob nào trỏ tới
+ *    (ví dụ file của lô đã xóa bản ghi nhưng ứng dụng tắt trước khi kịp xóa file), chỉ báo cáo hoặc xóa tùy cấu hình.
+ */
 @Service
-@RequiredArgsConstructor
 public class MediaCleanupService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MediaCleanupService.class);
+
+    // Bản thu nhỏ được xử lý cùng file gốc (xem ImageVariants)
+    private static final Pattern VARIANT_NAME = Pattern.compile("(.+)_w(\\d+)(\\.[^./]+)?");
+    private static final int REPORT_SAMPLE_SIZE = 20;
+
     private final MediaRepository mediaRepository;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final MediaBlobService mediaBlobService;
     private final FileSystemStorageService storageService;
-    private static final Logger logger = LoggerFactory.getLogger(MediaCleanupService.class);
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AtomicBoolean cleanupRunning = new AtomicBoolean();
+    private final AtomicBoolean reconcileRunning = new AtomicBoolean();
+    private volatile CleanupReport lastCleanupReport;
+    private volatile ReconcileReport lastReconcileReport;
+
+    @Value("${app.media-cleanup.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.media-cleanup.orphan-hours:24}")
+    private long orphanHours;
+
+    // off: không đối chiếu, report: chỉ ghi log / báo cáo, delete: xóa các file không được tham chiếu
+    @Value("${app.media-cleanup.reconcile-mode:report}")
+    private String reconcileMode;
+
+    public MediaCleanupService(MediaRepository mediaRepository,
+                               MediaBlobRepository mediaBlobRepository,
+                               MediaBlobService mediaBlobService,
+                               FileSystemStorageService storageService,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("mediaCleanupExecutor") ThreadPoolTaskExecutor executor) {
+        this.mediaRepository = mediaRepository;
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.mediaBlobService = mediaBlobService;
+        this.storageService = storageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+    }
 
     @Scheduled(cron = "0 0/60 * * * ?")  // 60 phút
-    @Transactional
     public void cleanupOrphanedMedia() {
-        logger.info("Bắt đầu tác vụ dọn dẹp file Media trống...");
-        LocalDateTime threshold = LocalDateTime.now().minusHours(24); // 24 giờ
-        List<Media> orphanedMedia = mediaRepository.findByOwnerIdIsNullAndCreatedAtBefore(threshold);
+        if (!cleanupRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            lastCleanupReport = runCleanup();
+        } finally {
+            cleanupRunning.set(false);
+        }
+    }
 
-        if (orphanedMedia.isEmpty()) {
-            logger.info("Không tìm thấy file Media trống nào để dọn dẹp.");
+    @Scheduled(cron = "${app.media-cleanup.reconcile-cron:0 30 3 * * ?}")
+    public void reconcileUploads() {
+        if ("off".equalsIgnoreCase(reconcileMode) || !reconcileRunning.compareAndSet(false, true)) {
             return;
         }
+        try {
+            lastReconcileReport = runReconcile("delete".equalsIgnoreCase(reconcileMode));
+        } finally {
+            reconcileRunning.set(false);
+        }
+    }
+
+    public Optional<CleanupReport> getLastCleanupReport() {
+        return Optional.ofNullable(lastCleanupReport);
+    }
+
+    public Optional<ReconcileReport> getLastReconcileReport() {
+        return Optional.ofNullable(lastReconcileReport);
+    }
 
-        logger.info("Tìm thấy {} file Media trống. Bắt đầu xóa...", orphanedMedia.size());
+    private CleanupReport runCleanup() {
+        long started = System.currentTimeMillis();
+        LocalDateTime threshold = LocalDateTime.now().minusHours(orphanHours);
+        logger.info("Bắt đầu tác vụ dọn dẹp file Media trống...");
+
+        int batches = 0;
+        int rowsDeleted = 0;
+        AtomicInteger filesDeleted = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long afterId = 0;
 
-        for (Media media : orphanedMedia) {
+        while (true) {
+            long cursor = afterId;
+            List<Media> batch;
             try {
-                // s3Service.deleteFile(media.getS3Key()); // Xóa file trên S3
+                batch = transactionTemplate.execute(status -> {
+                    List<Media> orphans = mediaRepository.findOrphanBatch(threshold, cursor, PageRequest.of(0, batchSize));
+                    if (!orphans.isEmpty()) {
+                        mediaRepository.deleteAllByIdIn(orphans.stream().map(Media::getId).toList());
+                    }
+                    return orphans;
+                });
+            } catch (Exception e) {
+                logger.error("Lỗi khi xóa lô Media trống sau id {}: {}", cursor, e.getMessage());
+                failures.incrementAndGet();
+                break;
+            }
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            batches++;
+            rowsDeleted += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+            releaseFiles(batch, filesDeleted, failures);
+        }
 
-                // Xóa file vật lý trên server
-                storageService.delete(media.getS3Key());
+        CleanupReport report = new CleanupReport(LocalDateTime.now(), System.currentTimeMillis() - started,
+                batches, rowsDeleted, filesDeleted.get(), failures.get());
+        logger.info("Hoàn tất dọn dẹp Media trống: {} lô, {} bản ghi, {} file đã xóa, {} lỗi, {} ms",
+                batches, rowsDeleted, report.getFilesDeleted(), report.getFailures(), report.getDurationMs());
+        return report;
+    }
 
-                // Xóa bản ghi trong database
-                mediaRepository.delete(media);
-                logger.info("Đã xóa thành công file: {}", media.getS3Key());
+    // Mỗi file (hoặc mỗi blob, dù nhiều Media cùng trỏ tới) là một tác vụ; đợi cả lô xong mới lấy lô tiếp theo
+    private void releaseFiles(List<Media> batch, AtomicInteger filesDeleted, AtomicInteger failures) {
+        Map<String, List<Media>> byFile = batch.stream().collect(Collectors.groupingBy(
+                media -> media.getBlobHash() != null ? media.getBlobHash() : media.getS3Key()));
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(byFile.size());
+        byFile.values().forEach(group -> tasks.add(CompletableFuture.runAsync(() -> {
+            Media media = group.get(0);
+            try {
+                if (mediaBlobService.releaseDeleted(media.getBlobHash(), media.getS3Key(), group.size())) {
+                    filesDeleted.incrementAndGet();
+                }
             } catch (Exception e) {
+                failures.incrementAndGet();
                 logger.error("Lỗi khi xóa file Media trống {}: {}", media.getS3Key(), e.getMessage());
             }
+        }, executor)));
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+    }
+
+    private ReconcileReport runReconcile(boolean delete) {
+        long started = System.currentTimeMillis();
+        Path root = storageService.getRootLocation();
+        // File mới hơn mốc này có thể đang được upload và chưa kịp có bản ghi
+        Instant recent = LocalDateTime.now().minusHours(orphanHours).atZone(ZoneId.systemDefault()).toInstant();
+        logger.info("Bắt đầu đối chiếu thư mục upload {} ({})", root, delete ? "xóa" : "chỉ báo cáo");
+
+        ReconcileStats stats = new ReconcileStats();
+        Map<String, Long> pending = new LinkedHashMap<>();
+
+        try (Stream<Path> files = Files.walk(root)) {
+            files.forEach(file -> {
+                String relativePath = root.relativize(file).toString().replace('\\', '/');
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    return;
+                }
+                if (!attributes.isRegularFile() || isIgnored(relativePath)
+                        || attributes.lastModifiedTime().toInstant().isAfter(recent)) {
+                    return;
+                }
+                stats.scanned++;
+                pending.put(relativePath, attributes.size());
+                if (pending.size() >= batchSize) {
+                    reconcileBatch(pending, delete, stats);
+                }
+            });
+            reconcileBatch(pending, delete, stats);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Lỗi khi đối chiếu thư mục upload: {}", e.getMessage());
+        }
+
+        ReconcileReport report = new ReconcileReport(LocalDateTime.now(), System.currentTimeMillis() - started, delete,
+                stats.scanned, stats.orphans, stats.orphanBytes, stats.deleted, stats.sample);
+        logger.info("Hoàn tất đối chiếu: {} file đã quét, {} file không được tham chiếu ({} byte), {} file đã xóa, {} ms",
+                report.getFilesScanned(), report.getOrphanFiles(), report.getOrphanBytes(), report.getFilesDeleted(),
+                report.getDurationMs());
+        return report;
+    }
+
+    private void reconcileBatch(Map<String, Long> pending, boolean delete, ReconcileStats stats) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<String> referenced = new HashSet<>(mediaRepository.findExistingS3Keys(pending.keySet()));
+        referenced.addAll(mediaBlobRepository.findExistingPaths(pending.keySet()));
+
+        pending.forEach((path, size) -> {
+            if (referenced.contains(path)) {
+                return;
+            }
+            stats.orphans++;
+            stats.orphanBytes += size;
+            if (stats.sample.size() < REPORT_SAMPLE_SIZE) {
+                stats.sample.add(path);
+            }
+            if (!delete) {
+                logger.info("File không được tham chiếu: {}", path);
+                return;
+            }
+            boolean removed;
+            if (FileSystemStorageService.isBlob(path)) {
+                storageService.deleteBlob(path);
+                removed = true;
+            } else {
+                removed = storageService.delete(path);
+            }
+            if (removed) {
+                stats.deleted++;
+            }
+        });
+        pending.clear();
+    }
+
+    // Bỏ qua file ẩn (phiên upload dở .chunked, file tạm .upload-*), file .tmp đang ghi,
+    // và bản thu nhỏ còn file gốc (được xóa cùng file gốc)
+    private boolean isIgnored(String relativePath) {
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        if (relativePath.startsWith(".") || relativePath.contains("/.") || fileName.endsWith(".tmp")) {
+            return true;
+        }
+        Matcher matcher = VARIANT_NAME.matcher(relativePath);
+        if (matcher.matches() && isVariantWidth(matcher.group(2))) {
+            String original = matcher.group(1) + (matcher.group(3) != null ? matcher.group(3) : "");
+            return Files.exists(storageService.getRootLocation().resolve(original));
         }
-        logger.info("Hoàn tất tác vụ dọn dẹp file Media trống.");
+        return false;
+    }
+
+    private static boolean isVariantWidth(String width) {
+        return Arrays.stream(ImageVariants.WIDTHS).anyMatch(w -> Integer.toString(w).equals(width));
+    }
+
+    private static class ReconcileStats {
+        private int scanned;
+        private int orphans;
+        private long orphanBytes;
+        private int deleted;
+        private final List<String> sample = new ArrayList<>();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CleanupReport {
+        private final LocalDateTime finishedAt;
+        private final long durationMs;
+        private final int batches;
+        private final int rowsDeleted;
+        private final int filesDeleted;
+        private final int failures;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ReconcileReport {
+        private final LocalDateTime finishedAt;
+        private final long durationMs;
+        private final boolean deleteMode;
+        private final int filesScanned;
+        private final int orphanFiles;
+        private final long orphanBytes;
+        private final int filesDeleted;
+        // Một vài đường dẫn đầu tiên để kiểm tra nhanh
+        private final List<String> orphanSample;
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.repository.MediaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gán / bỏ gán chủ sở hữu (owner_id, owner_type) cho Media bằng các câu UPDATE ... WHERE id IN (...),
+ * thay vì findById + save từng bản ghi: số câu lệnh không phụ thuộc số ảnh.
+ * Câu lệnh hàng loạt không cập nhật entity đang nằm trong persistence context. Thay đổi đang chờ được flush trước,
+ * và Media dùng @DynamicUpdate nên entity cũ trong bộ nhớ không ghi đè lại owner ở lần flush sau.
+ */
+@Service
+@RequiredArgsConstructor
+public class MediaOwnershipService {
+
+    private static final String MOVE_AND_ASSIGN_SQL =
+            "UPDATE media SET s3_key = ?, url = ?, owner_id = ?, owner_type = ? WHERE s3_key = ?";
+
+    private final MediaRepository mediaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void assign(Long ownerId, String ownerType, Collection<Long> mediaIds) {
+        if (!mediaIds.isEmpty()) {
+            mediaRepository.assignOwner(mediaIds, ownerId, ownerType);
+        }
+    }
+
+    @Transactional
+    public void unassign(Collection<Long> mediaIds) {
+        if (!mediaIds.isEmpty()) {
+            mediaRepository.clearOwner(mediaIds);
+        }
+    }
+
+    @Transactional
+    public void unassignAll(Long ownerId, String ownerType) {
+        mediaRepository.clearOwnerByOwner(ownerId, ownerType);
+    }
+
+    /**
+     * Đặt tập media của một chủ sở hữu đúng bằng mediaIds: phần thêm và phần bỏ được tính bằng phép trừ tập hợp,
+     * rồi áp dụng bằng tối đa hai câu UPDATE.
+     */
+    @Transactional
+    public void replace(Long ownerId, String ownerType, Collection<Long> mediaIds) {
+        Set<Long> wanted = new HashSet<>(mediaIds);
+        Set<Long> current = new HashSet<>(mediaRepository.findIdsByOwner(ownerId, ownerType));
+
+        Set<Long> added = new HashSet<>(wanted);
+        added.removeAll(current);
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(wanted);
+
+        assign(ownerId, ownerType, added);
+        unassign(removed);
+    }
+
+    /**
+     * Dùng sau khi các file đã được FileSystemStorageService.moveFile chuyển vào permanentFolder (giữ nguyên tên file):
+     * sửa s3_key, url và gán chủ cho các Media tương ứng trong một lô JDBC.
+     * url được tính ở đây bằng urlBuilder (cùng hàm tạo URL đã ghi vào nội dung), không ghép chuỗi trong SQL:
+     * tên file có dấu hoặc khoảng trắng phải được mã hóa giống hệt để lần lưu sau findByUrlIn còn tìm thấy.
+     */
+    @Transactional
+    public void moveAndAssign(Long ownerId, String ownerType, Collection<String> oldPaths,
+                              String permanentFolder, Function<String, String> urlBuilder) {
+        if (oldPaths.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = oldPaths.stream().map(oldPath -> {
+            String newPath = permanentFolder + "/" + oldPath.substring(oldPath.lastIndexOf('/') + 1);
+            return new Object[]{newPath, urlBuilder.apply(newPath), ownerId, ownerType, oldPath};
+        }).collect(Collectors.toList());
+        // Câu lệnh JDBC không tự flush persistence context như @Modifying(flushAutomatically = true)
+        mediaRepository.flush();
+        jdbcTemplate.batchUpdate(MOVE_AND_ASSIGN_SQL, rows);
+    }
+}
@@ -0,0 +1,323 @@
+package com.vhu.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.entity.CategoryTranslation;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.repository.CategoryTranslationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Xuất sẵn các response public nặng nhất (trang chủ, cây danh mục, trang đầu của từng danh mục, bài viết theo slug)
+ * thành file JSON tĩnh kèm bản .gz trong thư mục app.prerender.dir, được MvcConfig phục vụ trực tiếp tại /prerender/**
+ * (không qua controller, security filter hay Hibernate). Dùng khi lượng truy cập tăng vọt, ví dụ mùa tuyển sinh.
+ * Các service chỉ đánh dấu phần bị thay đổi qua sự kiện, job nền chạy trên pool prerenderExecutor sẽ xuất lại
+ * đúng các file đó: một bài thay đổi chỉ kéo theo trang của danh mục chứa nó và các danh mục tổ tiên.
+ */
+@Service
+public class PrerenderExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrerenderExporter.class);
+
+    private static final List<String> LANGUAGES = List.of("vi", "en");
+    private static final Pattern SAFE_SLUG = Pattern.compile("[a-z0-9-]+");
+    // Bằng số bài mỗi lần cuộn mặc định của trang danh mục
+    private static final int CATEGORY_PAGE_SIZE = 9;
+
+    private final HomePageService homePageService;
+    private final CategoryService categoryService;
+    private final ArticleService articleService;
+    private final ArticleReadModel articleReadModel;
+    private final CategoryTranslationRepository categoryTranslationRepository;
+    private final CategoryTreeCache categoryTreeCache;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Value("${app.prerender.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.prerender.dir:prerender}")
+    private String prerenderDir;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean fullExportPending = new AtomicBoolean(true);
+    private final AtomicBoolean homeDirty = new AtomicBoolean();
+    private final AtomicBoolean allCategoriesDirty = new AtomicBoolean();
+    private final AtomicBoolean allArticlesDirty = new AtomicBoolean();
+    private final Set<Long> dirtyArticles = ConcurrentHashMap.newKeySet();
+
+    // Các file đã xuất, để xóa khi bài bị gỡ / đổi slug hoặc danh mục bị xóa.
+    // Chỉ job xuất (một luồng) đọc / ghi, ngoại trừ dirtyArticles
+    private final Map<Long, List<String>> exportedArticleSlugs = new HashMap<>();
+    // Danh mục của bài ở lần xuất trước, để khi bài đổi danh mục thì trang danh mục cũ cũng được xuất lại
+    private final Map<Long, Integer> exportedArticleCategories = new HashMap<>();
+    private final Map<Integer, List<String>> exportedCategoryPaths = new HashMap<>();
+
+    public PrerenderExporter(HomePageService homePageService,
+                             CategoryService categoryService,
+                             ArticleService articleService,
+                             ArticleReadModel articleReadModel,
+                             CategoryTranslationRepository categoryTranslationRepository,
+                             CategoryTreeCache categoryTreeCache,
+                             ObjectMapper objectMapper,
+                             @Qualifier("prerenderExecutor") ThreadPoolTaskExecutor executor) {
+        this.homePageService = homePageService;
+        this.categoryService = categoryService;
+        this.articleService = articleService;
+        this.articleReadModel = articleReadModel;
+        this.categoryTranslationRepository = categoryTranslationRepository;
+        this.categoryTreeCache = categoryTreeCache;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        dirtyArticles.add(event.getArticleId());
+        homeDirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        homeDirty.set(true);
+        // Đổi cha / slug ảnh hưởng cả cây, thay đổi danh mục hiếm nên xuất lại mọi trang danh mục
+        allCategoriesDirty.set(true);
+        // Tên danh mục nằm trong từng bài viết
+        allArticlesDirty.set(true);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        switch (event.getSection()) {
+            case SLIDE, PARTNER, QUICK_LINK -> homeDirty.set(true);
+            case TAG -> {
+                homeDirty.set(true);
+                allArticlesDirty.set(true);
+            }
+            default -> {
+                // Trang chủ không chứa ngành học
+            }
+        }
+    }
+
+    /**
+     * Chạy định kỳ nên nhiều thay đổi liên tiếp chỉ dẫn tới một lần xuất.
+     * Luồng @Scheduled chỉ giao việc cho prerenderExecutor rồi trả về ngay; lần xuất trước chưa xong thì bỏ qua lượt này.
+     * Đợi read model sẵn sàng để không phải đọc lại toàn bộ bài viết từ DB.
+     */
+    @Scheduled(fixedDelayString = "${app.prerender.interval-ms:5000}")
+    public void schedulePending() {
+        if (!enabled || !articleReadModel.isReady() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    exportPending();
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            running.set(false);
+            logger.warn("Không thể giao job xuất prerender: {}", e.getMessage());
+        }
+    }
+
+    void exportPending() {
+        Path root = Paths.get(prerenderDir).toAbsolutePath().normalize();
+
+        if (fullExportPending.getAndSet(false)) {
+            clear(root);
+            homeDirty.set(true);
+            allCategoriesDirty.set(true);
+            allArticlesDirty.set(true);
+            logger.info("Bắt đầu xuất toàn bộ dữ liệu public ra {}", root);
+        }
+
+        if (homeDirty.getAndSet(false)) {
+            for (String languageCode : LANGUAGES) {
+                export(root, "home/" + languageCode + ".json", () -> homePageService.getHomePage(languageCode));
+            }
+        }
+
+        Set<Long> changedArticles = new HashSet<>();
+        for (Iterator<Long> it = dirtyArticles.iterator(); it.hasNext(); ) {
+            changedArticles.add(it.next());
+            it.remove();
+        }
+
+        if (allCategoriesDirty.getAndSet(false)) {
+            exportAllCategories(root);
+        } else {
+            // Trang danh mục gồm cả bài của danh mục con: xuất lại danh mục cũ và mới của bài cùng các tổ tiên
+            Set<Integer> categoryIds = new HashSet<>();
+            for (Long articleId : changedArticles) {
+                articleReadModel.findEntry(articleId)
+                        .ifPresent(entry -> categoryIds.addAll(categoryTreeCache.getAncestorIds(entry.getCategoryId())));
+                Integer previous = exportedArticleCategories.get(articleId);
+                if (previous != null) {
+                    categoryIds.addAll(categoryTreeCache.getAncestorIds(previous));
+                }
+            }
+            if (!categoryIds.isEmpty()) {
+                exportCategories(root, categoryTranslationRepository.findByCategoryIdIn(categoryIds));
+            }
+        }
+
+        Set<Long> articleIds = new HashSet<>(changedArticles);
+        if (allArticlesDirty.getAndSet(false)) {
+            articleIds.addAll(articleReadModel.findLatestIds(Integer.MAX_VALUE));
+            articleIds.addAll(exportedArticleSlugs.keySet());
+        }
+        articleIds.forEach(articleId -> exportArticle(root, articleId));
+    }
+
+    private void exportAllCategories(Path root) {
+        export(root, "category-tree.json", categoryService::getAllCategoriesAsTree);
+
+        List<CategoryTranslation> translations = categoryTranslationRepository.findAll();
+        Set<Integer> existing = new HashSet<>();
+        translations.forEach(translation -> existing.add(translation.getCategory().getId()));
+        // Danh mục đã bị xóa
+        new ArrayList<>(exportedCategoryPaths.keySet()).stream()
+                .filter(categoryId -> !existing.contains(categoryId))
+                .forEach(categoryId -> exportedCategoryPaths.remove(categoryId).forEach(path -> delete(root, path)));
+        exportCategories(root, translations);
+    }
+
+    // Xuất trang đầu của các danh mục có trong translations, tại categories/{lang}/{slug}.json
+    private void exportCategories(Path root, List<CategoryTranslation> translations) {
+        Map<Integer, List<String>> written = new HashMap<>();
+        for (CategoryTranslation translation : translations) {
+            List<String> paths = written.computeIfAbsent(translation.getCategory().getId(), id -> new ArrayList<>());
+            String slug = translation.getSlug();
+            String languageCode = translation.getLanguageCode();
+            if (slug == null || !SAFE_SLUG.matcher(slug).matches() || !LANGUAGES.contains(languageCode)) {
+                continue;
+            }
+            String path = "categories/" + languageCode + "/" + slug + ".json";
+            boolean ok = export(root, path, () -> articleService.getArticlesByCategorySlugCursor(
+                    slug, languageCode, null, CATEGORY_PAGE_SIZE, false));
+            if (ok) {
+                paths.add(path);
+            }
+        }
+        // File cũ của danh mục đã đổi slug
+        written.forEach((categoryId, paths) -> {
+            List<String> previous = exportedCategoryPaths.put(categoryId, paths);
+            if (previous != null) {
+                previous.stream().filter(path -> !paths.contains(path)).forEach(path -> delete(root, path));
+            }
+        });
+    }
+
+    private void exportArticle(Path root, Long articleId) {
+        List<String> written = new ArrayList<>();
+        Optional<ArticleReadModel.ArticleEntry> found = articleReadModel.findEntry(articleId);
+        found.ifPresentOrElse(entry -> exportedArticleCategories.put(articleId, entry.getCategoryId()),
+                () -> exportedArticleCategories.remove(articleId));
+        found.ifPresent(entry -> entry.getSlugs().forEach((languageCode, slug) -> {
+            if (!SAFE_SLUG.matcher(slug).matches()) {
+                return;
+            }
+            List<ArticleResponse> responses = articleService.getArticleResponses(List.of(articleId), languageCode);
+            if (!responses.isEmpty() && export(root, "articles/" + slug + ".json", () -> responses.get(0))) {
+                written.add(slug);
+            }
+        }));
+
+        List<String> previous = written.isEmpty()
+                ? exportedArticleSlugs.remove(articleId)
+                : exportedArticleSlugs.put(articleId, written);
+        if (previous != null) {
+            previous.stream()
+                    .filter(slug -> !written.contains(slug))
+                    .forEach(slug -> delete(root, "articles/" + slug + ".json"));
+        }
+    }
+
+    /**
+     * Ghi bản thô và bản gzip qua file tạm rồi đổi tên, để không bao giờ phục vụ một file ghi dở.
+     * Lỗi của một file chỉ được ghi log, các file khác vẫn được xuất.
+     */
+    private boolean export(Path root, String relativePath, Supplier<?> body) {
+        Path file = root.resolve(relativePath);
+        try {
+            byte[] raw = objectMapper.writeValueAsBytes(body.get());
+            Files.createDirectories(file.getParent());
+            writeAtomically(file, raw, false);
+            writeAtomically(file.resolveSibling(file.getFileName() + ".gz"), raw, true);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Không thể xuất {}: {}", relativePath, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] raw, boolean gzip) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = gzip
+                ? new GZIPOutputStream(Files.newOutputStream(temp)) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}
+                : Files.newOutputStream(temp)) {
+            out.write(raw);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void delete(Path root, String relativePath) {
+        Path file = root.resolve(relativePath);
+        try {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".gz"));
+        } catch (IOException e) {
+            logger.warn("Không thể xóa {}: {}", relativePath, e.getMessage());
+        }
+    }
+
+    // Bỏ các file của lần chạy trước, vì không biết bài nào đã bị gỡ trong lúc ứng dụng tắt
+    private void clear(Path root) {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Không thể xóa {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Không thể dọn thư mục {}: {}", root, e.getMessage());
+        }
+        exportedArticleSlugs.clear();
+        exportedArticleCategories.clear();
+        exportedCategoryPaths.clear();
+    }
+}
@@ -0,0 +1,180 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.utils.HashedTimingWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Đăng / gỡ bài theo lịch.
+ * Các mốc đang chờ được nạp một lần lúc khởi động vào hashed timing wheel (tick 1 giây),
+ * sau đó được cập nhật theo từng thay đổi bài viết; không quét bảng articles định kỳ.
+ * Khi đến hạn, trạng thái được đổi bằng một câu UPDATE ... WHERE id IN cho cả lô
+ * rồi phát ArticleChangedEvent để read model, chỉ mục và cache public cập nhật.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicationScheduler {
+
+    public enum Action {
+        PUBLISH,
+        UNPUBLISH
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicationScheduler.class);
+    private static final long TICK_MILLIS = 1000;
+    private static final int WHEEL_SIZE = 3600;
+    private static final int UPDATE_BATCH_SIZE = 500;
+
+    // Kiểu cột articles.status hiện tại trên CSDL (Hibernate 6 trên MySQL tạo cột enum(...) cho EnumType.STRING)
+    private static final String STATUS_COLUMN_TYPE_SQL = "SELECT column_type FROM information_schema.columns " +
+            "WHERE table_schema = DATABASE() AND table_name = 'articles' AND column_name = 'status'";
+
+    private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, HashedTimingWheel.Timeout<Transition>> publishTimeouts = new ConcurrentHashMap<>();
+    private final Map<Long, HashedTimingWheel.Timeout<Transition>> unpublishTimeouts = new ConcurrentHashMap<>();
+    private volatile HashedTimingWheel<Transition> wheel;
+
+    /**
+     * CSDL tạo trước khi có trạng thái SCHEDULED có cột status là enum('DRAFT','PUBLISHED','ARCHIVED');
+     * ddl-auto=update không sửa cột đã có nên mọi lần lưu bài hẹn giờ sẽ lỗi "Data truncated".
+     * Mở rộng enum theo ArticleStatus trước khi nhận request.
+     */
+    @PostConstruct
+    public void migrateStatusColumn() {
+        try {
+            List<String> types = jdbcTemplate.queryForList(STATUS_COLUMN_TYPE_SQL, String.class);
+            if (types.isEmpty() || !types.get(0).startsWith("enum(")) {
+                return;
+            }
+            String columnType = types.get(0);
+            boolean missing = Arrays.stream(ArticleStatus.values())
+                    .anyMatch(status -> !columnType.contains("'" + status.name() + "'"));
+            if (missing) {
+                String values = Arrays.stream(ArticleStatus.values())
+                        .map(status -> "'" + status.name() + "'")
+                        .collect(Collectors.joining(","));
+                jdbcTemplate.execute("ALTER TABLE articles MODIFY status enum(" + values + ") NOT NULL");
+                logger.info("Đã mở rộng cột articles.status từ {} thành enum({}).", columnType, values);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Không thể mở rộng cột articles.status, lưu bài hẹn giờ sẽ lỗi. Hãy chạy: " +
+                    "ALTER TABLE articles MODIFY status enum('DRAFT','SCHEDULED','PUBLISHED','ARCHIVED') NOT NULL;", e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        wheel = new HashedTimingWheel<>("publication-scheduler", TICK_MILLIS, WHEEL_SIZE, this::fire);
+        List<Object[]> publications = articleRepository.findScheduleByStatus(ArticleStatus.SCHEDULED);
+        List<Object[]> unpublications = articleRepository.findUnpublishScheduleByStatus(ArticleStatus.PUBLISHED);
+        publications.forEach(row -> schedule(new Transition((Long) row[0], Action.PUBLISH), (LocalDateTime) row[1]));
+        unpublications.forEach(row -> schedule(new Transition((Long) row[0], Action.UNPUBLISH), (LocalDateTime) row[1]));
+        logger.info("Đã nạp {} lịch đăng bài và {} lịch gỡ bài.", publications.size(), unpublications.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    // Đặt lại lịch của bài theo trạng thái mới nhất sau mỗi lần tạo/sửa/xóa
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (wheel == null) {
+            return;
+        }
+        cancel(publishTimeouts, event.getArticleId());
+        cancel(unpublishTimeouts, event.getArticleId());
+        Optional<Article> article = event.isDeleted() ? Optional.empty() : articleRepository.findById(event.getArticleId());
+        article.ifPresent(a -> {
+            if (a.getStatus() == ArticleStatus.SCHEDULED && a.getPublishedAt() != null) {
+                schedule(new Transition(a.getId(), Action.PUBLISH), a.getPublishedAt());
+            }
+            if ((a.getStatus() == ArticleStatus.SCHEDULED || a.getStatus() == ArticleStatus.PUBLISHED)
+                    && a.getUnpublishAt() != null) {
+                schedule(new Transition(a.getId(), Action.UNPUBLISH), a.getUnpublishAt());
+            }
+        });
+    }
+
+    private void schedule(Transition transition, LocalDateTime deadline) {
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        timeoutsFor(transition.getAction()).put(transition.getArticleId(), wheel.schedule(transition, deadlineMillis));
+    }
+
+    private void cancel(Map<Long, HashedTimingWheel.Timeout<Transition>> timeouts, Long articleId) {
+        HashedTimingWheel.Timeout<Transition> timeout = timeouts.remove(articleId);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private Map<Long, HashedTimingWheel.Timeout<Transition>> timeoutsFor(Action action) {
+        return action == Action.PUBLISH ? publishTimeouts : unpublishTimeouts;
+    }
+
+    // Chạy trên luồng của timing wheel
+    private void fire(List<Transition> transitions) {
+        Map<Action, List<Long>> idsByAction = transitions.stream()
+                .peek(t -> timeoutsFor(t.getAction()).remove(t.getArticleId()))
+                .collect(Collectors.groupingBy(Transition::getAction,
+                        Collectors.mapping(Transition::getArticleId, Collectors.toList())));
+
+        LocalDateTime now = LocalDateTime.now();
+        idsByAction.forEach((action, ids) -> {
+            for (int from = 0; from < ids.size(); from += UPDATE_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + UPDATE_BATCH_SIZE, ids.size()));
+                transactionTemplate.executeWithoutResult(status -> {
+                    int updated = action == Action.PUBLISH
+                            ? articleRepository.publishScheduled(batch, ArticleStatus.SCHEDULED, ArticleStatus.PUBLISHED, now)
+                            : articleRepository.unpublishExpired(batch, ArticleStatus.PUBLISHED, ArticleStatus.ARCHIVED, now);
+                    batch.forEach(id -> eventPublisher.publishEvent(new ArticleChangedEvent(id, false)));
+                    logger.info("{} theo lịch: {}/{} bài.", action == Action.PUBLISH ? "Đăng" : "Gỡ", updated, batch.size());
+                });
+            }
+        });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Transition {
+        private final Long articleId;
+        private final Action action;
+    }
+}
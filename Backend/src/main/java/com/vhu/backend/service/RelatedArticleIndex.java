@@ -0,0 +1,205 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.Tag;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.TagChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.repository.projection.ArticleTagId;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Chỉ mục thẻ -> bitmap bài viết (đã xuất bản) để tìm bài liên quan theo độ trùng thẻ.
+ * Điểm là Jaccard có trọng số: tổng trọng số thẻ chung / tổng trọng số hợp các thẻ,
+ * trọng số thẻ = log(1 + N / số bài có thẻ) nên thẻ hiếm được tính nặng hơn thẻ phổ biến.
+ */
+@Service
+@RequiredArgsConstructor
+public class RelatedArticleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelatedArticleIndex.class);
+
+    private final ArticleRepository articleRepository;
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final List<Long> idByOrdinal = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final Map<Long, Set<Integer>> tagsByArticle = new HashMap<>();
+    private final Map<Integer, BitSet> articlesByTag = new HashMap<>();
+    private final Map<Integer, Integer> articleCountByTag = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        Map<Long, Set<Integer>> rows = new HashMap<>();
+        for (ArticleTagId row : articleRepository.findArticleTagIdsByStatus(ArticleStatus.PUBLISHED)) {
+            rows.computeIfAbsent(row.getArticleId(), id -> new HashSet<>()).add(row.getTagId());
+        }
+        lock.writeLock().lock();
+        try {
+            rows.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        logger.info("Đã lập chỉ mục thẻ cho {} bài viết, {} thẻ.", rows.size(), articlesByTag.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Optional<Article> article = event.isDeleted() ? Optional.empty() : articleRepository.findById(event.getArticleId());
+        lock.writeLock().lock();
+        try {
+            removeArticle(event.getArticleId());
+            article.filter(a -> a.getStatus() == ArticleStatus.PUBLISHED)
+                    .ifPresent(a -> put(a.getId(), a.getTags().stream().map(Tag::getId).collect(Collectors.toSet())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Thẻ bị xóa không còn được tính điểm; bài chỉ có thẻ đó thì rời khỏi chỉ mục
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTagChanged(TagChangedEvent event) {
+        if (!event.isDeleted()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            BitSet posting = articlesByTag.get(event.getTagId());
+            if (posting == null) {
+                return;
+            }
+            List<Long> articleIds = posting.stream().mapToObj(idByOrdinal::get).collect(Collectors.toList());
+            for (Long articleId : articleIds) {
+                Set<Integer> remaining = new HashSet<>(tagsByArticle.get(articleId));
+                remaining.remove(event.getTagId());
+                removeArticle(articleId);
+                put(articleId, remaining);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return tối đa limit id bài có chung thẻ, điểm cao trước; rỗng nếu bài không có thẻ hoặc không có trong chỉ mục.
+     */
+    public List<Long> findRelatedIds(Long articleId, int limit) {
+        lock.readLock().lock();
+        try {
+            Set<Integer> tags = tagsByArticle.get(articleId);
+            if (tags == null || tags.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            int self = ordinalById.get(articleId);
+            double articleCount = tagsByArticle.size();
+
+            // Cộng dồn trọng số các thẻ chung cho từng bài ứng viên
+            Map<Integer, Double> shared = new HashMap<>();
+            double ownWeight = 0;
+            for (Integer tagId : tags) {
+                BitSet posting = articlesByTag.get(tagId);
+                double weight = tagWeight(tagId, articleCount);
+                ownWeight += weight;
+                for (int ordinal = posting.nextSetBit(0); ordinal >= 0; ordinal = posting.nextSetBit(ordinal + 1)) {
+                    if (ordinal != self) {
+                        shared.merge(ordinal, weight, Double::sum);
+                    }
+                }
+            }
+
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1,
+                    Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            for (Map.Entry<Integer, Double> entry : shared.entrySet()) {
+                Long candidateId = idByOrdinal.get(entry.getKey());
+                double candidateWeight = totalWeight(tagsByArticle.get(candidateId), articleCount);
+                double score = entry.getValue() / (ownWeight + candidateWeight - entry.getValue());
+                top.offer(Map.entry(candidateId, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Long> ranked = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                ranked.add(top.poll().getKey());
+            }
+            Collections.reverse(ranked);
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double totalWeight(Set<Integer> tags, double articleCount) {
+        double total = 0;
+        for (Integer tagId : tags) {
+            total += tagWeight(tagId, articleCount);
+        }
+        return total;
+    }
+
+    private double tagWeight(Integer tagId, double articleCount) {
+        return Math.log(1 + articleCount / articleCountByTag.get(tagId));
+    }
+
+    // Các hàm dưới đây phải được gọi khi đang giữ write lock
+    private void put(Long articleId, Set<Integer> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        int ordinal;
+        if (freeOrdinals.isEmpty()) {
+            ordinal = idByOrdinal.size();
+            idByOrdinal.add(articleId);
+        } else {
+            ordinal = freeOrdinals.pop();
+            idByOrdinal.set(ordinal, articleId);
+        }
+        ordinalById.put(articleId, ordinal);
+        tagsByArticle.put(articleId, Set.copyOf(tags));
+        for (Integer tagId : tags) {
+            articlesByTag.computeIfAbsent(tagId, id -> new BitSet()).set(ordinal);
+            articleCountByTag.merge(tagId, 1, Integer::sum);
+        }
+    }
+
+    private void removeArticle(Long articleId) {
+        Integer ordinal = ordinalById.remove(articleId);
+        if (ordinal == null) {
+            return;
+        }
+        for (Integer tagId : tagsByArticle.remove(articleId)) {
+            BitSet posting = articlesByTag.get(tagId);
+            posting.clear(ordinal);
+            if (articleCountByTag.merge(tagId, -1, Integer::sum) == 0) {
+                articlesByTag.remove(tagId);
+                articleCountByTag.remove(tagId);
+            }
+        }
+        idByOrdinal.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+    }
+}
@@ -53,7 +53,8 @@ public class S3Service {
                     .contentType(file.getContentType())
                     .build();
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+            // Đọc thẳng từ luồng của file upload, không nạp cả file vào heap
+            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
             return key;
         } catch (IOException e) {
             throw new RuntimeException("Lỗi khi tải file lên S3", e);
@@ -0,0 +1,356 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.exception.ResourceNotFoundException;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.repository.ArticleTranslationRepository;
+import com.vhu.backend.repository.CategoryRepository;
+import com.vhu.backend.repository.CategoryTranslationRepository;
+import com.vhu.backend.repository.TagRepository;
+import com.vhu.backend.repository.TagTranslationRepository;
+import com.vhu.backend.repository.projection.FeedItem;
+import com.vhu.backend.repository.projection.SitemapUrl;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Sinh sitemap.xml và RSS feed theo ngôn ngữ, lưu thành file trên đĩa.
+ * Mỗi shard sitemap chứa một khoảng id cố định (tối đa 50.000 URL) và được đọc dần bằng truy vấn projection
+ * nên bộ nhớ không phụ thuộc số bài viết. Khi nội dung thay đổi chỉ file của shard bị ảnh hưởng bị đánh dấu cũ,
+ * lần truy cập sau dựng lại vào file tạm rồi đổi tên đè lên; file đã trả cho controller không bao giờ bị xóa.
+ * Mỗi file có khóa riêng nên các shard khác nhau được dựng song song.
+ */
+@Service
+@RequiredArgsConstructor
+public class SitemapService {
+
+    public static final int MAX_URLS_PER_FILE = 50_000;
+
+    // Đường dẫn trang client theo ngôn ngữ (khớp với routesConfig.js của client)
+    private static final List<String> LANGUAGES = List.of("vi", "en");
+    private static final int IDS_PER_SHARD = MAX_URLS_PER_FILE / LANGUAGES.size();
+    private static final String INDEX_FILE = "sitemap.xml";
+    private static final String SITEMAP_NS = "http://www.sitemaps.org/schemas/sitemap/0.9";
+    private static final DateTimeFormatter RSS_DATE = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+    private static final Logger logger = LoggerFactory.getLogger(SitemapService.class);
+
+    private final ArticleRepository articleRepository;
+    private final ArticleTranslationRepository articleTranslationRepository;
+    private final CategoryRepository categoryRepository;
+    private final CategoryTranslationRepository categoryTranslationRepository;
+    private final TagRepository tagRepository;
+    private final TagTranslationRepository tagTranslationRepository;
+
+    @Value("${app.seo.cache-dir:seo-cache}")
+    private String cacheDir;
+
+    @Value("${app.seo.site-url:http://localhost:5173}")
+    private String siteUrl;
+
+    @Value("${app.seo.site-name:Văn Hiến University}")
+    private String siteName;
+
+    @Value("${app.seo.feed-size:50}")
+    private int feedSize;
+
+    private Path cacheRoot;
+
+    // Số lần mỗi file bị đánh dấu cũ, và giá trị đó tại lần dựng gần nhất: file còn dùng được khi hai số bằng nhau.
+    // Sự kiện đến trong lúc đang dựng làm tăng số thứ nhất nên bản vừa dựng bị coi là cũ ngay.
+    private final Map<String, Long> invalidations = new ConcurrentHashMap<>();
+    private final Map<String, Long> built = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public enum Section {
+        ARTICLES(Map.of("vi", "bai-viet", "en", "article")),
+        CATEGORIES(Map.of("vi", "danh-muc", "en", "category")),
+        TAGS(Map.of("vi", "the", "en", "tag"));
+
+        private final Map<String, String> paths;
+
+        Section(Map<String, String> paths) {
+            this.paths = paths;
+        }
+
+        public static Section from(String value) {
+            for (Section section : values()) {
+                if (section.name().equalsIgnoreCase(value)) {
+                    return section;
+                }
+            }
+            throw new ResourceNotFoundException("Sitemap", "section", value);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        cacheRoot = Paths.get(cacheDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(cacheRoot);
+            // Dữ liệu có thể đã đổi trong lúc ứng dụng tắt, bỏ toàn bộ file cũ (chưa có file nào được trả ra)
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheRoot, "*.{xml,tmp}")) {
+                for (Path file : files) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể khởi tạo thư mục cache sitemap", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Path getSitemapIndex() {
+        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().path("/sitemaps/").toUriString();
+        return serve(INDEX_FILE, writer -> {
+            writer.writeStartElement("sitemapindex");
+            writer.writeDefaultNamespace(SITEMAP_NS);
+            for (Section section : Section.values()) {
+                int shards = shardCount(section);
+                for (int shard = 0; shard < shards; shard++) {
+                    writer.writeStartElement("sitemap");
+                    writeElement(writer, "loc", baseUrl + section.name().toLowerCase() + "/" + shard + ".xml");
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Path getSitemapShard(Section section, int shard) {
+        if (shard < 0 || shard >= shardCount(section)) {
+            throw new ResourceNotFoundException("Sitemap", "shard", section.name().toLowerCase() + "/" + shard);
+        }
+        long fromId = (long) shard * IDS_PER_SHARD;
+        long toId = fromId + IDS_PER_SHARD - 1;
+        return serve(shardFileName(section, shard), writer -> {
+            writer.writeStartElement("urlset");
+            writer.writeDefaultNamespace(SITEMAP_NS);
+            try (Stream<SitemapUrl> urls = streamUrls(section, fromId, toId)) {
+                for (SitemapUrl url : (Iterable<SitemapUrl>) urls::iterator) {
+                    String path = section.paths.get(url.getLanguageCode());
+                    if (path == null || url.getSlug() == null) {
+                        continue;
+                    }
+                    writer.writeStartElement("url");
+                    writeElement(writer, "loc", siteUrl + "/" + path + "/" + url.getSlug());
+                    if (url.getLastModified() != null) {
+                        writeElement(writer, "lastmod", url.getLastModified().toLocalDate().toString());
+                    }
+                    writer.writeEndElement();
+                }
+            }
+            writer.writeEndElement();
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Path getFeed(String languageCode) {
+        if (!LANGUAGES.contains(languageCode)) {
+            throw new ResourceNotFoundException("Feed", "languageCode", languageCode);
+        }
+        String articlePath = siteUrl + "/" + Section.ARTICLES.paths.get(languageCode) + "/";
+        return serve(feedFileName(languageCode), writer -> {
+            List<FeedItem> items = articleTranslationRepository.findFeedItems(languageCode, ArticleStatus.PUBLISHED,
+                    PageRequest.of(0, feedSize));
+            writer.writeStartElement("rss");
+            writer.writeAttribute("version", "2.0");
+            writer.writeStartElement("channel");
+            writeElement(writer, "title", siteName);
+            writeElement(writer, "link", siteUrl);
+            writeElement(writer, "description", siteName);
+            writeElement(writer, "language", languageCode);
+            for (FeedItem item : items) {
+                String link = articlePath + item.getSlug();
+                writer.writeStartElement("item");
+                writeElement(writer, "title", item.getTitle());
+                writeElement(writer, "link", link);
+                writer.writeStartElement("guid");
+                writer.writeAttribute("isPermaLink", "true");
+                writer.writeCharacters(link);
+                writer.writeEndElement();
+                if (item.getPublishedAt() != null) {
+                    writeElement(writer, "pubDate", rssDate(item.getPublishedAt()));
+                }
+                if (item.getExcerpt() != null) {
+                    writeElement(writer, "description", item.getExcerpt());
+                }
+                if (item.getCategoryName() != null) {
+                    writeElement(writer, "category", item.getCategoryName());
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndElement();
+        });
+    }
+
+    // --- Vô hiệu hóa theo shard ---
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate(shardFileName(Section.ARTICLES, shardOf(event.getArticleId())));
+        // Số shard có thể thay đổi khi thêm / xóa bài, dựng lại index rất rẻ
+        invalidate(INDEX_FILE);
+        LANGUAGES.forEach(languageCode -> invalidate(feedFileName(languageCode)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate(shardFileName(Section.CATEGORIES, shardOf(event.getCategoryId())));
+        invalidate(INDEX_FILE);
+        // Tên danh mục có trong RSS
+        LANGUAGES.forEach(languageCode -> invalidate(feedFileName(languageCode)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getSection() != ContentChangedEvent.Section.TAG) {
+            return;
+        }
+        // Sự kiện thẻ không kèm id, đánh dấu cũ mọi shard của thẻ đã từng dựng
+        String prefix = shardFilePrefix(Section.TAGS);
+        built.keySet().stream().filter(fileName -> fileName.startsWith(prefix)).forEach(this::invalidate);
+        invalidate(INDEX_FILE);
+    }
+
+    /**
+     * Trả file đã dựng nếu còn dùng được, nếu không thì dựng lại khi giữ khóa riêng của file đó.
+     * Các request cùng chờ một file chỉ dựng một lần; file cũ bị thay bằng ATOMIC_MOVE chứ không bị xóa,
+     * nên đường dẫn đã trả ra luôn trỏ tới một file đầy đủ.
+     */
+    private Path serve(String fileName, XmlBody body) {
+        Path file = cacheRoot.resolve(fileName);
+        if (isFresh(fileName)) {
+            return file;
+        }
+        ReentrantLock lock = locks.computeIfAbsent(fileName, name -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (!isFresh(fileName)) {
+                long version = invalidations.getOrDefault(fileName, 0L);
+                write(file, body);
+                built.put(fileName, version);
+                logger.debug("Đã dựng lại {}", fileName);
+            }
+            return file;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFresh(String fileName) {
+        Long version = built.get(fileName);
+        return version != null && version.equals(invalidations.getOrDefault(fileName, 0L));
+    }
+
+    private void invalidate(String fileName) {
+        invalidations.merge(fileName, 1L, Long::sum);
+    }
+
+    private Stream<SitemapUrl> streamUrls(Section section, long fromId, long toId) {
+        return switch (section) {
+            case ARTICLES -> articleTranslationRepository.streamSitemapUrls(ArticleStatus.PUBLISHED, fromId, toId);
+            case CATEGORIES -> categoryTranslationRepository.streamSitemapUrls((int) fromId, (int) toId);
+            case TAGS -> tagTranslationRepository.streamSitemapUrls((int) fromId, (int) toId);
+        };
+    }
+
+    private int shardCount(Section section) {
+        Optional<? extends Number> maxId = switch (section) {
+            case ARTICLES -> articleRepository.findMaxIdByStatus(ArticleStatus.PUBLISHED);
+            case CATEGORIES -> categoryRepository.findMaxId();
+            case TAGS -> tagRepository.findMaxId();
+        };
+        return maxId.map(id -> shardOf(id.longValue()) + 1).orElse(0);
+    }
+
+    private static int shardOf(long id) {
+        return (int) (id / IDS_PER_SHARD);
+    }
+
+    private static String shardFileName(Section section, int shard) {
+        return shardFilePrefix(section) + shard + ".xml";
+    }
+
+    private static String shardFilePrefix(Section section) {
+        return "sitemap-" + section.name().toLowerCase() + "-";
+    }
+
+    private static String feedFileName(String languageCode) {
+        return "rss-" + languageCode + ".xml";
+    }
+
+    private static String rssDate(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).format(RSS_DATE);
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String value) throws XMLStreamException {
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Ghi ra file tạm rồi đổi tên, để request khác không bao giờ đọc phải file ghi dở.
+     * Chỉ gọi khi giữ khóa của file nên mỗi file chỉ có một file tạm.
+     */
+    private void write(Path file, XmlBody body) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+            XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            body.write(writer);
+            writer.writeEndDocument();
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể ghi file " + file.getFileName(), e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Không thể dựng file " + file.getFileName(), e);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Không thể ghi file " + file.getFileName(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+        void write(XMLStreamWriter writer) throws XMLStreamException;
+    }
+}
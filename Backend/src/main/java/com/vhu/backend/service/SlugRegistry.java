@@ -0,0 +1,311 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.repository.ArticleTranslationRepository;
+import com.vhu.backend.repository.CategoryTranslationRepository;
+import com.vhu.backend.repository.TagTranslationRepository;
+import com.vhu.backend.utils.BloomFilter;
+import com.vhu.backend.utils.LruCache;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Phân giải slug của bài viết, danh mục và thẻ.
+ * Bloom filter chứa toàn bộ slug đã biết để loại ngay các slug không tồn tại (bot dò đường dẫn),
+ * kèm cache LRU cho kết quả tìm thấy và cache âm cho slug lọt qua bloom nhưng không có trong DB.
+ * Bloom chỉ được tin là "chắc chắn không có" khi đã dựng xong và không có transaction nào đang thêm slug
+ * cùng loại; trong các khoảng đó slug không có trong bloom vẫn được tra DB.
+ */
+@Service
+@RequiredArgsConstructor
+public class SlugRegistry {
+
+    public enum SlugType {
+        ARTICLE,
+        CATEGORY,
+        TAG
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SlugRegistry.class);
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Dành chỗ cho slug mới tạo sau lần dựng bloom gần nhất
+    private static final int CAPACITY_FACTOR = 2;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final ArticleTranslationRepository articleTranslationRepository;
+    private final CategoryTranslationRepository categoryTranslationRepository;
+    private final TagTranslationRepository tagTranslationRepository;
+
+    @Value("${app.slug-cache.max-entries:5000}")
+    private int maxEntries;
+
+    private final Map<SlugType, SlugIndex> indexes = new EnumMap<>(SlugType.class);
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        for (SlugType type : SlugType.values()) {
+            indexes.put(type, new SlugIndex(maxEntries));
+        }
+        ready = true;
+        for (SlugType type : SlugType.values()) {
+            rebuild(type);
+        }
+    }
+
+    // Trước khi commit: slug mới sắp xuất hiện trong DB nhưng chưa có trong bloom
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeArticleCommit(ArticleChangedEvent event) {
+        beginChange(SlugType.ARTICLE, event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCategoryCommit(CategoryChangedEvent event) {
+        beginChange(SlugType.CATEGORY, event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeContentCommit(ContentChangedEvent event) {
+        if (event.getSection() == ContentChangedEvent.Section.TAG) {
+            beginChange(SlugType.TAG, event);
+        }
+    }
+
+    // AFTER_COMPLETION (cả khi rollback) để luôn kết thúc thay đổi đã bắt đầu ở BEFORE_COMMIT
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        SlugIndex index = indexes.get(SlugType.ARTICLE);
+        try {
+            // Slug của bài bị xóa vẫn nằm trong bloom, lần tra cứu sau sẽ vào cache âm
+            if (!event.isDeleted()) {
+                articleTranslationRepository.findSlugsByArticleId(event.getArticleId()).forEach(index::add);
+            }
+            index.clearCaches();
+        } finally {
+            index.endChange(event);
+        }
+        if (index.isOverCapacity()) {
+            rebuild(SlugType.ARTICLE);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (ready) {
+            rebuildAfterChange(SlugType.CATEGORY, event);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (ready && event.getSection() == ContentChangedEvent.Section.TAG) {
+            rebuildAfterChange(SlugType.TAG, event);
+        }
+    }
+
+    /**
+     * Tra slug qua bloom -> cache -> loader (truy vấn DB), ghi nhớ cả kết quả không tìm thấy.
+     */
+    public Optional<SlugTarget> resolve(SlugType type, String slug, Function<String, Optional<SlugTarget>> loader) {
+        SlugIndex index = ready ? indexes.get(type) : null;
+        if (index == null) {
+            return loader.apply(slug);
+        }
+        long generation = index.generation();
+        if (!index.mightContain(slug)) {
+            if (index.isDefinitive()) {
+                return Optional.empty();
+            }
+            return loader.apply(slug);
+        }
+        SlugTarget cached = index.found.get(slug);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        // Slug có thể vừa được tạo bởi transaction đang chờ áp vào bloom, khi đó cache âm không còn đáng tin
+        if (index.missing.get(slug) != null && index.isDefinitive()) {
+            return Optional.empty();
+        }
+
+        Optional<SlugTarget> loaded = loader.apply(slug);
+        index.remember(slug, loaded.orElse(null), generation);
+        return loaded;
+    }
+
+    void rebuild(SlugType type) {
+        SlugIndex index = indexes.get(type);
+        int count = index.rebuild(() -> switch (type) {
+            case ARTICLE -> articleTranslationRepository.findAllSlugs();
+            case CATEGORY -> categoryTranslationRepository.findAllSlugs();
+            case TAG -> tagTranslationRepository.findAllSlugs();
+        });
+        logger.info("Đã nạp {} slug {} vào bloom filter.", count, type.name().toLowerCase());
+    }
+
+    private void beginChange(SlugType type, Object event) {
+        if (ready) {
+            indexes.get(type).beginChange(event);
+        }
+    }
+
+    private void rebuildAfterChange(SlugType type, Object event) {
+        try {
+            rebuild(type);
+        } finally {
+            indexes.get(type).endChange(event);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SlugTarget {
+        private final Long id;
+        private final String languageCode;
+    }
+
+    private static class SlugIndex {
+        private final LruCache<String, SlugTarget> found;
+        private final LruCache<String, Boolean> missing;
+        // Các thay đổi đã qua BEFORE_COMMIT mà chưa được áp vào bloom (so sánh theo identity của event)
+        private final Set<Object> pendingChanges = ConcurrentHashMap.newKeySet();
+        // Mỗi lần dựng lại chạy riêng, không giữ khóa của index trong lúc đọc DB
+        private final ReentrantLock rebuildLock = new ReentrantLock();
+        // Tăng mỗi khi nội dung bloom / cache có thể đã cũ, để kết quả tra DB đọc trước đó không bị ghi vào cache
+        private final AtomicLong generation = new AtomicLong();
+        private volatile BloomFilter bloom = new BloomFilter(MIN_CAPACITY, FALSE_POSITIVE_RATE);
+        private volatile boolean complete = false;
+        // Slug được thêm trong lúc đang dựng bloom mới, sẽ được chép sang bloom mới trước khi hoán đổi
+        private List<String> addedDuringRebuild;
+        private int capacity = MIN_CAPACITY;
+        private int size = 0;
+
+        SlugIndex(int maxEntries) {
+            this.found = new LruCache<>(maxEntries);
+            this.missing = new LruCache<>(maxEntries);
+        }
+
+        boolean mightContain(String slug) {
+            return bloom.mightContain(slug);
+        }
+
+        boolean isDefinitive() {
+            return complete && pendingChanges.isEmpty();
+        }
+
+        long generation() {
+            return generation.get();
+        }
+
+        synchronized void add(String slug) {
+            bloom.put(slug);
+            size++;
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(slug);
+            }
+            missing.remove(slug);
+        }
+
+        void beginChange(Object event) {
+            pendingChanges.add(event);
+            generation.incrementAndGet();
+        }
+
+        void endChange(Object event) {
+            pendingChanges.remove(event);
+        }
+
+        // Chỉ ghi nhớ khi bloom / cache không đổi kể từ lúc bắt đầu tra DB và không có thay đổi nào đang chờ
+        synchronized void remember(String slug, SlugTarget target, long expectedGeneration) {
+            if (generation.get() != expectedGeneration || !pendingChanges.isEmpty()) {
+                return;
+            }
+            if (target != null) {
+                found.put(slug, target);
+            } else {
+                missing.put(slug, Boolean.TRUE);
+            }
+        }
+
+        // Vượt sức chứa thì tỉ lệ dương tính giả tăng dần, khi đó dựng lại bloom với kích thước lớn hơn
+        synchronized boolean isOverCapacity() {
+            return size > capacity;
+        }
+
+        /**
+         * Dựng bloom mới từ danh sách slug đọc từ DB trong khi bloom cũ vẫn phục vụ, rồi hoán đổi trong một bước.
+         * Slug được add() trong lúc đọc DB được chép sang bloom mới nên không bị mất.
+         */
+        int rebuild(Supplier<List<String>> loader) {
+            rebuildLock.lock();
+            try {
+                synchronized (this) {
+                    addedDuringRebuild = new ArrayList<>();
+                }
+                List<String> slugs;
+                try {
+                    slugs = loader.get();
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        addedDuringRebuild = null;
+                    }
+                    throw e;
+                }
+                int newCapacity = Math.max(MIN_CAPACITY, slugs.size() * CAPACITY_FACTOR);
+                BloomFilter rebuilt = new BloomFilter(newCapacity, FALSE_POSITIVE_RATE);
+                slugs.forEach(rebuilt::put);
+
+                synchronized (this) {
+                    addedDuringRebuild.forEach(rebuilt::put);
+                    size = slugs.size() + addedDuringRebuild.size();
+                    addedDuringRebuild = null;
+                    capacity = newCapacity;
+                    bloom = rebuilt;
+                    generation.incrementAndGet();
+                    clearCaches();
+                    complete = true;
+                }
+                return slugs.size();
+            } finally {
+                rebuildLock.unlock();
+            }
+        }
+
+        synchronized void clearCaches() {
+            generation.incrementAndGet();
+            found.clear();
+            missing.clear();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.vhu.backend.service;
 
 import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.dto.tag.request.TagCreateRequest;
 import com.vhu.backend.dto.tag.request.TagUpdateRequest;
 import com.vhu.backend.dto.tag.response.TagResponse;
@@ -17,5 +18,7 @@ public interface TagService {
     List<TagResponse> findPopularTags(int limit);
     TagResponse getPublicTagBySlug(String slug);
     List<ArticleResponse> getPublicArticlesByTagSlug(String slug, String languageCode);
+    CursorPageResponse<ArticleResponse> getPublicArticlesByTagSlugCursor(String slug, String languageCode,
+                                                                         String cursor, int size, boolean withTotal);
     List<TagResponse> getPublicPopularTags(int limit);
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.vhu.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Bảng xếp hạng bài viết "đang hot" theo lượt xem có suy giảm theo thời gian (half-life).
+ * Bộ nhớ cố định: count-min sketch ước lượng điểm của mọi bài, chỉ MAX_CANDIDATES bài điểm cao nhất được giữ lại.
+ * Dùng forward decay: lượt xem mới được cộng trọng số e^(λ(t - mốc)) nên không phải giảm dần từng ô theo thời gian,
+ * chỉ chuẩn hóa lại khi trọng số quá lớn.
+ * Mỗi lượt xem chỉ tăng một LongAdder riêng của bài (không khóa); rotate() định kỳ gom các bộ đếm này vào sketch,
+ * cắt tập ứng viên và tính lại bảng xếp hạng một lần cho cả lô.
+ */
+@Service
+@RequiredArgsConstructor
+public class TrendingArticles {
+
+    public static final int MAX_CANDIDATES = 100;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 4096;
+    private static final double RESCALE_THRESHOLD = 1e100;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final ArticleReadModel articleReadModel;
+
+    @Value("${app.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    // Lượt xem chưa gom vào sketch. Khóa được giữ lại sau khi gom (sumThenReset) để không mất lượt xem đang ghi dở;
+    // ArticleViewCounter chỉ ghi nhận bài đang xuất bản nên số khóa không vượt quá số bài.
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // Chỉ đọc / ghi khi giữ khóa của đối tượng (rotate, seed)
+    private final double[][] sketch = new double[SKETCH_DEPTH][SKETCH_WIDTH];
+    private final Map<Long, Double> candidates = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    private volatile List<Long> ranking = List.of();
+
+    public void record(Long articleId) {
+        LongAdder adder = pending.get(articleId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(articleId, id -> new LongAdder());
+        }
+        adder.increment();
+    }
+
+    /**
+     * Id các bài đang hot, điểm cao trước; chỉ đọc bộ nhớ, không truy vấn DB.
+     */
+    public List<Long> findTrendingIds(int limit) {
+        return ranking.stream()
+                .filter(id -> articleReadModel.findEntry(id).isPresent())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gom các lượt xem đang chờ vào sketch. Mọi lượt xem trong một chu kỳ dùng chung trọng số của thời điểm gom,
+     * sai lệch không đáng kể so với half-life tính bằng giờ.
+     */
+    @Scheduled(fixedDelayString = "${app.trending.rotate-interval-ms:5000}")
+    public synchronized void rotate() {
+        Map<Long, Long> views = new HashMap<>();
+        pending.forEach((articleId, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                views.put(articleId, count);
+            }
+        });
+        if (!views.isEmpty()) {
+            apply(views, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Nạp lại lượt xem đã lưu (ví dụ số liệu theo ngày của ArticleViewCounter khi khởi động),
+     * tính như thể chúng xảy ra tại atMillis.
+     */
+    public synchronized void seed(Map<Long, Long> views, long atMillis) {
+        if (!views.isEmpty()) {
+            apply(views, Math.min(atMillis, System.currentTimeMillis()));
+        }
+    }
+
+    private void apply(Map<Long, Long> views, long atMillis) {
+        long now = System.currentTimeMillis();
+        if (weightAt(now) > RESCALE_THRESHOLD) {
+            rescale(now);
+        }
+        double weight = weightAt(atMillis);
+
+        views.forEach((articleId, count) -> {
+            double estimate = Double.MAX_VALUE;
+            for (int row = 0; row < SKETCH_DEPTH; row++) {
+                int column = bucket(articleId, row);
+                sketch[row][column] += count * weight;
+                estimate = Math.min(estimate, sketch[row][column]);
+            }
+            candidates.put(articleId, estimate);
+        });
+
+        // Sắp xếp và cắt tập ứng viên một lần mỗi lô, thay vì tìm lại điểm nhỏ nhất sau từng lượt xem
+        List<Long> sorted = candidates.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (sorted.size() > MAX_CANDIDATES) {
+            sorted.subList(MAX_CANDIDATES, sorted.size()).forEach(candidates::remove);
+            sorted = sorted.subList(0, MAX_CANDIDATES);
+        }
+        ranking = List.copyOf(sorted);
+    }
+
+    private double weightAt(long nowMillis) {
+        double lambda = Math.log(2) / (halfLifeMinutes * 60_000.0);
+        return Math.exp(lambda * (nowMillis - landmarkMillis));
+    }
+
+    // Đưa mốc thời gian về hiện tại: chia mọi điểm cho trọng số hiện tại, thứ hạng không đổi
+    private void rescale(long nowMillis) {
+        double factor = 1 / weightAt(nowMillis);
+        for (double[] row : sketch) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] *= factor;
+            }
+        }
+        candidates.replaceAll((id, score) -> score * factor);
+        landmarkMillis = nowMillis;
+    }
+
+    private static int bucket(Long articleId, int row) {
+        long hash = (articleId + SEEDS[row]) * 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) SKETCH_WIDTH);
+    }
+}
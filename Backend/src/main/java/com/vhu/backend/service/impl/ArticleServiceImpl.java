@@ -3,17 +3,34 @@ package com.vhu.backend.service.impl;
 import com.vhu.backend.dto.article.request.ArticleCreateRequest;
 import com.vhu.backend.dto.article.request.ArticleUpdateRequest;
 import com.vhu.backend.dto.article.response.*;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.entity.*;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.*;
+import com.vhu.backend.event.ArticleChangedEvent;
 import com.vhu.backend.repository.specification.ArticleSpecification;
+import com.vhu.backend.service.ArticleReadModel;
+import com.vhu.backend.service.ArticleSearchIndex;
 import com.vhu.backend.service.ArticleService;
+import com.vhu.backend.service.ArticleTitleIndex;
+import com.vhu.backend.service.ArticleViewCounter;
+import com.vhu.backend.service.CategoryTreeCache;
 import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.MediaBlobService;
+import com.vhu.backend.service.MediaOwnershipService;
 import com.vhu.backend.service.NotificationService;
+import com.vhu.backend.service.RelatedArticleIndex;
+import com.vhu.backend.service.SlugRegistry;
+import com.vhu.backend.service.TrendingArticles;
+import com.vhu.backend.utils.FeedCursor;
+import com.vhu.backend.utils.ImageVariants;
 import com.vhu.backend.utils.SlugUtil;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,9 +40,12 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -40,6 +60,8 @@ public
 
 class ArticleServiceImpl implements ArticleService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final ArticleRepository articleRepository;
     private final ArticleTranslationRepository articleTranslationRepository;
     private final UserRepository userRepository;
@@ -50,6 +72,23 @@ class ArticleServiceImpl implements ArticleService {
     private final ModelMapper modelMapper;
     private final NotificationService notificationService;
     private final FileSystemStorageService storageService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaOwnershipService mediaOwnershipService;
+    private final ArticleReadModel articleReadModel;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleTitleIndex articleTitleIndex;
+    private final CategoryTreeCache categoryTreeCache;
+    private final SlugRegistry slugRegistry;
+    private final RelatedArticleIndex relatedArticleIndex;
+    private final ArticleViewCounter articleViewCounter;
+    private final TrendingArticles trendingArticles;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.search.max-page-size:50}")
+    private int searchMaxPageSize;
+
+    @Value("${app.search.max-results:500}")
+    private int searchMaxResults;
 
     @Override
     @Transactional
@@ -72,11 +111,8 @@ class ArticleServiceImpl implements ArticleService {
         article.setCategory(category);
         article.setTags(tags);
         article.setThumbnail(thumbnail);
-        article.setStatus(request.getStatus());
         article.setPinned(request.isPinned());
-        if (request.getStatus() == ArticleStatus.PUBLISHED) {
-            article.setPublishedAt(LocalDateTime.now());
-        }
+        applyPublicationSchedule(article, request.getStatus(), request.getPublishAt(), request.getUnpublishAt(), false);
 
         Article savedArticle = articleRepository.saveAndFlush(article);
 
@@ -87,14 +123,15 @@ class ArticleServiceImpl implements ArticleService {
             if (newThumbnailPath != null) {
                 thumbnail.setS3Key(newThumbnailPath);
                 thumbnail.setUrl(buildUrl(newThumbnailPath));
-                assignMediaOwner(savedArticle.getId(), thumbnail.getId(), "ARTICLE_THUMBNAIL");
+                mediaOwnershipService.assign(savedArticle.getId(), "ARTICLE_THUMBNAIL", List.of(thumbnail.getId()));
             }
 
             // Chuyển các ảnh trong content và cập nhật URL
             final String permanentContentFolder = "articles/" + savedArticle.getId() + "/images";
+            Set<String> movedContentImages = new HashSet<>();
             request.getTranslations().forEach(transDto -> {
                 ArticleTranslation translation = modelMapper.map(transDto, ArticleTranslation.class);
-                String finalContent = processContentImages(translation.getContent(), savedArticle.getId(), permanentContentFolder);
+                String finalContent = processContentImages(translation.getContent(), permanentContentFolder, movedContentImages);
                 translation.setContent(finalContent);
                 translation.setArticle(savedArticle);
 
@@ -105,6 +142,7 @@ class ArticleServiceImpl implements ArticleService {
                 translation.setSlug(slug);
                 savedArticle.getTranslations().add(translation);
             });
+            syncContentImages(savedArticle, movedContentImages, permanentContentFolder);
 
             System.out.println("Đã xử lý xong ảnh cho bài viết ID: " + savedArticle.getId());
 
@@ -113,6 +151,7 @@ class ArticleServiceImpl implements ArticleService {
         }
 
         Article finalArticle = articleRepository.save(savedArticle);
+        eventPublisher.publishEvent(new ArticleChangedEvent(finalArticle.getId(), false));
 
         if (author.getRoles().stream().anyMatch(role -> role.getName().equals("ROLE_EDITOR") || role.getName().equals("ROLE_MANAGER"))) {
             notificationService.createAndSendNotification(
@@ -141,7 +180,7 @@ class ArticleServiceImpl implements ArticleService {
         try {
             // Bỏ thumbnail cũ nếu nó bị thay đổi
             if (article.getThumbnail() != null && !article.getThumbnail().getId().equals(newThumbnail.getId())) {
-                unassignMediaOwner(article.getThumbnail().getId());
+                mediaOwnershipService.unassign(List.of(article.getThumbnail().getId()));
 
                 String permanentThumbnailFolder = "articles/" + article.getId();
                 String newThumbnailPath = storageService.moveFile(newThumbnail.getS3Key(), permanentThumbnailFolder);
@@ -151,38 +190,35 @@ class ArticleServiceImpl implements ArticleService {
                 }
             }
             article.setThumbnail(newThumbnail);
-            assignMediaOwner(article.getId(), newThumbnail.getId(), "ARTICLE_THUMBNAIL");
+            mediaOwnershipService.assign(article.getId(), "ARTICLE_THUMBNAIL", List.of(newThumbnail.getId()));
         } catch (IOException e) {
             throw new RuntimeException("Lỗi khi cập nhật ảnh thumbnail.", e);
         }
 
         article.setCategory(category);
         article.setTags(tags);
-        article.setStatus(request.getStatus());
         article.setPinned(request.isPinned());
-        if(request.getStatus() == ArticleStatus.PUBLISHED && article.getPublishedAt() == null) {
-            article.setPublishedAt(LocalDateTime.now());
-        }
-
-        unassignOldContentImages(article);
+        applyPublicationSchedule(article, request.getStatus(), request.getPublishAt(), request.getUnpublishAt(),
+                request.isClearUnpublishAt());
 
         final String permanentContentFolder = "articles/" + article.getId() + "/images";
+        Set<String> movedContentImages = new HashSet<>();
         Map<String, ArticleTranslation> existingTranslations = article.getTranslations().stream()
                 .collect(Collectors.toMap(ArticleTranslation::getLanguageCode, t -> t));
         request.getTranslations().forEach(transDto -> {
             ArticleTranslation translation = existingTranslations.get(transDto.getLanguageCode());
             if (translation != null) {
-                String finalContent = processContentImages(transDto.getContent(), article.getId(), permanentContentFolder);
+                String finalContent = processContentImages(transDto.getContent(), permanentContentFolder, movedContentImages);
                 translation.setTitle(transDto.getTitle());
                 translation.setContent(finalContent);
                 translation.setExcerpt(transDto.getExcerpt());
                 translation.setSlug(SlugUtil.toSlug(transDto.getTitle()));
             }
         });
-
-        unassignOldContentImages(article);
+        syncContentImages(article, movedContentImages, permanentContentFolder);
 
         Article updatedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(new ArticleChangedEvent(updatedArticle.getId(), false));
         return mapToArticleResponse(updatedArticle, "vi");
     }
 
@@ -214,14 +250,53 @@ class ArticleServiceImpl implements ArticleService {
 
         article.setPinned(!article.isPinned());
         Article updatedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(new ArticleChangedEvent(updatedArticle.getId(), false));
         return mapToArticleResponse(updatedArticle, "vi");
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ArticleResponse getArticleBySlug(String slug) {
-        ArticleTranslation translation = articleTranslationRepository.findBySlug(slug)
+        if (articleReadModel.isReady()) {
+            Optional<ArticleReadModel.SlugTarget> target = articleReadModel.findBySlug(slug);
+            if (target.isPresent()) {
+                List<ArticleResponse> found = resolveFromReadModel(
+                        List.of(target.get().getArticleId()), target.get().getLanguageCode());
+                if (!found.isEmpty()) {
+                    return found.get(0);
+                }
+            }
+        }
+        SlugRegistry.SlugTarget target = slugRegistry.resolve(SlugRegistry.SlugType.ARTICLE, slug,
+                        s -> articleTranslationRepository.findBySlug(s)
+                                .map(t -> new SlugRegistry.SlugTarget(t.getArticle().getId(), t.getLanguageCode())))
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "slug", slug));
-        return mapToArticleResponse(translation.getArticle(), translation.getLanguageCode());
+        Article article = articleRepository.findById(target.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Article", "slug", slug));
+        return mapToArticleResponse(article, target.getLanguageCode());
+    }
+
+    /**
+     * Phiên bản (id + updatedAt) của bài viết theo slug, lấy từ read model nên không chạm DB.
+     * Trả về rỗng khi read model chưa sẵn sàng hoặc bài chưa xuất bản; khi đó API trả về đầy đủ như cũ.
+     */
+    @Override
+    public Optional<String> findArticleVersionBySlug(String slug) {
+        if (!articleReadModel.isReady()) {
+            return Optional.empty();
+        }
+        return articleReadModel.findBySlug(slug)
+                .flatMap(target -> articleReadModel.findEntry(target.getArticleId()))
+                .map(entry -> entry.getId() + "-" + (entry.getUpdatedAt() == null
+                        ? 0 : entry.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant().toEpochMilli()));
+    }
+
+    /**
+     * Phiên bản của các danh sách bài đã đăng (nổi bật, mới nhất...), chỉ có khi read model đã sẵn sàng.
+     */
+    @Override
+    public Optional<Long> findPublishedListVersion() {
+        return articleReadModel.isReady() ? Optional.of(articleReadModel.getVersion()) : Optional.empty();
     }
 
     @Override
@@ -231,25 +306,41 @@ class ArticleServiceImpl implements ArticleService {
                 .orElseThrow(() -> new ResourceNotFoundException("Article", "id", articleId));
 
         if (article.getThumbnail() != null) {
-            unassignMediaOwner(article.getThumbnail().getId());
+            mediaOwnershipService.unassign(List.of(article.getThumbnail().getId()));
         }
-        unassignOldContentImages(article);
+        mediaOwnershipService.unassignAll(articleId, "ARTICLE_CONTENT");
 
         articleRepository.delete(article);
+        eventPublisher.publishEvent(new ArticleChangedEvent(articleId, true));
     }
 
     @Override
     public List<ArticleTitleResponse> getAllArticleTitles() {
-        return articleRepository.findAll(Sort.by("id").descending()).stream()
-                .map(article -> {
+        if (articleTitleIndex.isReady()) {
+            return toTitleResponses(articleTitleIndex.findAll());
+        }
+        return articleRepository.findTitles(ArticleTitleIndex.TITLE_LANGUAGE).stream()
+                .map(row -> {
                     ArticleTitleResponse res = new ArticleTitleResponse();
-                    res.setId(article.getId());
-                    String title = article.getTranslations().stream()
-                            .filter(t -> "vi".equals(t.getLanguageCode()))
-                            .findFirst()
-                            .map(ArticleTranslation::getTitle)
-                            .orElse("Bài viết không có tiêu đề");
-                    res.setTitle(title);
+                    res.setId((Long) row[0]);
+                    res.setTitle(row[1] != null ? (String) row[1] : ArticleTitleIndex.UNTITLED);
+                    return res;
+                })
+                .sorted(Comparator.comparing(ArticleTitleResponse::getId, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ArticleTitleResponse> suggestArticleTitles(String query, int limit) {
+        return toTitleResponses(articleTitleIndex.suggest(query, limit));
+    }
+
+    private List<ArticleTitleResponse> toTitleResponses(List<ArticleTitleIndex.TitleEntry> entries) {
+        return entries.stream()
+                .map(entry -> {
+                    ArticleTitleResponse res = new ArticleTitleResponse();
+                    res.setId(entry.getId());
+                    res.setTitle(entry.getTitle());
                     return res;
                 })
                 .collect(Collectors.toList());
@@ -257,26 +348,80 @@ class ArticleServiceImpl implements ArticleService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ArticleResponse> searchPublicArticles(String query, String languageCode) {
-        Specification<Article> titleSpec = ArticleSpecification.searchByTitle(query);
+    public Page<ArticleResponse> searchPublicArticles(String query, String languageCode, int page, int size) {
+        int pageSize = clampSearchPageSize(size);
+        ArticleSearchResult result = searchPublicArticleIds(query, languageCode, page, pageSize, null);
+        return new PageImpl<>(getArticleResponses(result.getArticleIds(), languageCode),
+                PageRequest.of(Math.max(page, 0), pageSize), result.getTotal());
+    }
 
-        Specification<Article> statusSpec = (root, q, criteriaBuilder) ->
-                criteriaBuilder.equal(root.get("status"), ArticleStatus.PUBLISHED);
+    /**
+     * Trả về một trang id kết quả tìm kiếm. Kích thước trang bị giới hạn bởi app.search.max-page-size
+     * và không thể duyệt quá app.search.max-results kết quả, nên bộ nhớ cho mỗi request là hằng số.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ArticleSearchResult searchPublicArticleIds(String query, String languageCode, int page, int size, String cursor) {
+        int pageSize = clampSearchPageSize(size);
+        int offset = cursor != null && !cursor.isBlank() ? decodeSearchCursor(cursor) : Math.max(page, 0) * pageSize;
+        int limit = Math.min(pageSize, searchMaxResults - offset);
+        if (limit <= 0) {
+            return new ArticleSearchResult(new ArrayList<>(), 0, null);
+        }
 
-        Specification<Article> finalSpec = Specification.where(titleSpec).and(statusSpec);
+        List<Long> ids;
+        long total;
+        if (articleSearchIndex.isReady()) {
+            ArticleSearchIndex.SearchResult result = articleSearchIndex.search(query, languageCode, offset, limit);
+            ids = result.getArticleIds();
+            total = result.getTotal();
+        } else {
+            String keyword = query == null ? "" : query.trim();
+            ids = articleRepository.searchIdsByTitle(keyword, languageCode, ArticleStatus.PUBLISHED.name(), offset, limit);
+            total = articleRepository.countByTitle(keyword, languageCode, ArticleStatus.PUBLISHED);
+        }
+
+        int nextOffset = offset + ids.size();
+        String nextCursor = nextOffset < Math.min(total, searchMaxResults) && !ids.isEmpty()
+                ? encodeSearchCursor(nextOffset)
+                : null;
+        return new ArticleSearchResult(ids, total, nextCursor);
+    }
 
-        Sort sort = Sort.by(Sort.Direction.DESC, "publishedAt");
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleResponse> getArticleResponses(List<Long> articleIds, String languageCode) {
+        return resolveFromReadModel(articleIds, languageCode);
+    }
 
-        List<Article> articles = articleRepository.findAll(finalSpec, sort);
+    private int clampSearchPageSize(int size) {
+        return Math.max(1, Math.min(size, searchMaxPageSize));
+    }
 
-        return articles.stream()
-                .map(article -> mapToArticleResponse(article, languageCode))
-                .collect(Collectors.toList());
+    // Cursor là offset đã được mã hóa Base64 để client coi như chuỗi mờ
+    private static String encodeSearchCursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeSearchCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith("o:")) {
+                throw new IllegalArgumentException("Cursor tìm kiếm không hợp lệ.");
+            }
+            return Math.max(0, Integer.parseInt(decoded.substring(2)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor tìm kiếm không hợp lệ.");
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ArticleResponse> getLatestArticles(String languageCode, int limit) {
+        if (articleReadModel.isReady()) {
+            return resolveFromReadModel(articleReadModel.findLatestIds(limit), languageCode);
+        }
         Pageable pageable = PageRequest.of(0, limit, Sort.by("publishedAt").descending());
 
         List<Article> articles = articleRepository.findByStatus(ArticleStatus.PUBLISHED, pageable);
@@ -326,9 +471,10 @@ class ArticleServiceImpl implements ArticleService {
 //        return sb.toString();
 //    }
 
-    private String processContentImages(String content, Long articleId, String permanentFolder) {
+    // Chỉ chuyển file và sửa URL; các đường dẫn temp đã chuyển được gom vào movedTempPaths cho syncContentImages
+    private String processContentImages(String content, String permanentFolder, Set<String> movedTempPaths) {
         if (content == null || content.isBlank()) return content;
-        Pattern pattern = Pattern.compile("src=\"[^\"]*?/uploads/(temp|articles/\\d+/images)/([^\"]+)\"");
+        Pattern pattern = Pattern.compile("src=\"[^\"]*?/uploads/(temp|articles/\\d+/images|blobs/[0-9a-f]{2})/([^\"]+)\"");
 
         Matcher matcher = pattern.matcher(content);
         StringBuffer sb = new StringBuffer();
@@ -337,37 +483,33 @@ class ArticleServiceImpl implements ArticleService {
             String folderType = matcher.group(1);
             String rawFileName = matcher.group(2);
 
-            String cleanFileName = rawFileName.replace("%20", "").replace(" ", "").trim();
+            // URL trong nội dung đã được mã hóa; giải mã (giữ nguyên dấu +) trước khi buildUrl mã hóa lại, tránh sinh %25
+            String decodedFileName = UriUtils.decode(rawFileName, StandardCharsets.UTF_8);
 
-            if ("temp".equals(folderType)) {
-
-                String decodedFileName = java.net.URLDecoder.decode(rawFileName, java.nio.charset.StandardCharsets.UTF_8);
+            if (FileSystemStorageService.isBlob(folderType)) {
+                // Ảnh lưu theo nội dung không di chuyển, bản ghi Media được gán ở syncContentImages
+                matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(0)));
+            } else if ("temp".equals(folderType)) {
                 String tempRelativePath = FileSystemStorageService.TEMP_FOLDER + "/" + decodedFileName;
 
                 try {
                     String newRelativePath = storageService.moveFile(tempRelativePath, permanentFolder);
 
                     if (newRelativePath != null) {
-                        mediaRepository.findByS3Key(tempRelativePath).ifPresent(media -> {
-                            media.setS3Key(newRelativePath);
-                            media.setUrl(buildUrl(newRelativePath));
-                            media.setOwnerId(articleId);
-                            media.setOwnerType("ARTICLE_CONTENT");
-                            mediaRepository.saveAndFlush(media);
-                        });
+                        movedTempPaths.add(tempRelativePath);
                         String realUrl = buildUrl(newRelativePath);
                         matcher.appendReplacement(sb, "src=\"" + Matcher.quoteReplacement(realUrl) + "\"");
                     } else {
-                        String forcedUrl = buildUrl(permanentFolder + "/" + cleanFileName);
+                        String forcedUrl = buildUrl(permanentFolder + "/" + decodedFileName);
                         matcher.appendReplacement(sb, "src=\"" + Matcher.quoteReplacement(forcedUrl) + "\"");
                     }
                 } catch (Exception e) {
-                    String forcedUrl = buildUrl(permanentFolder + "/" + cleanFileName);
+                    String forcedUrl = buildUrl(permanentFolder + "/" + decodedFileName);
                     matcher.appendReplacement(sb, "src=\"" + Matcher.quoteReplacement(forcedUrl) + "\"");
                 }
 
             } else {
-                String fixedUrl = buildUrl(folderType + "/" + cleanFileName);
+                String fixedUrl = buildUrl(folderType + "/" + decodedFileName);
                 matcher.appendReplacement(sb, "src=\"" + Matcher.quoteReplacement(fixedUrl) + "\"");
             }
         }
@@ -375,27 +517,64 @@ class ArticleServiceImpl implements ArticleService {
         return sb.toString();
     }
 
-    private void assignMediaOwner(Long ownerId, Long mediaId, String ownerType) {
-        mediaRepository.findById(mediaId).ifPresent(media -> {
-            media.setOwnerId(ownerId);
-            media.setOwnerType(ownerType);
-            mediaRepository.save(media);
+    /**
+     * Đồng bộ các Media thuộc nội dung bài viết sau khi content đã được xử lý, với số câu lệnh không phụ thuộc số ảnh:
+     * ảnh vừa chuyển từ temp được sửa đường dẫn và gán chủ trong một câu UPDATE; các ảnh còn lại được tìm theo URL
+     * trong một truy vấn, rồi phần thêm / bỏ được tính bằng phép trừ tập hợp (MediaOwnershipService.replace).
+     * Ảnh blob chép từ bài khác được tạo thêm một Media trỏ vào cùng blob và tăng số tham chiếu,
+     * để bài kia xóa ảnh cũng không làm mất file.
+     */
+    private void syncContentImages(Article article, Set<String> movedTempPaths, String permanentFolder) {
+        Long articleId = article.getId();
+        Set<String> urls = extractUrlsFromContent(article);
+        Set<Long> wanted = new HashSet<>();
+        List<Media> shared = new ArrayList<>();
+
+        Map<String, List<Media>> mediaByUrl = urls.isEmpty() ? Map.of()
+                : mediaRepository.findByUrlIn(new ArrayList<>(urls)).stream().collect(Collectors.groupingBy(Media::getUrl));
+        mediaByUrl.values().forEach(candidates -> {
+            Optional<Media> usable = candidates.stream()
+                    .filter(media -> articleId.equals(media.getOwnerId()) && "ARTICLE_CONTENT".equals(media.getOwnerType()))
+                    .findFirst()
+                    .or(() -> candidates.stream().filter(media -> media.getOwnerId() == null).findFirst());
+            if (usable.isPresent()) {
+                wanted.add(usable.get().getId());
+                return;
+            }
+            candidates.stream().filter(media -> media.getBlobHash() != null).findFirst().ifPresent(source -> {
+                Media copy = new Media();
+                copy.setS3Key(source.getS3Key());
+                copy.setUrl(source.getUrl());
+                copy.setBlobHash(source.getBlobHash());
+                copy.setWidth(source.getWidth());
+                copy.setHeight(source.getHeight());
+                copy.setVariants(source.getVariants());
+                copy.setOwnerId(articleId);
+                copy.setOwnerType("ARTICLE_CONTENT");
+                shared.add(copy);
+            });
         });
-    }
+        if (!shared.isEmpty()) {
+            mediaRepository.saveAll(shared).forEach(media -> {
+                wanted.add(media.getId());
+                mediaBlobService.retain(media.getBlobHash());
+            });
+        }
 
-    private void unassignMediaOwner(Long mediaId) {
-        mediaRepository.findById(mediaId).ifPresent(media -> {
-            media.setOwnerId(null);
-            media.setOwnerType(null);
-            mediaRepository.save(media);
-        });
+        if (!movedTempPaths.isEmpty()) {
+            wanted.addAll(mediaRepository.findIdsByS3KeyIn(movedTempPaths));
+            mediaOwnershipService.moveAndAssign(articleId, "ARTICLE_CONTENT", movedTempPaths,
+                    permanentFolder, this::buildUrl);
+        }
+        mediaOwnershipService.replace(articleId, "ARTICLE_CONTENT", wanted);
     }
 
-    private List<String> extractUrlsFromContent(Article article) {
-        List<String> urls = new ArrayList<>();
+    private Set<String> extractUrlsFromContent(Article article) {
+        Set<String> urls = new HashSet<>();
         String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
         // Pattern để tìm URL chính thức (không phải temp)
-        Pattern pattern = Pattern.compile(Pattern.quote(baseUrl) + "/uploads/articles/" + article.getId() + "/images/[^\"]+");
+        Pattern pattern = Pattern.compile(Pattern.quote(baseUrl) + "/uploads/(?:articles/" + article.getId()
+                + "/images|" + FileSystemStorageService.BLOB_FOLDER + ")/[^\"]+");
 
         article.getTranslations().forEach(translation -> {
             if (translation.getContent() != null) {
@@ -405,23 +584,15 @@ class ArticleServiceImpl implements ArticleService {
                 }
             }
         });
-        return urls.stream().distinct().collect(Collectors.toList());
-    }
-
-    private void unassignOldContentImages(Article article) {
-        List<String> newUrls = extractUrlsFromContent(article);
-        List<Media> oldMedia = mediaRepository.findByOwnerIdAndOwnerType(article.getId(), "ARTICLE_CONTENT");
-
-        oldMedia.forEach(media -> {
-            if (!newUrls.contains(media.getUrl())) {
-                unassignMediaOwner(media.getId());
-            }
-        });
+        return urls;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ArticleResponse> getPinnedArticles(String languageCode, int limit) {
+        if (articleReadModel.isReady()) {
+            return resolveFromReadModel(articleReadModel.findPinnedIds(limit), languageCode);
+        }
         Pageable pageable = PageRequest.of(0, limit, Sort.by("publishedAt").descending());
         List<Article> articles = articleRepository.findByIsPinnedTrueAndStatusOrderByPublishedAtDesc(ArticleStatus.PUBLISHED, pageable);
 
@@ -449,11 +620,11 @@ class ArticleServiceImpl implements ArticleService {
     @Override
     @Transactional(readOnly = true)
     public List<ArticleResponse> getLatestArticlesByCategorySlug(String slug, String languageCode, int limit) {
-        CategoryTranslation categoryTranslation = categoryTranslationRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Category", "slug", slug));
+        List<Integer> categoryIds = findCategoryTreeIdsBySlug(slug);
 
-        Category category = categoryTranslation.getCategory();
-        List<Integer> categoryIds = getAllDescendantIds(category);
+        if (articleReadModel.isReady()) {
+            return resolveFromReadModel(articleReadModel.findIdsByCategories(categoryIds, limit), languageCode);
+        }
 
         Sort sort = Sort.by(
                 Sort.Order.desc("isPinned"),
@@ -469,6 +640,85 @@ class ArticleServiceImpl implements ArticleService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Bài mới nhất của nhiều cây danh mục cùng lúc, giữ thứ tự danh mục đầu vào.
+     * Id được lấy từ read model nếu sẵn sàng, nếu không thì bằng một truy vấn ROW_NUMBER duy nhất;
+     * sau đó toàn bộ response được dựng trong một lượt batch.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Integer, List<ArticleResponse>> getLatestArticlesByCategoryTrees(List<Integer> categoryIds,
+                                                                               String languageCode,
+                                                                               int limitPerCategory) {
+        Map<Integer, List<Long>> idsByCategory = new LinkedHashMap<>();
+        categoryIds.forEach(categoryId -> idsByCategory.put(categoryId, new ArrayList<>()));
+        if (categoryIds.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+
+        if (articleReadModel.isReady() && categoryTreeCache.isReady()) {
+            idsByCategory.replaceAll((categoryId, ignored) -> articleReadModel.findIdsByCategories(
+                    categoryTreeCache.getSubtreeIds(categoryId), limitPerCategory));
+        } else {
+            articleRepository.findTopIdsPerCategoryTree(categoryIds, ArticleStatus.PUBLISHED.name(), limitPerCategory)
+                    .forEach(row -> idsByCategory.get(row.getCategoryId()).add(row.getArticleId()));
+        }
+
+        List<Long> allIds = idsByCategory.values().stream()
+                .flatMap(List::stream)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, ArticleResponse> responses = resolveFromReadModel(allIds, languageCode).stream()
+                .collect(Collectors.toMap(ArticleResponse::getId, response -> response));
+
+        Map<Integer, List<ArticleResponse>> result = new LinkedHashMap<>();
+        idsByCategory.forEach((categoryId, ids) -> result.put(categoryId, ids.stream()
+                .map(responses::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())));
+        return result;
+    }
+
+    // Bài có nhiều thẻ chung nhất trước; thiếu (hoặc bài không có thẻ) thì bổ sung bằng bài mới nhất cùng danh mục
+    private List<Long> findRelatedArticleIds(Long articleId, Integer categoryId, int limit) {
+        List<Long> ids = new ArrayList<>(relatedArticleIndex.findRelatedIds(articleId, limit));
+        if (ids.size() >= limit) {
+            return ids;
+        }
+        int fallbackLimit = limit + ids.size();
+        List<Long> sameCategory = articleReadModel.isReady()
+                ? articleReadModel.findRelatedIds(articleId, categoryId, fallbackLimit)
+                : articleRepository.findRelatedIds(categoryId, ArticleStatus.PUBLISHED, articleId,
+                        PageRequest.of(0, fallbackLimit, Sort.by(Sort.Order.desc("isPinned"), Sort.Order.desc("publishedAt"))));
+        Set<Long> seen = new HashSet<>(ids);
+        for (Long id : sameCategory) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            if (seen.add(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // Ưu tiên bảng đóng trong bộ nhớ; chỉ duyệt cây qua DB khi cache chưa sẵn sàng
+    private List<Integer> findCategoryTreeIdsBySlug(String slug) {
+        if (categoryTreeCache.isReady()) {
+            Optional<Integer> categoryId = categoryTreeCache.findIdBySlug(slug);
+            if (categoryId.isPresent()) {
+                return categoryTreeCache.getSubtreeIds(categoryId.get());
+            }
+        }
+        SlugRegistry.SlugTarget target = slugRegistry.resolve(SlugRegistry.SlugType.CATEGORY, slug,
+                        s -> categoryTranslationRepository.findBySlug(s)
+                                .map(t -> new SlugRegistry.SlugTarget(t.getCategory().getId().longValue(), t.getLanguageCode())))
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "slug", slug));
+        Category category = categoryRepository.findById(target.getId().intValue())
+                .orElseThrow(() -> new ResourceNotFoundException("Category", "slug", slug));
+        return getAllDescendantIds(category);
+    }
+
     private List<Integer> getAllDescendantIds(Category category) {
         List<Integer> ids = new ArrayList<>();
         ids.add(category.getId());
@@ -480,25 +730,207 @@ class ArticleServiceImpl implements ArticleService {
         return ids;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleResponse> getMostViewedArticles(String languageCode, ArticleViewCounter.Window window, int limit) {
+        return resolveFromReadModel(articleViewCounter.findMostViewedIds(window, limit), languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleResponse> getTrendingArticles(String languageCode, int limit) {
+        return resolveFromReadModel(trendingArticles.findTrendingIds(limit), languageCode);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ArticleResponse> getRelatedArticles(Long articleId, Integer categoryId, String languageCode, int limit) {
+        return resolveFromReadModel(findRelatedArticleIds(articleId, categoryId, limit), languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArticleSummaryResponse> getAllArticleSummaries(int page, int size, String search) {
         Sort sort = Sort.by(
                 Sort.Order.desc("isPinned"),
-                Sort.Order.desc("publishedAt")
+                Sort.Order.desc("publishedAt"),
+                Sort.Order.desc("id")
         );
-        Pageable pageable = PageRequest.of(0, limit, sort);
+        String keyword = search == null ? "" : search.trim();
+        return articleRepository.findSummaries(null, keyword, "vi", PageRequest.of(page, size, sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryResponse> getPinnedArticleSummaries(String languageCode, int limit) {
+        List<Long> ids = articleReadModel.isReady()
+                ? articleReadModel.findPinnedIds(limit)
+                : articleRepository.findPinnedIdsByStatus(ArticleStatus.PUBLISHED,
+                        PageRequest.of(0, limit, Sort.by("publishedAt").descending()));
+        return loadSummaries(ids, languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryResponse> getLatestArticleSummaries(String languageCode, int limit) {
+        List<Long> ids = articleReadModel.isReady()
+                ? articleReadModel.findLatestIds(limit)
+                : articleRepository.findIdsByStatus(ArticleStatus.PUBLISHED,
+                        PageRequest.of(0, limit, Sort.by("publishedAt").descending()));
+        return loadSummaries(ids, languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ArticleSummaryResponse> searchPublicArticleSummaries(String query, String languageCode, int page, int size) {
+        int pageSize = clampSearchPageSize(size);
+        ArticleSearchResult result = searchPublicArticleIds(query, languageCode, page, pageSize, null);
+        return new PageImpl<>(loadSummaries(result.getArticleIds(), languageCode),
+                PageRequest.of(Math.max(page, 0), pageSize), result.getTotal());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryResponse> getArticleSummariesByCategorySlug(String slug, String languageCode, int limit) {
+        List<Integer> categoryIds = findCategoryTreeIdsBySlug(slug);
+
+        List<Long> ids = articleReadModel.isReady()
+                ? articleReadModel.findIdsByCategories(categoryIds, limit)
+                : articleRepository.findIdsByCategoryIdInAndStatus(categoryIds, ArticleStatus.PUBLISHED,
+                        PageRequest.of(0, limit, Sort.by(Sort.Order.desc("isPinned"), Sort.Order.desc("publishedAt"))));
+        return loadSummaries(ids, languageCode);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryResponse> getRelatedArticleSummaries(Long articleId, Integer categoryId, String languageCode, int limit) {
+        return loadSummaries(findRelatedArticleIds(articleId, categoryId, limit), languageCode);
+    }
 
-        List<Article> articles = articleRepository.findByCategoryIdAndStatusAndIdNot(
-                categoryId,
-                ArticleStatus.PUBLISHED,
-                articleId,
-                pageable
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> scrollArticles(Specification<Article> filter, String languageCode,
+                                                              String cursor, int size, boolean withTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        Specification<Article> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(ArticleSpecification.after(FeedCursor.decode(cursor)));
+        }
+        Sort sort = Sort.by(
+                Sort.Order.desc("isPinned"),
+                Sort.Order.desc("publishedAt"),
+                Sort.Order.desc("id")
         );
 
-        return articles.stream()
+        // Lấy dư một bản ghi để biết còn trang sau hay không, thay cho COUNT(*)
+        List<Article> rows = articleRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasNext = rows.size() > pageSize;
+        List<Article> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+
+        List<ArticleResponse> items = pageRows.stream()
                 .map(article -> mapToArticleResponse(article, languageCode))
                 .collect(Collectors.toList());
+        String nextCursor = hasNext ? FeedCursor.of(pageRows.get(pageRows.size() - 1)).encode() : null;
+        Long total = withTotal ? articleRepository.count(filter) : null;
+        return new CursorPageResponse<>(items, nextCursor, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getArticlesByCursor(String search, String cursor, int size, boolean withTotal) {
+        return scrollArticles(ArticleSpecification.searchByTitle(search), "vi", cursor, size, withTotal);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getArticlesByCategorySlugCursor(String slug, String languageCode,
+                                                                               String cursor, int size, boolean withTotal) {
+        List<Integer> categoryIds = findCategoryTreeIdsBySlug(slug);
+
+        Specification<Article> filter = ArticleSpecification.isPublished()
+                .and(ArticleSpecification.inCategories(categoryIds));
+        return scrollArticles(filter, languageCode, cursor, size, withTotal);
+    }
+
+    // Một câu truy vấn projection cho cả danh sách, giữ nguyên thứ tự của ids
+    private List<ArticleSummaryResponse> loadSummaries(List<Long> articleIds, String languageCode) {
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ArticleSummaryResponse> byId = articleRepository.findSummariesByIdIn(articleIds, languageCode).stream()
+                .collect(Collectors.toMap(ArticleSummaryResponse::getId, s -> s, (a, b) -> a));
+        return articleIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Lấy response từ read model, chỉ những bài chưa có trong cache mới phải đọc từ DB
+    private List<ArticleResponse> resolveFromReadModel(List<Long> articleIds, String languageCode) {
+        long version = articleReadModel.getVersion();
+        Map<Long, ArticleResponse> resolved = new HashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : articleIds) {
+            ArticleResponse cached = articleReadModel.getResponse(id, languageCode);
+            if (cached != null) {
+                resolved.put(id, cached);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        if (!missingIds.isEmpty()) {
+            articleRepository.findByIdIn(missingIds).forEach(article -> {
+                ArticleResponse res = mapToArticleResponse(article, languageCode);
+                articleReadModel.putResponse(article.getId(), languageCode, res, version);
+                resolved.put(article.getId(), res);
+            });
+        }
+
+        return articleIds.stream()
+                .map(resolved::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Đặt trạng thái và các mốc xuất bản. publishAt ở tương lai nghĩa là hẹn giờ đăng (SCHEDULED),
+     * PublicationScheduler sẽ tự chuyển sang PUBLISHED đúng thời điểm.
+     * Request không gửi mốc nào thì mốc đó giữ nguyên: bài đang hẹn giờ giữ thời điểm đăng,
+     * lịch gỡ bài chưa tới hạn chỉ bị bỏ khi clearUnpublishAt = true.
+     */
+    private void applyPublicationSchedule(Article article, ArticleStatus status, LocalDateTime publishAt,
+                                          LocalDateTime unpublishAt, boolean clearUnpublishAt) {
+        LocalDateTime now = LocalDateTime.now();
+        if (publishAt == null && status == ArticleStatus.SCHEDULED
+                && article.getPublishedAt() != null && article.getPublishedAt().isAfter(now)) {
+            publishAt = article.getPublishedAt();
+        }
+        if (unpublishAt == null && !clearUnpublishAt
+                && article.getUnpublishAt() != null && article.getUnpublishAt().isAfter(now)) {
+            unpublishAt = article.getUnpublishAt();
+        }
+        boolean wantsPublication = status == ArticleStatus.PUBLISHED || status == ArticleStatus.SCHEDULED;
+        if (wantsPublication && publishAt != null && publishAt.isAfter(now)) {
+            article.setStatus(ArticleStatus.SCHEDULED);
+            article.setPublishedAt(publishAt);
+        } else if (status == ArticleStatus.SCHEDULED) {
+            throw new IllegalArgumentException("Bài hẹn giờ phải có thời điểm đăng trong tương lai.");
+        } else {
+            article.setStatus(status);
+            if (status == ArticleStatus.PUBLISHED) {
+                if (publishAt != null) {
+                    article.setPublishedAt(publishAt);
+                } else if (article.getPublishedAt() == null || article.getPublishedAt().isAfter(now)) {
+                    article.setPublishedAt(now);
+                }
+            }
+        }
+
+        if (unpublishAt != null && article.getPublishedAt() != null && !unpublishAt.isAfter(article.getPublishedAt())) {
+            throw new IllegalArgumentException("Thời điểm gỡ bài phải sau thời điểm đăng.");
+        }
+        article.setUnpublishAt(unpublishAt);
     }
 
     private String buildUrl(String relativePath) {
@@ -513,10 +945,13 @@ class ArticleServiceImpl implements ArticleService {
         res.setStatus(article.getStatus());
         res.setPinned(article.isPinned());
         res.setPublishedAt(article.getPublishedAt());
+        res.setUnpublishAt(article.getUnpublishAt());
         res.setCreatedAt(article.getCreatedAt());
 
         if (article.getThumbnail() != null) {
             res.setThumbnailUrl(article.getThumbnail().getUrl());
+            res.setThumbnailSrcset(ImageVariants.srcset(article.getThumbnail().getUrl(),
+                    article.getThumbnail().getWidth(), article.getThumbnail().getVariants()));
             res.setThumbnailMediaId(article.getThumbnail().getId());
         }
 
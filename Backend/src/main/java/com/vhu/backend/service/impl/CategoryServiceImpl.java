@@ -6,13 +6,16 @@ import com.vhu.backend.dto.category.response.CategoryResponse;
 import com.vhu.backend.dto.category.response.CategoryTranslationResponse;
 import com.vhu.backend.entity.Category;
 import com.vhu.backend.entity.CategoryTranslation;
+import com.vhu.backend.event.CategoryChangedEvent;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.CategoryRepository;
 import com.vhu.backend.repository.CategoryTranslationRepository;
 import com.vhu.backend.service.CategoryService;
+import com.vhu.backend.service.CategoryTreeCache;
 import com.vhu.backend.utils.SlugUtil;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,7 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryTranslationRepository categoryTranslationRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
 //    @Override
 //    @Transactional
@@ -146,7 +150,9 @@ public class CategoryServiceImpl implements CategoryService {
             return translation;
         }).collect(Collectors.toList());
         category.setTranslations(translations);
-        Category finalCategory = categoryRepository.save(category);
+        Category finalCategory = categoryRepository.saveAndFlush(category);
+        finalCategory.setPath(CategoryTreeCache.buildPath(finalCategory));
+        eventPublisher.publishEvent(new CategoryChangedEvent(finalCategory.getId(), false));
         return mapCategoryToResponse(finalCategory);
     }
 
@@ -155,6 +161,7 @@ public class CategoryServiceImpl implements CategoryService {
     public CategoryResponse updateCategory(Integer categoryId, CategoryUpdateRequest request) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "id", categoryId));
+        String oldPath = CategoryTreeCache.buildPath(category);
 
         if (request.getParentId() != null) {
             category.setShowOnHomepage(false);
@@ -163,6 +170,9 @@ public class CategoryServiceImpl implements CategoryService {
             }
             Category parent = categoryRepository.findById(request.getParentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Category Parent", "id", request.getParentId()));
+            if (CategoryTreeCache.buildPath(parent).startsWith(oldPath)) {
+                throw new IllegalArgumentException("Không thể chuyển danh mục vào bên trong danh mục con của chính nó.");
+            }
             category.setParent(parent);
             category.setDisplayOrder(0);
         } else {
@@ -190,10 +200,23 @@ public class CategoryServiceImpl implements CategoryService {
                 translation.setSlug(slug);
             }
         }
+        String newPath = CategoryTreeCache.buildPath(category);
+        if (!newPath.equals(oldPath) || !newPath.equals(category.getPath())) {
+            updateSubtreePaths(category, newPath);
+        }
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, false));
         return mapCategoryToResponse(updatedCategory);
     }
 
+    // Gán lại path cho danh mục và toàn bộ cây con từ path mới của nó, kể cả các nút có path cũ rỗng hoặc sai
+    private void updateSubtreePaths(Category category, String path) {
+        category.setPath(path);
+        for (Category child : category.getChildren()) {
+            updateSubtreePaths(child, path + child.getId() + "/");
+        }
+    }
+
     @Override
     public Page<CategoryResponse> getAllRootCategories(int page, int size, String search) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("displayOrder").ascending());
@@ -233,6 +256,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new IllegalArgumentException("Không thể xóa danh mục cha khi vẫn còn danh mục con.");
         }
         categoryRepository.deleteById(categoryId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, true));
     }
 
     @Override
@@ -248,6 +272,7 @@ public class CategoryServiceImpl implements CategoryService {
         category.setShowOnHomepage(!category.isShowOnHomepage());
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId, false));
         return modelMapper.map(updatedCategory, CategoryResponse.class);
     }
 
@@ -265,6 +290,7 @@ public class CategoryServiceImpl implements CategoryService {
                 }
             });
         }
+        eventPublisher.publishEvent(new CategoryChangedEvent(null, false));
     }
 
     @Override
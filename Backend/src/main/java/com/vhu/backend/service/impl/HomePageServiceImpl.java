@@ -0,0 +1,179 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.dto.category.response.CategoryResponse;
+import com.vhu.backend.dto.home.response.HomeCategorySection;
+import com.vhu.backend.dto.home.response.HomePageResponse;
+import com.vhu.backend.dto.partner.response.PartnerResponse;
+import com.vhu.backend.dto.quick_access.response.QuickAccessLinkResponse;
+import com.vhu.backend.dto.slide.response.SlideResponse;
+import com.vhu.backend.dto.tag.response.TagResponse;
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.service.*;
+import com.vhu.backend.utils.LruCache;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class HomePageServiceImpl implements HomePageService {
+
+    // Giữ đúng các giới hạn mà trang chủ client đang dùng
+    private static final int FEATURED_LIMIT = 3;
+    private static final int LATEST_LIMIT = 6;
+    private static final int CATEGORY_ARTICLES_LIMIT = 6;
+    private static final int POPULAR_TAGS_LIMIT = 10;
+    private static final int MAX_CACHED_LANGUAGES = 8;
+
+    private final ArticleService articleService;
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final SlideService slideService;
+    private final PartnerService partnerService;
+    private final QuickAccessLinkService quickAccessLinkService;
+    private final ArticleReadModel articleReadModel;
+    private final ThreadPoolTaskExecutor executor;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final LruCache<String, CachedHomePage> cache = new LruCache<>(MAX_CACHED_LANGUAGES);
+    private final AtomicLong generation = new AtomicLong();
+
+    public HomePageServiceImpl(ArticleService articleService,
+                               CategoryService categoryService,
+                               TagService tagService,
+                               SlideService slideService,
+                               PartnerService partnerService,
+                               QuickAccessLinkService quickAccessLinkService,
+                               ArticleReadModel articleReadModel,
+                               @Qualifier("homePageExecutor") ThreadPoolTaskExecutor executor,
+                               PlatformTransactionManager transactionManager) {
+        this.articleService = articleService;
+        this.categoryService = categoryService;
+        this.tagService = tagService;
+        this.slideService = slideService;
+        this.partnerService = partnerService;
+        this.quickAccessLinkService = quickAccessLinkService;
+        this.articleReadModel = articleReadModel;
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Bản đã dựng chỉ hợp lệ khi chưa có thay đổi nào kể từ lúc dựng:
+     * generation tăng khi danh mục/slide/đối tác/liên kết/thẻ thay đổi, version của read model tăng khi bài viết thay đổi.
+     */
+    @Override
+    public HomePageResponse getHomePage(String languageCode) {
+        long currentGeneration = generation.get();
+        long currentVersion = articleReadModel.getVersion();
+        CachedHomePage cached = cache.get(languageCode);
+        if (cached != null && cached.getGeneration() == currentGeneration && cached.getArticleVersion() == currentVersion) {
+            return cached.getResponse();
+        }
+
+        HomePageResponse response = build(languageCode);
+        if (generation.get() == currentGeneration) {
+            cache.put(languageCode, new CachedHomePage(currentGeneration, currentVersion, response));
+        }
+        return response;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        // Ngành học không nằm trên trang chủ
+        if (event.getSection() != ContentChangedEvent.Section.MAJOR) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.clear();
+    }
+
+    private HomePageResponse build(String languageCode) {
+        CompletableFuture<List<CategoryResponse>> categories = async(categoryService::getAllCategoriesAsTree);
+        CompletableFuture<List<HomeCategorySection>> sections = categories
+                .thenCompose(tree -> loadCategorySections(tree, languageCode));
+        CompletableFuture<List<ArticleResponse>> featured = async(() -> articleService.getPinnedArticles(languageCode, FEATURED_LIMIT));
+        CompletableFuture<List<ArticleResponse>> latest = async(() -> articleService.getLatestArticles(languageCode, LATEST_LIMIT));
+        CompletableFuture<List<TagResponse>> popularTags = async(() -> tagService.getPublicPopularTags(POPULAR_TAGS_LIMIT));
+        CompletableFuture<List<SlideResponse>> slides = async(slideService::getActiveSlides);
+        CompletableFuture<List<PartnerResponse>> partners = async(() -> partnerService.getPublicPartners(languageCode));
+        CompletableFuture<List<QuickAccessLinkResponse>> quickLinks = async(quickAccessLinkService::getActiveLinks);
+
+        try {
+            CompletableFuture.allOf(sections, featured, latest, popularTags, slides, partners, quickLinks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        HomePageResponse response = new HomePageResponse();
+        response.setCategories(categories.join());
+        response.setCategorySections(sections.join());
+        response.setFeaturedArticles(featured.join());
+        response.setLatestArticles(latest.join());
+        response.setPopularTags(popularTags.join());
+        response.setSlides(slides.join());
+        response.setPartners(partners.join());
+        response.setQuickLinks(quickLinks.join());
+        return response;
+    }
+
+    // Cả các mục danh mục chỉ tốn một lần gọi (một truy vấn) thay vì mỗi danh mục một lần
+    private CompletableFuture<List<HomeCategorySection>> loadCategorySections(List<CategoryResponse> tree, String languageCode) {
+        List<CategoryResponse> homepageCategories = tree.stream()
+                .filter(category -> category.getParentId() == null && category.isShowOnHomepage())
+                .collect(Collectors.toList());
+        List<Integer> categoryIds = homepageCategories.stream()
+                .map(CategoryResponse::getId)
+                .collect(Collectors.toList());
+
+        return async(() -> articleService.getLatestArticlesByCategoryTrees(categoryIds, languageCode, CATEGORY_ARTICLES_LIMIT))
+                .thenApply(articlesByCategory -> homepageCategories.stream()
+                        .map(category -> new HomeCategorySection(category,
+                                articlesByCategory.getOrDefault(category.getId(), List.of())))
+                        .collect(Collectors.toList()));
+    }
+
+    // Mỗi tác vụ chạy trong transaction chỉ đọc riêng vì luồng của pool không có session của request
+    private <T> CompletableFuture<T> async(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> task.get()), executor);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedHomePage {
+        private final long generation;
+        private final long articleVersion;
+        private final HomePageResponse response;
+    }
+}
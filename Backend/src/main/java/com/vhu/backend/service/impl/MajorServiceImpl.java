@@ -9,12 +9,14 @@ import com.vhu.backend.dto.academics.response.SpecializationResponse;
 import com.vhu.backend.dto.academics.response.TranslationResponse;
 import com.vhu.backend.dto.request.TranslationRequest;
 import com.vhu.backend.entity.*;
+import com.vhu.backend.event.ContentChangedEvent;
 import com.vhu.backend.exception.DuplicateResourceException;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.MajorRepository;
 import com.vhu.backend.repository.ProgramLevelRepository;
 import com.vhu.backend.service.MajorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,6 +34,7 @@ public class MajorServiceImpl implements MajorService {
 
     private final MajorRepository majorRepository;
     private final ProgramLevelRepository programLevelRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // I. LOGIC XỬ LÝ CHƯƠNG TRÌNH ĐÀO TẠO (PROGRAM LEVEL)
 
@@ -53,6 +56,7 @@ public class MajorServiceImpl implements MajorService {
         });
 
         ProgramLevel savedProgramLevel = programLevelRepository.save(programLevel);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
         return mapToDetailProgramLevelResponse(savedProgramLevel);
     }
 
@@ -97,6 +101,7 @@ public class MajorServiceImpl implements MajorService {
         });
 
         ProgramLevel updatedProgramLevel = programLevelRepository.save(programLevel);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
         return mapToDetailProgramLevelResponse(updatedProgramLevel);
     }
 
@@ -106,6 +111,7 @@ public class MajorServiceImpl implements MajorService {
         ProgramLevel programLevel = programLevelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("ProgramLevel", "id", id));
         programLevelRepository.delete(programLevel);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
     }
 
     // II. LOGIC XỬ LÝ NGÀNH ĐÀO TẠO (MAJOR)
@@ -136,6 +142,7 @@ public class MajorServiceImpl implements MajorService {
         }
 
         Major savedMajor = majorRepository.save(major);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
         return mapToDetailMajorResponse(savedMajor);
     }
 
@@ -174,6 +181,7 @@ public class MajorServiceImpl implements MajorService {
         }
 
         Major updatedMajor = majorRepository.save(major);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
         return mapToDetailMajorResponse(updatedMajor);
     }
 
@@ -195,6 +203,7 @@ public class MajorServiceImpl implements MajorService {
         Major major = majorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Major", "id", id));
         majorRepository.delete(major);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.MAJOR));
     }
 
     @Override
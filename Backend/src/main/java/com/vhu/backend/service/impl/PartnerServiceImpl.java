@@ -6,13 +6,17 @@ import com.vhu.backend.dto.partner.response.PartnerResponse;
 import com.vhu.backend.entity.Media;
 import com.vhu.backend.entity.Partner;
 import com.vhu.backend.entity.PartnerTranslation;
+import com.vhu.backend.event.ContentChangedEvent;
 import com.vhu.backend.exception.DuplicateResourceException;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.MediaRepository;
 import com.vhu.backend.repository.PartnerRepository;
 import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.MediaBlobService;
+import com.vhu.backend.service.MediaOwnershipService;
 import com.vhu.backend.service.PartnerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -30,6 +34,9 @@ public class PartnerServiceImpl implements PartnerService {
     private final PartnerRepository partnerRepository;
     private final MediaRepository mediaRepository;
     private final FileSystemStorageService storageService;
+    private final MediaBlobService mediaBlobService;
+    private final MediaOwnershipService mediaOwnershipService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -66,14 +73,13 @@ public class PartnerServiceImpl implements PartnerService {
 
             logoMedia.setS3Key(newPath);
             logoMedia.setUrl(storageService.buildUrl(newPath));
-            logoMedia.setOwnerId(partnerId);
-            logoMedia.setOwnerType("PARTNER");
-            mediaRepository.save(logoMedia);
+            mediaOwnershipService.assign(partnerId, "PARTNER", List.of(logoMedia.getId()));
 
         } catch (IOException e) {
             throw new RuntimeException("Lỗi di chuyển file logo: " + e.getMessage());
         }
 
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.PARTNER));
         return mapToDetailResponse(savedPartner);
     }
 
@@ -97,14 +103,10 @@ public class PartnerServiceImpl implements PartnerService {
                 String newPath = storageService.moveFile(newLogo.getS3Key(), folder);
                 newLogo.setS3Key(newPath);
                 newLogo.setUrl(storageService.buildUrl(newPath));
-                newLogo.setOwnerId(id);
-                newLogo.setOwnerType("PARTNER");
-                mediaRepository.save(newLogo);
+                mediaOwnershipService.assign(id, "PARTNER", List.of(newLogo.getId()));
 
                 storageService.delete(oldLogo.getS3Key());
-                oldLogo.setOwnerId(null);
-                oldLogo.setOwnerType(null);
-                mediaRepository.save(oldLogo);
+                mediaOwnershipService.unassign(List.of(oldLogo.getId()));
             } catch (IOException e) {
                 throw new RuntimeException("Lỗi cập nhật file logo: " + e.getMessage());
             }
@@ -131,6 +133,7 @@ public class PartnerServiceImpl implements PartnerService {
         });
 
         Partner updatedPartner = partnerRepository.save(partner);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.PARTNER));
         return mapToDetailResponse(updatedPartner);
     }
 
@@ -145,9 +148,10 @@ public class PartnerServiceImpl implements PartnerService {
         partnerRepository.delete(partner);
 
         if (logo != null) {
-            storageService.delete(logo.getS3Key());
             mediaRepository.delete(logo);
+            mediaBlobService.release(logo);
         }
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.PARTNER));
     }
 
     @Override
@@ -161,6 +165,7 @@ public class PartnerServiceImpl implements PartnerService {
                 partnerRepository.save(p);
             });
         }
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.PARTNER));
     }
 
     // --- API CÔNG KHAI ---
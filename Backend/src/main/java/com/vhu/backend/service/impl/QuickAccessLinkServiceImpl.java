@@ -6,12 +6,15 @@ import com.vhu.backend.dto.quick_access.response.TranslationResponse;
 import com.vhu.backend.entity.Media;
 import com.vhu.backend.entity.QuickAccessLink;
 import com.vhu.backend.entity.QuickAccessLinkTranslation;
+import com.vhu.backend.event.ContentChangedEvent;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.MediaRepository;
 import com.vhu.backend.repository.QuickAccessLinkRepository;
 import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.MediaOwnershipService;
 import com.vhu.backend.service.QuickAccessLinkService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,6 +32,8 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
     private final QuickAccessLinkRepository linkRepository;
     private final MediaRepository mediaRepository;
     private final FileSystemStorageService storageService;
+    private final MediaOwnershipService mediaOwnershipService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -60,14 +65,13 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
 
             iconMedia.setS3Key(newPath);
             iconMedia.setUrl(storageService.buildUrl(newPath));
-            iconMedia.setOwnerId(savedLink.getId());
-            iconMedia.setOwnerType("QUICK_ACCESS");
-            mediaRepository.save(iconMedia);
+            mediaOwnershipService.assign(savedLink.getId(), "QUICK_ACCESS", List.of(iconMedia.getId()));
 
         } catch (IOException e) {
             throw new RuntimeException("Không thể di chuyển file icon: " + e.getMessage());
         }
 
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.QUICK_LINK));
         return mapToDetailResponse(savedLink); // Trả về response chi tiết sau khi tạo
     }
 
@@ -87,15 +91,11 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
                 String newPath = storageService.moveFile(newIcon.getS3Key(), permanentFolder);
                 newIcon.setS3Key(newPath);
                 newIcon.setUrl(storageService.buildUrl(newPath));
-                newIcon.setOwnerId(id);
-                newIcon.setOwnerType("QUICK_ACCESS");
-                mediaRepository.save(newIcon);
+                mediaOwnershipService.assign(id, "QUICK_ACCESS", List.of(newIcon.getId()));
 
                 Media oldIcon = link.getIcon();
                 storageService.delete(oldIcon.getS3Key());
-                oldIcon.setOwnerId(null);
-                oldIcon.setOwnerType(null);
-                mediaRepository.save(oldIcon);
+                mediaOwnershipService.unassign(List.of(oldIcon.getId()));
 
                 link.setIcon(newIcon);
             } catch (IOException e) {
@@ -118,6 +118,7 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
         });
 
         QuickAccessLink updatedLink = linkRepository.save(link);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.QUICK_LINK));
         return mapToDetailResponse(updatedLink); // Trả về response chi tiết sau khi cập nhật
     }
 
@@ -132,6 +133,7 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
                 linkRepository.save(link);
             });
         }
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.QUICK_LINK));
     }
 
     @Override
@@ -155,12 +157,11 @@ public class QuickAccessLinkServiceImpl implements QuickAccessLinkService {
         Media icon = link.getIcon();
         if (icon != null) {
             storageService.delete(icon.getS3Key());
-            icon.setOwnerId(null);
-            icon.setOwnerType(null);
-            mediaRepository.save(icon);
+            mediaOwnershipService.unassign(List.of(icon.getId()));
         }
 
         linkRepository.delete(link);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.QUICK_LINK));
     }
 
     private QuickAccessLinkResponse mapToSimpleResponse(QuickAccessLink link, String lang) {
@@ -7,14 +7,18 @@ import com.vhu.backend.dto.slide.request.SlideUpdateRequest;
 import com.vhu.backend.dto.slide.response.SlideResponse;
 import com.vhu.backend.dto.slide.response.SlideTranslationResponse;
 import com.vhu.backend.entity.*;
+import com.vhu.backend.event.ContentChangedEvent;
 import com.vhu.backend.exception.ResourceNotFoundException;
 import com.vhu.backend.repository.ArticleRepository;
 import com.vhu.backend.repository.MediaRepository;
 import com.vhu.backend.repository.SlideRepository;
 import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.MediaOwnershipService;
 import com.vhu.backend.service.SlideService;
+import com.vhu.backend.utils.ImageVariants;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -34,6 +38,8 @@ public class SlideServiceImpl implements SlideService {
     private final ArticleRepository articleRepository;
     private final ModelMapper modelMapper;
     private final FileSystemStorageService storageService;
+    private final MediaOwnershipService mediaOwnershipService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -85,10 +91,9 @@ public class SlideServiceImpl implements SlideService {
             throw new RuntimeException("Không thể di chuyển file ảnh cho slide: " + e.getMessage());
         }
 
-        media.setOwnerId(savedSlide.getId());
-        media.setOwnerType("SLIDE");
-        mediaRepository.save(media);
+        mediaOwnershipService.assign(savedSlide.getId(), "SLIDE", List.of(media.getId()));
 
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
         return mapToSlideResponse(savedSlide);
     }
 
@@ -112,9 +117,7 @@ public class SlideServiceImpl implements SlideService {
                 String newFileUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
                         .path("/uploads/").path(newRelativePath).toUriString();
                 newMedia.setUrl(newFileUrl);
-                newMedia.setOwnerId(slide.getId());
-                newMedia.setOwnerType("SLIDE");
-                mediaRepository.save(newMedia);
+                mediaOwnershipService.assign(slide.getId(), "SLIDE", List.of(newMedia.getId()));
 
             } catch (IOException e) {
                 throw new RuntimeException("Không thể di chuyển file ảnh mới cho slide: " + e.getMessage());
@@ -123,9 +126,7 @@ public class SlideServiceImpl implements SlideService {
             slide.setMedia(newMedia);
 
             storageService.delete(oldMedia.getS3Key());
-            oldMedia.setOwnerId(null);
-            oldMedia.setOwnerType(null);
-            mediaRepository.save(oldMedia);
+            mediaOwnershipService.unassign(List.of(oldMedia.getId()));
         }
 
         slide.setActive(request.isActive());
@@ -153,6 +154,7 @@ public class SlideServiceImpl implements SlideService {
         }
 
         Slide updatedSlide = slideRepository.save(slide);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
         return mapToSlideResponse(updatedSlide);
     }
 
@@ -172,13 +174,11 @@ public class SlideServiceImpl implements SlideService {
         Media media = slide.getMedia();
         if (media != null) {
             storageService.delete(media.getS3Key());
-
-            media.setOwnerId(null);
-            media.setOwnerType(null);
-            mediaRepository.save(media);
+            mediaOwnershipService.unassign(List.of(media.getId()));
         }
 
         slideRepository.delete(slide);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
     }
 
     @Override
@@ -188,6 +188,7 @@ public class SlideServiceImpl implements SlideService {
                 .orElseThrow(() -> new ResourceNotFoundException("Slide", "id", slideId));
         slide.setActive(!slide.isActive());
         Slide updatedSlide = slideRepository.save(slide);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
         return mapToSlideResponse(updatedSlide);
     }
 
@@ -202,6 +203,7 @@ public class SlideServiceImpl implements SlideService {
                 slideRepository.save(slide);
             });
         }
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.SLIDE));
     }
 
     @Override
@@ -223,6 +225,8 @@ public class SlideServiceImpl implements SlideService {
 
         if (slide.getMedia() != null) {
             response.setImageUrl(slide.getMedia().getUrl());
+            response.setImageSrcset(ImageVariants.srcset(slide.getMedia().getUrl(),
+                    slide.getMedia().getWidth(), slide.getMedia().getVariants()));
             response.setMediaId(slide.getMedia().getId());
         }
 
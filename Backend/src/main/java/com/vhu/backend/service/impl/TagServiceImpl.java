@@ -3,27 +3,32 @@ package com.vhu.backend.service.impl;
 import com.vhu.backend.dto.article.response.ArticleResponse;
 import com.vhu.backend.dto.tag.request.TagCreateRequest;
 import com.vhu.backend.dto.tag.request.TagUpdateRequest;
+import com.vhu.backend.dto.response.CursorPageResponse;
 import com.vhu.backend.dto.tag.response.TagResponse;
 import com.vhu.backend.entity.ArticleStatus;
 import com.vhu.backend.entity.Tag;
 import com.vhu.backend.entity.TagTranslation;
+import com.vhu.backend.event.ContentChangedEvent;
+import com.vhu.backend.event.TagChangedEvent;
 import com.vhu.backend.exception.ResourceNotFoundException;
+import com.vhu.backend.repository.ArticleRepository;
 import com.vhu.backend.repository.TagRepository;
 import com.vhu.backend.repository.TagTranslationRepository;
+import com.vhu.backend.repository.specification.ArticleSpecification;
 import com.vhu.backend.service.ArticleService;
+import com.vhu.backend.service.SlugRegistry;
 import com.vhu.backend.service.TagService;
 import com.vhu.backend.utils.SlugUtil;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.vhu.backend.entity.Article;
 
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -36,6 +41,9 @@ public class TagServiceImpl implements TagService {
     private final TagTranslationRepository tagTranslationRepository;
     private final ModelMapper modelMapper;
     private final ArticleService articleService;
+    private final ArticleRepository articleRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SlugRegistry slugRegistry;
 
     @Override
     @Transactional
@@ -54,6 +62,7 @@ public class TagServiceImpl implements TagService {
             tag.getTranslations().add(translation);
         });
         Tag savedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.TAG));
         return modelMapper.map(savedTag, TagResponse.class);
     }
 
@@ -78,6 +87,8 @@ public class TagServiceImpl implements TagService {
             }
         }
         Tag updatedTag = tagRepository.save(tag);
+        eventPublisher.publishEvent(new TagChangedEvent(tagId, false));
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.TAG));
         return modelMapper.map(updatedTag, TagResponse.class);
     }
 
@@ -109,6 +120,8 @@ public class TagServiceImpl implements TagService {
             throw new ResourceNotFoundException("Tag", "id", tagId);
         }
         tagRepository.deleteById(tagId);
+        eventPublisher.publishEvent(new TagChangedEvent(tagId, true));
+        eventPublisher.publishEvent(new ContentChangedEvent(ContentChangedEvent.Section.TAG));
     }
 
     @Override
@@ -123,29 +136,48 @@ public class TagServiceImpl implements TagService {
     @Override
     @Transactional(readOnly = true)
     public TagResponse getPublicTagBySlug(String slug) {
-        TagTranslation translation = tagTranslationRepository.findBySlug(slug)
+        Tag tag = tagRepository.findById(findTagIdBySlug(slug))
                 .orElseThrow(() -> new ResourceNotFoundException("Tag", "slug", slug));
-        return modelMapper.map(translation.getTag(), TagResponse.class);
+        return modelMapper.map(tag, TagResponse.class);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ArticleResponse> getPublicArticlesByTagSlug(String slug, String languageCode) {
-        TagTranslation translation = tagTranslationRepository.findBySlug(slug)
-                .orElseThrow(() -> new ResourceNotFoundException("Tag", "slug", slug));
+        Integer tagId = findTagIdBySlug(slug);
 
-        Tag tag = translation.getTag();
+        // Cùng thứ tự với feed cursor: bài ghim trước, rồi mới nhất; id để thứ tự ổn định khi trùng publishedAt
+        Sort sort = Sort.by(
+                Sort.Order.desc("isPinned"),
+                Sort.Order.desc("publishedAt"),
+                Sort.Order.desc("id")
+        );
 
-        return tag.getArticles().stream()
-                .filter(article -> article.getStatus() == ArticleStatus.PUBLISHED)
-                .sorted(Comparator.comparing(Article::isPinned).reversed()
-                        .thenComparing(Article::getPublishedAt).reversed())
+        return articleRepository.findByTagsIdAndStatus(tagId, ArticleStatus.PUBLISHED, sort).stream()
                 .map(article -> articleService.mapToArticleResponse(article, languageCode))
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleResponse> getPublicArticlesByTagSlugCursor(String slug, String languageCode,
+                                                                                String cursor, int size, boolean withTotal) {
+        Integer tagId = findTagIdBySlug(slug);
+        return articleService.scrollArticles(
+                ArticleSpecification.isPublished().and(ArticleSpecification.hasTag(tagId)),
+                languageCode, cursor, size, withTotal);
+    }
+
     @Override
     public List<TagResponse> getPublicPopularTags(int limit) {
         return this.findPopularTags(limit);
     }
+
+    private Integer findTagIdBySlug(String slug) {
+        return slugRegistry.resolve(SlugRegistry.SlugType.TAG, slug,
+                        s -> tagTranslationRepository.findBySlug(s)
+                                .map(t -> new SlugRegistry.SlugTarget(t.getTag().getId().longValue(), t.getLanguageCode())))
+                .map(target -> target.getId().intValue())
+                .orElseThrow(() -> new ResourceNotFoundException("Tag", "slug", slug));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.vhu.backend.utils;
+
+import com.vhu.backend.entity.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Vị trí (is_pinned, published_at, id) của bài viết cuối cùng trong một trang,
+ * được mã hóa thành chuỗi mờ để client gửi lại khi lấy trang tiếp theo.
+ */
+@Getter
+@AllArgsConstructor
+public final class FeedCursor {
+
+    private static final String NULL_DATE = "-";
+
+    private final boolean pinned;
+    private final LocalDateTime publishedAt;
+    private final Long id;
+
+    public static FeedCursor of(Article article) {
+        return new FeedCursor(article.isPinned(), article.getPublishedAt(), article.getId());
+    }
+
+    public String encode() {
+        String raw = (pinned ? "1" : "0") + "|"
+                + (publishedAt != null ? publishedAt.toString() : NULL_DATE) + "|"
+                + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cursor không hợp lệ.");
+            }
+            LocalDateTime publishedAt = NULL_DATE.equals(parts[1]) ? null : LocalDateTime.parse(parts[1]);
+            return new FeedCursor("1".equals(parts[0]), publishedAt, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor không hợp lệ.");
+        }
+    }
+}
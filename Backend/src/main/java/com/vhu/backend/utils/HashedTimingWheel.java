@@ -0,0 +1,119 @@
+package com.vhu.backend.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: mỗi tick một ô, việc hẹn giờ/hủy là O(1), việc kích hoạt chỉ duyệt ô của tick hiện tại.
+ * Mục đến hạn được kích hoạt trong vòng một tick sau deadline (không bao giờ sớm hơn),
+ * theo lô, trên luồng riêng của wheel.
+ */
+public class HashedTimingWheel<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(HashedTimingWheel.class);
+
+    private final long tickMillis;
+    private final List<Set<Timeout<T>>> slots;
+    private final Consumer<List<T>> onExpired;
+    private final Thread worker;
+    private final long startMillis;
+    private long currentTick = 0;
+    private volatile boolean running = true;
+
+    public HashedTimingWheel(String name, long tickMillis, int wheelSize, Consumer<List<T>> onExpired) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            slots.add(new HashSet<>());
+        }
+        this.onExpired = onExpired;
+        this.startMillis = System.currentTimeMillis();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        // Tick t được xử lý tại thời điểm start + (t + 1) * tick, nên chọn t nhỏ nhất không sớm hơn deadline
+        long tick = Math.max(currentTick, Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis) - 1);
+        Timeout<T> timeout = new Timeout<>(item, (tick - currentTick) / slots.size(), (int) (tick % slots.size()));
+        slots.get(timeout.slot).add(timeout);
+        return timeout;
+    }
+
+    public synchronized void cancel(Timeout<T> timeout) {
+        slots.get(timeout.slot).remove(timeout);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long sleep = startMillis + (currentTickSnapshot() + 1) * tickMillis - System.currentTimeMillis();
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            List<T> expired = advance();
+            if (!expired.isEmpty()) {
+                try {
+                    onExpired.accept(expired);
+                } catch (RuntimeException e) {
+                    logger.error("Lỗi khi xử lý {} mục đến hạn của timing wheel.", expired.size(), e);
+                }
+            }
+        }
+    }
+
+    private synchronized long currentTickSnapshot() {
+        return currentTick;
+    }
+
+    private synchronized List<T> advance() {
+        List<T> expired = new ArrayList<>();
+        Iterator<Timeout<T>> iterator = slots.get((int) (currentTick % slots.size())).iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> timeout = iterator.next();
+            if (timeout.remainingRounds <= 0) {
+                expired.add(timeout.item);
+                iterator.remove();
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        currentTick++;
+        return expired;
+    }
+
+    public static final class Timeout<T> {
+        private final T item;
+        private final int slot;
+        private long remainingRounds;
+
+        private Timeout(T item, long remainingRounds, int slot) {
+            this.item = item;
+            this.remainingRounds = remainingRounds;
+            this.slot = slot;
+        }
+
+        public T getItem() {
+            return item;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.vhu.backend.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+public final class HttpCacheUtil {
+
+    // Dữ liệu tham chiếu ít thay đổi: cho phép cache 5 phút rồi mới hỏi lại bằng ETag
+    public static final CacheControl REFERENCE_DATA = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    // Luôn hỏi lại server, nhưng nhận 304 nếu chưa thay đổi
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private HttpCacheUtil() {}
+
+    /**
+     * Trả 304 ngay khi If-None-Match khớp với etag, chỉ gọi body (truy vấn + mapping) khi thực sự cần.
+     */
+    public static <T> ResponseEntity<T> conditional(WebRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+}
@@ -0,0 +1,41 @@
+package com.vhu.backend.utils;
+
+/**
+ * Quy ước đặt tên cho các bản thu nhỏ của ảnh: cùng thư mục với ảnh gốc, thêm hậu tố _w{chiều rộng}
+ * (vd: slides/3/abc_photo.jpg -> slides/3/abc_photo_w640.jpg). Áp dụng được cho cả đường dẫn lẫn URL,
+ * nên ảnh có di chuyển thư mục thì URL bản thu nhỏ vẫn suy ra được từ URL ảnh gốc.
+ */
+public final class ImageVariants {
+
+    public static final int[] WIDTHS = {320, 640, 1280};
+
+    private ImageVariants() {}
+
+    public static String variantPath(String path, int width) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash) {
+            return path + "_w" + width;
+        }
+        return path.substring(0, dot) + "_w" + width + path.substring(dot);
+    }
+
+    /**
+     * Dựng thuộc tính srcset từ URL ảnh gốc và cột variants của Media ("320x213,640x427").
+     * Trả về null nếu ảnh chưa có bản thu nhỏ nào.
+     */
+    public static String srcset(String url, Integer width, String variants) {
+        if (url == null || variants == null || variants.isBlank()) {
+            return null;
+        }
+        StringBuilder srcset = new StringBuilder();
+        for (String variant : variants.split(",")) {
+            String variantWidth = variant.substring(0, variant.indexOf('x'));
+            srcset.append(variantPath(url, Integer.parseInt(variantWidth))).append(' ').append(variantWidth).append("w, ");
+        }
+        if (width != null) {
+            return srcset.append(url).append(' ').append(width).append('w').toString();
+        }
+        return srcset.substring(0, srcset.length() - 2);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vhu.backend.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Cache LRU giới hạn kích thước, an toàn khi dùng từ nhiều thread.
+ */
+public class LruCache<K, V> {
+
+    private final Map<K, V> delegate;
+
+    public LruCache(int maxEntries) {
+        this.delegate = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return delegate.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        delegate.put(key, value);
+    }
+
+    public synchronized void remove(K key) {
+        delegate.remove(key);
+    }
+
+    public synchronized void removeIf(Predicate<K> predicate) {
+        delegate.keySet().removeIf(predicate);
+    }
+
+    public synchronized void clear() {
+        delegate.clear();
+    }
+
+    public synchronized int size() {
+        return delegate.size();
+    }
+}
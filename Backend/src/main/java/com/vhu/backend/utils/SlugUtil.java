@@ -6,6 +6,8 @@ import java.util.regex.Pattern;
 
 public final class SlugUtil {
 
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+
     private SlugUtil() {}
 
     /**
@@ -17,16 +19,8 @@ public final class SlugUtil {
             return "";
         }
 
-        // 1. Chuyển chuỗi về chữ thường và xử lý riêng ký tự 'đ'
-        String normalized = input.toLowerCase(Locale.ROOT);
-        normalized = normalized.replace('đ', 'd');
-
-        // 2. Chuẩn hóa Unicode (NFD) để tách các ký tự có dấu
-        normalized = Normalizer.normalize(normalized, Normalizer.Form.NFD);
-
-        // 3. Dùng regex để loại bỏ các dấu đã được tách ra
-        Pattern pattern = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
-        normalized = pattern.matcher(normalized).replaceAll("");
+        // 1-3. Chữ thường, 'đ' -> 'd' và bỏ dấu tiếng Việt
+        String normalized = fold(input);
 
         // 4. Thay thế các ký tự không phải chữ hoặc số bằng dấu gạch ngang
         normalized = normalized.replaceAll("[^a-z0-9]+", "-");
@@ -37,4 +31,25 @@ public final class SlugUtil {
 
         return normalized;
     }
-}
\ No newline at end of file
+
+    /**
+     * Chuẩn hóa chuỗi về dạng chữ thường không dấu (dùng chung cho slug và tìm kiếm).
+     * @param input Chuỗi cần chuẩn hóa.
+     * @return Chuỗi chữ thường đã bỏ dấu, giữ nguyên các ký tự khác.
+     */
+    public static String fold(String input) {
+        if (input == null || input.isEmpty()) {
+            return "";
+        }
+
+        // 1. Chuyển chuỗi về chữ thường và xử lý riêng ký tự 'đ'
+        String normalized = input.toLowerCase(Locale.ROOT);
+        normalized = normalized.replace('đ', 'd');
+
+        // 2. Chuẩn hóa Unicode (NFD) để tách các ký tự có dấu
+        normalized = Normalizer.normalize(normalized, Normalizer.Form.NFD);
+
+        // 3. Dùng regex để loại bỏ các dấu đã được tách ra
+        return DIACRITICS.matcher(normalized).replaceAll("");
+    }
+}
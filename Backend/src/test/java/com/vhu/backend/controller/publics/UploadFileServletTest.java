@@ -0,0 +1,232 @@
+package com.vhu.backend.controller.publics;
+
+import com.vhu.backend.config.MvcConfig;
+import com.vhu.backend.config.SecurityConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.web.filter.CorsFilter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadFileServletTest {
+
+    private static final String CONTENT = "0123456789";
+
+    @TempDir
+    Path root;
+
+    private UploadFileServlet servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(root.resolve("documents"));
+        Files.writeString(root.resolve("documents/tai-lieu.txt"), CONTENT);
+        servlet = new UploadFileServlet(root.toString());
+        servlet.init(new MockServletConfig());
+    }
+
+    @Test
+    void servesWholeFileWithoutRange() throws Exception {
+        MockHttpServletResponse response = get(request("/documents/tai-lieu.txt"));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+    }
+
+    @Test
+    void servesSingleRange() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsString()).isEqualTo("2345");
+    }
+
+    @Test
+    void clampsOpenAndOversizedEnd() throws Exception {
+        MockHttpServletRequest open = request("/documents/tai-lieu.txt");
+        open.addHeader(HttpHeaders.RANGE, "bytes=7-");
+        MockHttpServletRequest oversized = request("/documents/tai-lieu.txt");
+        oversized.addHeader(HttpHeaders.RANGE, "bytes=8-100");
+
+        assertThat(get(open).getContentAsString()).isEqualTo("789");
+        MockHttpServletResponse response = get(oversized);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 8-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("89");
+    }
+
+    @Test
+    void servesSuffixRange() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsString()).isEqualTo("789");
+    }
+
+    @Test
+    void rejectsRangeStartingPastEnd() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void multipleRangesFallBackToWholeFile() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.RANGE, "bytes=0-1,4-5");
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void ifRangeWithStaleEtagReturnsWholeFile() throws Exception {
+        String etag = get(request("/documents/tai-lieu.txt")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequest matching = request("/documents/tai-lieu.txt");
+        matching.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        matching.addHeader(HttpHeaders.IF_RANGE, etag);
+        MockHttpServletRequest stale = request("/documents/tai-lieu.txt");
+        stale.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+        stale.addHeader(HttpHeaders.IF_RANGE, "\"cu\"");
+
+        assertThat(get(matching).getStatus()).isEqualTo(206);
+        MockHttpServletResponse response = get(stale);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void answersNotModifiedForMatchingEtag() throws Exception {
+        String etag = get(request("/documents/tai-lieu.txt")).getHeader(HttpHeaders.ETAG);
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void headSendsLengthWithoutBody() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.setMethod("HEAD");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        servlet.service(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void handsRangeToSendfileWhenConnectorSupportsIt() throws Exception {
+        MockHttpServletRequest request = request("/documents/tai-lieu.txt");
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+        MockHttpServletResponse response = get(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(root.resolve("documents/tai-lieu.txt").toAbsolutePath().normalize().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(2L);
+        // end của sendfile là vị trí ngay sau byte cuối
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(6L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void refusesPathsOutsideRootAndHiddenFiles() throws Exception {
+        Files.writeString(root.resolve("documents/.phien.part"), "bi mat");
+        Files.writeString(root.resolve("documents/dang-ghi.tmp"), "chua xong");
+
+        assertThat(get(request("/../tai-lieu.txt")).getStatus()).isEqualTo(404);
+        assertThat(get(request("/documents/.phien.part")).getStatus()).isEqualTo(404);
+        assertThat(get(request("/documents/dang-ghi.tmp")).getStatus()).isEqualTo(404);
+        assertThat(get(request("/documents/khong-co.txt")).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void corsFilterAddsHeadersForAllowedOrigin() throws Exception {
+        MockHttpServletRequest allowed = request("/documents/tai-lieu.txt");
+        allowed.addHeader(HttpHeaders.ORIGIN, "http://localhost:3000");
+        MockHttpServletRequest other = request("/documents/tai-lieu.txt");
+        other.addHeader(HttpHeaders.ORIGIN, "https://khac.example.com");
+
+        MockHttpServletResponse response = getThroughCors(allowed);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("http://localhost:3000");
+        assertThat(response.getContentAsString()).isEqualTo(CONTENT);
+        MockHttpServletResponse rejected = getThroughCors(other);
+        assertThat(rejected.getStatus()).isEqualTo(403);
+        assertThat(rejected.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isNull();
+    }
+
+    @Test
+    void corsFilterAnswersPreflightWithoutServingFile() throws Exception {
+        MockHttpServletRequest preflight = request("/documents/tai-lieu.txt");
+        preflight.setMethod("OPTIONS");
+        preflight.addHeader(HttpHeaders.ORIGIN, "http://localhost:3001");
+        preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+        preflight.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, HttpHeaders.RANGE);
+
+        MockHttpServletResponse response = getThroughCors(preflight);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("http://localhost:3001");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletResponse getThroughCors(MockHttpServletRequest request) throws Exception {
+        CorsFilter filter = new MvcConfig()
+                .uploadCorsFilter(new SecurityConfig(null, null).corsConfigurationSource())
+                .getFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String pathInfo) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads" + pathInfo);
+        request.setServletPath("/uploads");
+        request.setPathInfo(pathInfo);
+        return request;
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,116 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.entity.Category;
+import com.vhu.backend.entity.Tag;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.event.TagChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleReadModelTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @InjectMocks
+    private ArticleReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(readModel, "maxEntries", 100);
+        when(articleRepository.findByStatus(eq(ArticleStatus.PUBLISHED), any(Pageable.class)))
+                .thenReturn(List.of(article(1L, 10, 1), article(2L, 20, 2)));
+        readModel.warmUp();
+        readModel.putResponse(1L, "vi", response(1L), readModel.getVersion());
+        readModel.putResponse(2L, "vi", response(2L), readModel.getVersion());
+    }
+
+    @Test
+    void deletedTagIsRemovedFromEntriesAndCachedResponses() {
+        long before = readModel.getVersion();
+
+        readModel.onTagChanged(new TagChangedEvent(10, true));
+
+        assertThat(readModel.findEntry(1L)).get().extracting(ArticleReadModel.ArticleEntry::getTagIds)
+                .isEqualTo(Set.of());
+        assertThat(readModel.getResponse(1L, "vi")).isNull();
+        assertThat(readModel.getResponse(2L, "vi")).isNotNull();
+        assertThat(readModel.getVersion()).isGreaterThan(before);
+    }
+
+    @Test
+    void renamedTagOnlyEvictsCachedResponses() {
+        readModel.onTagChanged(new TagChangedEvent(20, false));
+
+        assertThat(readModel.findEntry(2L)).get().extracting(ArticleReadModel.ArticleEntry::getTagIds)
+                .isEqualTo(Set.of(20));
+        assertThat(readModel.getResponse(2L, "vi")).isNull();
+        assertThat(readModel.getResponse(1L, "vi")).isNotNull();
+    }
+
+    @Test
+    void changedCategoryEvictsResponsesOfItsArticles() {
+        long before = readModel.getVersion();
+
+        readModel.onCategoryChanged(new CategoryChangedEvent(2, false));
+
+        assertThat(readModel.getResponse(2L, "vi")).isNull();
+        assertThat(readModel.getResponse(1L, "vi")).isNotNull();
+        assertThat(readModel.findEntry(2L)).isPresent();
+        assertThat(readModel.getVersion()).isGreaterThan(before);
+    }
+
+    @Test
+    void categoryChangeWithoutIdEvictsAllResponses() {
+        readModel.onCategoryChanged(new CategoryChangedEvent(null, false));
+
+        assertThat(readModel.getResponse(1L, "vi")).isNull();
+        assertThat(readModel.getResponse(2L, "vi")).isNull();
+    }
+
+    private static Article article(Long id, Integer tagId, Integer categoryId) {
+        Category category = new Category();
+        category.setId(categoryId);
+        Tag tag = new Tag();
+        tag.setId(tagId);
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setCategory(category);
+        article.setPublishedAt(LocalDateTime.of(2025, 1, id.intValue(), 8, 0));
+        article.setTags(Set.of(tag));
+        ArticleTranslation translation = new ArticleTranslation();
+        translation.setLanguageCode("vi");
+        translation.setSlug("bai-viet-" + id);
+        translation.setArticle(article);
+        article.getTranslations().add(translation);
+        return article;
+    }
+
+    private static ArticleResponse response(Long id) {
+        ArticleResponse response = new ArticleResponse();
+        response.setId(id);
+        return response;
+    }
+}
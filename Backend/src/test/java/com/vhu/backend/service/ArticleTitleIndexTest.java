@@ -0,0 +1,96 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleTitleIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @InjectMocks
+    private ArticleTitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(articleRepository.findTitles(ArticleTitleIndex.TITLE_LANGUAGE)).thenReturn(List.of(
+                row(1L, "Thông báo tuyển sinh đại học"),
+                row(2L, "Tuyển dụng giảng viên"),
+                row(3L, "Lễ tốt nghiệp năm 2024"),
+                row(4L, null)));
+        index.warmUp();
+    }
+
+    @Test
+    void matchesWordPrefixesIgnoringDiacritics() {
+        assertThat(ids(index.suggest("tuyen", 10))).containsExactly(2L, 1L);
+        assertThat(ids(index.suggest("tuyển sinh", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("TỐT ng", 10))).containsExactly(3L);
+        assertThat(index.suggest("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    void titlesStartingWithQueryComeFirst() {
+        // Bài 2 có tiêu đề bắt đầu bằng truy vấn nên đứng đầu dù id nhỏ hơn; còn lại xếp bài mới hơn trước
+        when(articleRepository.findTitleById(5L, ArticleTitleIndex.TITLE_LANGUAGE))
+                .thenReturn(List.<Object[]>of(row(5L, "Hướng dẫn tuyển sinh")));
+        index.onArticleChanged(new ArticleChangedEvent(5L, false));
+
+        assertThat(ids(index.suggest("tuyen", 10))).containsExactly(2L, 5L, 1L);
+    }
+
+    @Test
+    void emptyQueryListsNewestFirst() {
+        assertThat(ids(index.suggest("  ", 2))).containsExactly(4L, 3L);
+        assertThat(index.findAll()).extracting(ArticleTitleIndex.TitleEntry::getTitle)
+                .containsExactly(ArticleTitleIndex.UNTITLED, "Lễ tốt nghiệp năm 2024",
+                        "Tuyển dụng giảng viên", "Thông báo tuyển sinh đại học");
+    }
+
+    @Test
+    void updateReplacesOnlyTheChangedArticle() {
+        when(articleRepository.findTitleById(2L, ArticleTitleIndex.TITLE_LANGUAGE))
+                .thenReturn(List.<Object[]>of(row(2L, "Học bổng khuyến học")));
+        List<ArticleTitleIndex.TitleEntry> before = index.findAll();
+
+        index.onArticleChanged(new ArticleChangedEvent(2L, false));
+
+        assertThat(ids(index.suggest("tuyen", 10))).containsExactly(1L);
+        assertThat(ids(index.suggest("hoc bong", 10))).containsExactly(2L);
+        // Từ chỉ bài 2 dùng bị gỡ khỏi chỉ mục, bản findAll cũ không bị sửa
+        assertThat(index.suggest("giang", 10)).isEmpty();
+        assertThat(before).extracting(ArticleTitleIndex.TitleEntry::getTitle).contains("Tuyển dụng giảng viên");
+        assertThat(index.findAll()).extracting(ArticleTitleIndex.TitleEntry::getTitle).contains("Học bổng khuyến học");
+    }
+
+    @Test
+    void deleteRemovesArticleWithoutQuerying() {
+        index.onArticleChanged(new ArticleChangedEvent(1L, true));
+
+        assertThat(ids(index.suggest("tuyen", 10))).containsExactly(2L);
+        assertThat(ids(index.findAll())).containsExactly(4L, 3L, 2L);
+        verify(articleRepository, never()).findTitleById(1L, ArticleTitleIndex.TITLE_LANGUAGE);
+    }
+
+    private static List<Long> ids(List<ArticleTitleIndex.TitleEntry> entries) {
+        return entries.stream().map(ArticleTitleIndex.TitleEntry::getId).toList();
+    }
+
+    private static Object[] row(Long id, String title) {
+        return new Object[]{id, title};
+    }
+}
@@ -0,0 +1,131 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.exception.ResourceNotFoundException;
+import com.vhu.backend.exception.UploadOffsetConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedUploadServiceTest {
+
+    private static final String OWNER = "editor@vhu.edu.vn";
+    private static final String OTHER = "khac@vhu.edu.vn";
+
+    @TempDir
+    Path folder;
+
+    @Mock
+    private FileSystemStorageService storageService;
+
+    @Mock
+    private MediaBlobService mediaBlobService;
+
+    @InjectMocks
+    private ChunkedUploadService service;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(storageService.getChunkedUploadFolder()).thenReturn(folder);
+        ReflectionTestUtils.setField(service, "maxFileSize", 100L);
+        ReflectionTestUtils.setField(service, "maxChunkSize", 4L);
+        ReflectionTestUtils.setField(service, "expireHours", 24L);
+    }
+
+    @Test
+    void appendAtCurrentOffsetAdvancesSession() {
+        String id = service.init("video.mp4", 6, "video/mp4", OWNER).getUploadId();
+
+        assertThat(service.append(id, OWNER, 0, body(1, 2, 3, 4))).isEqualTo(4);
+        assertThat(service.append(id, OWNER, 4, body(5, 6))).isEqualTo(6);
+        assertThat(service.getSession(id, OWNER).getOffset()).isEqualTo(6);
+    }
+
+    @Test
+    void appendAtWrongOffsetReportsCurrentOffset() {
+        String id = service.init("video.mp4", 6, "video/mp4", OWNER).getUploadId();
+        service.append(id, OWNER, 0, body(1, 2));
+
+        assertThatThrownBy(() -> service.append(id, OWNER, 0, body(1, 2)))
+                .isInstanceOf(UploadOffsetConflictException.class);
+        assertThat(service.getSession(id, OWNER).getOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsChunkLargerThanLimitAndKeepsPreviousData() {
+        String id = service.init("video.mp4", 10, "video/mp4", OWNER).getUploadId();
+
+        assertThatThrownBy(() -> service.append(id, OWNER, 0, body(1, 2, 3, 4, 5)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.getSession(id, OWNER).getOffset()).isZero();
+    }
+
+    @Test
+    void otherUserCannotSeeOrTouchSession() throws Exception {
+        String id = service.init("video.mp4", 2, "video/mp4", OWNER).getUploadId();
+        service.append(id, OWNER, 0, body(1, 2));
+
+        assertThatThrownBy(() -> service.getSession(id, OTHER)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.append(id, OTHER, 2, body(3))).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.complete(id, OTHER)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> service.abort(id, OTHER)).isInstanceOf(ResourceNotFoundException.class);
+
+        verify(mediaBlobService, never()).store(any(Path.class), any());
+        assertThat(Files.size(folder.resolve(id + ".part"))).isEqualTo(2);
+        assertThat(service.getSession(id, OWNER).getOffset()).isEqualTo(2);
+    }
+
+    @Test
+    void completeStoresPartFileOnceAllBytesArrived() {
+        String id = service.init("video.mp4", 3, "video/mp4", OWNER).getUploadId();
+        service.append(id, OWNER, 0, body(1, 2));
+
+        assertThatThrownBy(() -> service.complete(id, OWNER)).isInstanceOf(IllegalArgumentException.class);
+
+        service.append(id, OWNER, 2, body(3));
+        MediaBlobService.StoredFile stored = new MediaBlobService.StoredFile("uploads/video.mp4", null);
+        when(mediaBlobService.store(folder.resolve(id + ".part"), "video.mp4")).thenReturn(stored);
+
+        ChunkedUploadService.CompletedUpload completed = service.complete(id, OWNER);
+
+        assertThat(completed.getStoredFile()).isSameAs(stored);
+        verify(mediaBlobService).store(eq(folder.resolve(id + ".part")), eq("video.mp4"));
+        assertThatThrownBy(() -> service.getSession(id, OWNER)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void abortRemovesSessionFiles() {
+        String id = service.init("video.mp4", 3, "video/mp4", OWNER).getUploadId();
+
+        service.abort(id, OWNER);
+
+        assertThat(folder.resolve(id + ".part")).doesNotExist();
+        assertThat(folder.resolve(id + ".properties")).doesNotExist();
+    }
+
+    private static ByteArrayInputStream body(int... values) {
+        byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return new ByteArrayInputStream(bytes);
+    }
+}
@@ -0,0 +1,123 @@
+package com.vhu.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vhu.backend.utils.HttpCacheUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonSnapshotCacheTest {
+
+    private final JsonSnapshotCache cache = new JsonSnapshotCache(new ObjectMapper(), 16);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void rendersOncePerVersion() {
+        Supplier<?> body = counting(List.of("a", "b"));
+
+        ResponseEntity<byte[]> first = cache.respond(request(null, null), "partners", "vi", "\"v1\"", HttpCacheUtil.REFERENCE_DATA, body);
+        ResponseEntity<byte[]> second = cache.respond(request(null, null), "partners", "vi", "\"v1\"", HttpCacheUtil.REFERENCE_DATA, body);
+
+        assertThat(renders).hasValue(1);
+        assertThat(new String(second.getBody())).isEqualTo("[\"a\",\"b\"]");
+        assertThat(first.getHeaders().getETag()).isEqualTo("W/\"v1\"");
+
+        cache.respond(request(null, null), "partners", "vi", "\"v2\"", HttpCacheUtil.REFERENCE_DATA, body);
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void matchingEtagReturnsNotModifiedWithoutRendering() {
+        ResponseEntity<byte[]> response = cache.respond(request("\"v1\"", null), "partners", "vi", "\"v1\"",
+                HttpCacheUtil.REFERENCE_DATA, counting(List.of("a")));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(renders).hasValue(0);
+    }
+
+    @Test
+    void strongEtagFromEarlierResponseStillMatches() {
+        ResponseEntity<byte[]> response = cache.respond(request("\"v1\"", "gzip"), "partners", "vi", "W/\"v1\"",
+                HttpCacheUtil.REFERENCE_DATA, counting(List.of("a")));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("W/\"v1\"");
+    }
+
+    @Test
+    void encodedAndIdentityBodiesShareOnlyAWeakEtag() {
+        List<String> payload = Collections.nCopies(100, "bài viết nổi bật");
+
+        ResponseEntity<byte[]> identity = cache.respond(request(null, null), "featured:3", "vi", "\"v1\"",
+                HttpCacheUtil.REVALIDATE, counting(payload));
+        ResponseEntity<byte[]> gzip = cache.respond(request(null, "gzip"), "featured:3", "vi", "\"v1\"",
+                HttpCacheUtil.REVALIDATE, counting(payload));
+
+        assertThat(gzip.getBody()).isNotEqualTo(identity.getBody());
+        assertThat(identity.getHeaders().getETag()).isEqualTo("W/\"v1\"");
+        assertThat(gzip.getHeaders().getETag()).isEqualTo("W/\"v1\"");
+    }
+
+    @Test
+    void servesPrecompressedGzip() throws IOException {
+        List<String> payload = Collections.nCopies(100, "bài viết nổi bật");
+
+        ResponseEntity<byte[]> response = cache.respond(request(null, "br, gzip;q=0.8"), "featured:3", "vi", "\"v1\"",
+                HttpCacheUtil.REVALIDATE, counting(payload));
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(new ObjectMapper().writeValueAsBytes(payload));
+        }
+    }
+
+    @Test
+    void unsupportedLanguageIsNeverCached() {
+        Supplier<?> body = counting(List.of("a"));
+
+        cache.respond(request(null, null), "featured:3", "xx", "\"v1\"", HttpCacheUtil.REVALIDATE, body);
+        cache.respond(request(null, null), "featured:3", "xx", "\"v1\"", HttpCacheUtil.REVALIDATE, body);
+
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void negotiatesEncodingHonouringZeroQuality() {
+        assertThat(JsonSnapshotCache.negotiate("gzip, deflate")).isEqualTo("gzip");
+        assertThat(JsonSnapshotCache.negotiate("gzip;q=0, deflate")).isEqualTo("deflate");
+        assertThat(JsonSnapshotCache.negotiate("gzip; q=0.0")).isNull();
+        assertThat(JsonSnapshotCache.negotiate(null)).isNull();
+    }
+
+    private Supplier<?> counting(Object body) {
+        return () -> {
+            renders.incrementAndGet();
+            return body;
+        };
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, String acceptEncoding) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/partners");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
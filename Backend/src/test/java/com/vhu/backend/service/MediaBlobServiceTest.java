@@ -0,0 +1,172 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.Media;
+import com.vhu.backend.entity.MediaBlob;
+import com.vhu.backend.repository.MediaBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaBlobServiceTest {
+
+    private static final String HASH = "ab".repeat(32);
+    private static final String BLOB_PATH = "blobs/ab/" + HASH + ".png";
+
+    @Mock
+    private FileSystemStorageService storageService;
+
+    @Mock
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MediaBlobService service;
+    private final MockMultipartFile file = new MockMultipartFile("file", "anh.png", "image/png", new byte[]{1, 2, 3});
+
+    @BeforeEach
+    void setUp() {
+        service = new MediaBlobService(storageService, mediaBlobRepository, jdbcTemplate, transactionManager);
+        ReflectionTestUtils.setField(service, "contentAddressed", true);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(storageService.stageBlob(file))
+                .thenReturn(new FileSystemStorageService.StagedBlob(HASH, BLOB_PATH, 3, Path.of("staged.tmp")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reusesPathOfExistingBlob() {
+        MediaBlob existing = new MediaBlob();
+        existing.setHash(HASH);
+        existing.setPath("blobs/ab/" + HASH + ".jpg");
+        when(mediaBlobRepository.findById(HASH)).thenReturn(Optional.of(existing));
+
+        MediaBlobService.StoredFile stored = service.store(file);
+
+        verify(mediaBlobRepository).acquire(HASH, BLOB_PATH, 3);
+        verify(storageService).commitBlob(any(), anyString());
+        assertThat(stored.getPath()).isEqualTo(existing.getPath());
+        assertThat(stored.getBlobHash()).isEqualTo(HASH);
+    }
+
+    @Test
+    void rollbackOfMediaInsertReleasesReference() {
+        when(mediaBlobRepository.findById(HASH)).thenReturn(Optional.empty());
+        when(mediaBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.store(file);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(mediaBlobRepository).release(HASH, 1);
+        verify(storageService).deleteBlob(BLOB_PATH);
+    }
+
+    @Test
+    void failedBlobWriteReleasesReference() {
+        when(mediaBlobRepository.findById(HASH)).thenReturn(Optional.empty());
+        when(mediaBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(1);
+        doThrow(new RuntimeException("Lỗi khi lưu file.")).when(storageService).commitBlob(any(), eq(BLOB_PATH));
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThatThrownBy(() -> service.store(file)).hasMessage("Lỗi khi lưu file.");
+
+        verify(mediaBlobRepository).release(HASH, 1);
+        verify(storageService).deleteBlob(BLOB_PATH);
+        // Không còn synchronization nào trả lại lần nữa khi transaction rollback
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    void commitKeepsReference() {
+        when(mediaBlobRepository.findById(HASH)).thenReturn(Optional.empty());
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.store(file);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(mediaBlobRepository, never()).release(anyString(), anyInt());
+        verify(storageService, never()).deleteBlob(anyString());
+    }
+
+    @Test
+    void rollbackInLegacyModeDeletesTempFile() {
+        ReflectionTestUtils.setField(service, "contentAddressed", false);
+        when(storageService.store(file, FileSystemStorageService.TEMP_FOLDER)).thenReturn("temp/x_anh.png");
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.store(file);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(storageService).delete("temp/x_anh.png");
+        verifyNoInteractions(mediaBlobRepository);
+    }
+
+    @Test
+    void releaseKeepsFileWhileOtherMediaReferenceIt() {
+        Media media = new Media();
+        media.setS3Key(BLOB_PATH);
+        media.setBlobHash(HASH);
+        when(mediaBlobRepository.deleteIfUnreferenced(HASH)).thenReturn(0);
+
+        service.release(media);
+
+        verify(mediaBlobRepository).release(HASH, 1);
+        verify(storageService, never()).deleteBlob(anyString());
+    }
+
+    @Test
+    void dropsLegacyUniqueIndexOnlyWhenEnabled() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("UK_media_s3_key"));
+
+        service.dropLegacyS3KeyIndex();
+        verify(jdbcTemplate).execute("ALTER TABLE media DROP INDEX `UK_media_s3_key`");
+
+        MediaBlobService disabled = new MediaBlobService(storageService, mediaBlobRepository, jdbcTemplate, transactionManager);
+        disabled.dropLegacyS3KeyIndex();
+        verify(jdbcTemplate).queryForList(anyString(), eq(String.class));
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
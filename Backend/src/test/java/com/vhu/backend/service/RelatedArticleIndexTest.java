@@ -0,0 +1,75 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.event.TagChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.repository.projection.ArticleTagId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedArticleIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @InjectMocks
+    private RelatedArticleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(articleRepository.findArticleTagIdsByStatus(ArticleStatus.PUBLISHED)).thenReturn(List.of(
+                row(1L, 10), row(1L, 20),
+                row(2L, 10),
+                row(3L, 20),
+                row(4L, 10), row(4L, 30)));
+        index.warmUp();
+    }
+
+    @Test
+    void ranksArticlesSharingTags() {
+        // Bài 2 và bài 4 cùng chung thẻ 10, nhưng bài 4 còn thẻ 30 nên điểm Jaccard thấp hơn
+        assertThat(index.findRelatedIds(1L, 5)).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(index.findRelatedIds(1L, 5).indexOf(2L)).isLessThan(index.findRelatedIds(1L, 5).indexOf(4L));
+    }
+
+    @Test
+    void deletedTagIsEvictedFromIndex() {
+        index.onTagChanged(new TagChangedEvent(10, true));
+
+        assertThat(index.findRelatedIds(1L, 5)).containsExactly(3L);
+        // Bài 2 chỉ có thẻ đã xóa nên không còn trong chỉ mục
+        assertThat(index.findRelatedIds(2L, 5)).isEmpty();
+        assertThat(index.findRelatedIds(4L, 5)).isEmpty();
+    }
+
+    @Test
+    void renamedTagKeepsIndexUnchanged() {
+        index.onTagChanged(new TagChangedEvent(10, false));
+
+        assertThat(index.findRelatedIds(1L, 5)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    private static ArticleTagId row(Long articleId, Integer tagId) {
+        return new ArticleTagId() {
+            @Override
+            public Long getArticleId() {
+                return articleId;
+            }
+
+            @Override
+            public Integer getTagId() {
+                return tagId;
+            }
+        };
+    }
+}
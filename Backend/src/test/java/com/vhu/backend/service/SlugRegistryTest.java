@@ -0,0 +1,123 @@
+package com.vhu.backend.service;
+
+import com.vhu.backend.event.ArticleChangedEvent;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.repository.ArticleTranslationRepository;
+import com.vhu.backend.repository.CategoryTranslationRepository;
+import com.vhu.backend.repository.TagTranslationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SlugRegistryTest {
+
+    @Mock
+    private ArticleTranslationRepository articleTranslationRepository;
+
+    @Mock
+    private CategoryTranslationRepository categoryTranslationRepository;
+
+    @Mock
+    private TagTranslationRepository tagTranslationRepository;
+
+    private SlugRegistry registry;
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SlugRegistry(articleTranslationRepository, categoryTranslationRepository, tagTranslationRepository);
+        ReflectionTestUtils.setField(registry, "maxEntries", 100);
+    }
+
+    @Test
+    void rejectsUnknownSlugWithoutQueryingOnceBuilt() {
+        when(articleTranslationRepository.findAllSlugs()).thenReturn(List.of("gioi-thieu"));
+        registry.warmUp();
+
+        assertThat(registry.resolve(SlugRegistry.SlugType.ARTICLE, "khong-ton-tai", loader(1L))).isEmpty();
+        assertThat(loaderCalls).hasValue(0);
+    }
+
+    @Test
+    void cachesFoundSlugAfterFirstLookup() {
+        when(articleTranslationRepository.findAllSlugs()).thenReturn(List.of("gioi-thieu"));
+        registry.warmUp();
+
+        registry.resolve(SlugRegistry.SlugType.ARTICLE, "gioi-thieu", loader(1L));
+        Optional<SlugRegistry.SlugTarget> second = registry.resolve(SlugRegistry.SlugType.ARTICLE, "gioi-thieu", loader(1L));
+
+        assertThat(second).map(SlugRegistry.SlugTarget::getId).contains(1L);
+        assertThat(loaderCalls).hasValue(1);
+    }
+
+    @Test
+    void missIsNotDefinitiveBeforeFirstBuildCompletes() {
+        AtomicReference<Optional<SlugRegistry.SlugTarget>> duringBuild = new AtomicReference<>();
+        when(articleTranslationRepository.findAllSlugs()).thenAnswer(invocation -> {
+            duringBuild.set(registry.resolve(SlugRegistry.SlugType.ARTICLE, "bai-cu", loader(5L)));
+            return List.of("bai-cu");
+        });
+
+        registry.warmUp();
+
+        assertThat(duringBuild.get()).map(SlugRegistry.SlugTarget::getId).contains(5L);
+        assertThat(loaderCalls).hasValue(1);
+    }
+
+    @Test
+    void keepsSlugAddedWhileFilterIsBeingRebuilt() {
+        when(articleTranslationRepository.findAllSlugs())
+                .thenReturn(List.of("gioi-thieu"))
+                .thenAnswer(invocation -> {
+                    // Bài mới được commit trong lúc danh sách slug cũ đang được đọc
+                    registry.onArticleChanged(new ArticleChangedEvent(42L, false));
+                    return List.of("gioi-thieu");
+                });
+        when(articleTranslationRepository.findSlugsByArticleId(42L)).thenReturn(List.of("bai-moi"));
+        registry.warmUp();
+
+        registry.rebuild(SlugRegistry.SlugType.ARTICLE);
+
+        assertThat(registry.resolve(SlugRegistry.SlugType.ARTICLE, "bai-moi", loader(42L)))
+                .map(SlugRegistry.SlugTarget::getId).contains(42L);
+        assertThat(registry.resolve(SlugRegistry.SlugType.ARTICLE, "gioi-thieu", loader(1L))).isPresent();
+    }
+
+    @Test
+    void missIsNotDefinitiveWhileChangeIsPending() {
+        when(categoryTranslationRepository.findAllSlugs())
+                .thenReturn(List.of("tin-tuc"))
+                .thenReturn(List.of("tin-tuc", "danh-muc-moi"));
+        registry.warmUp();
+        CategoryChangedEvent event = new CategoryChangedEvent(3, false);
+
+        registry.beforeCategoryCommit(event);
+        assertThat(registry.resolve(SlugRegistry.SlugType.CATEGORY, "danh-muc-moi", loader(3L))).isPresent();
+        assertThat(loaderCalls).hasValue(1);
+
+        registry.onCategoryChanged(event);
+        assertThat(registry.resolve(SlugRegistry.SlugType.CATEGORY, "danh-muc-moi", loader(3L))).isPresent();
+        assertThat(registry.resolve(SlugRegistry.SlugType.CATEGORY, "khong-ton-tai", loader(9L))).isEmpty();
+        assertThat(loaderCalls).hasValue(2);
+    }
+
+    private Function<String, Optional<SlugRegistry.SlugTarget>> loader(Long id) {
+        return slug -> {
+            loaderCalls.incrementAndGet();
+            return Optional.of(new SlugRegistry.SlugTarget(id, "vi"));
+        };
+    }
+}
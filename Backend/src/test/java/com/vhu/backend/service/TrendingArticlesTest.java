@@ -0,0 +1,115 @@
+package com.vhu.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingArticlesTest {
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    @Mock
+    private ArticleReadModel articleReadModel;
+
+    @InjectMocks
+    private TrendingArticles trendingArticles;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(trendingArticles, "halfLifeMinutes", 360L);
+        lenient().when(articleReadModel.findEntry(anyLong()))
+                .thenAnswer(invocation -> Optional.of(entry(invocation.getArgument(0))));
+    }
+
+    @Test
+    void viewsAreRankedAfterRotate() {
+        record(1L, 2);
+        record(2L, 5);
+        record(3L, 1);
+
+        // Lượt xem chỉ được gom vào bảng xếp hạng ở lần rotate kế tiếp
+        assertThat(trendingArticles.findTrendingIds(10)).isEmpty();
+
+        trendingArticles.rotate();
+        assertThat(trendingArticles.findTrendingIds(10)).containsExactly(2L, 1L, 3L);
+
+        record(3L, 10);
+        trendingArticles.rotate();
+        assertThat(trendingArticles.findTrendingIds(2)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void keepsOnlyTopCandidates() {
+        // Bài id n có n lượt xem
+        LongStream.rangeClosed(1, TrendingArticles.MAX_CANDIDATES + 50).forEach(id -> record(id, (int) id));
+        trendingArticles.rotate();
+
+        List<Long> ids = trendingArticles.findTrendingIds(Integer.MAX_VALUE);
+        assertThat(ids).hasSize(TrendingArticles.MAX_CANDIDATES);
+        assertThat(ids.get(0)).isEqualTo(TrendingArticles.MAX_CANDIDATES + 50L);
+        assertThat(ids).doesNotContain(1L, 50L);
+    }
+
+    @Test
+    void seededViewsDecayWithAge() {
+        long now = System.currentTimeMillis();
+        // 2 ngày = 8 chu kỳ half-life: 100 lượt xem cũ chỉ còn khoảng 0,4 điểm
+        trendingArticles.seed(Map.of(1L, 100L), now - 2 * DAY_MILLIS);
+        trendingArticles.seed(Map.of(2L, 3L), now);
+
+        assertThat(trendingArticles.findTrendingIds(10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void skipsArticlesNoLongerPublished() {
+        record(1L, 3);
+        record(2L, 1);
+        trendingArticles.rotate();
+        when(articleReadModel.findEntry(1L)).thenReturn(Optional.empty());
+
+        assertThat(trendingArticles.findTrendingIds(10)).containsExactly(2L);
+    }
+
+    @Test
+    void concurrentViewsAreNotLost() throws InterruptedException {
+        List<Thread> threads = LongStream.range(0, 4)
+                .mapToObj(i -> new Thread(() -> record(1L, 1000)))
+                .collect(Collectors.toList());
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        record(2L, 3999);
+        trendingArticles.rotate();
+
+        assertThat(trendingArticles.findTrendingIds(10)).containsExactly(1L, 2L);
+    }
+
+    private void record(long articleId, int views) {
+        for (int i = 0; i < views; i++) {
+            trendingArticles.record(articleId);
+        }
+    }
+
+    private static ArticleReadModel.ArticleEntry entry(Long id) {
+        return new ArticleReadModel.ArticleEntry(id, 1, false, LocalDateTime.now(), LocalDateTime.now(), Set.of(), Map.of());
+    }
+}
@@ -0,0 +1,126 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.controller.publics.PublicArticleController;
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.entity.Category;
+import com.vhu.backend.entity.CategoryTranslation;
+import com.vhu.backend.event.CategoryChangedEvent;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.service.ArticleReadModel;
+import com.vhu.backend.service.ContentVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * API bài viết theo slug dùng ETag có phiên bản danh mục và body lấy từ read model:
+ * sau khi sửa danh mục, ETag mới phải đi kèm tên danh mục mới chứ không phải response cũ còn trong cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleCategoryEditEtagTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ModelMapper modelMapper;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    private ArticleReadModel readModel;
+    private final ContentVersions contentVersions = new ContentVersions();
+    private PublicArticleController controller;
+    private CategoryTranslation categoryName;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new ArticleReadModel(articleRepository);
+        ReflectionTestUtils.setField(readModel, "maxEntries", 100);
+        ReflectionTestUtils.setField(articleService, "articleReadModel", readModel);
+        controller = new PublicArticleController(articleService, null, contentVersions, null, null);
+
+        Article article = article();
+        when(articleRepository.findByStatus(eq(ArticleStatus.PUBLISHED), any(Pageable.class))).thenReturn(List.of(article));
+        when(articleRepository.findByIdIn(List.of(1L))).thenReturn(List.of(article));
+        readModel.warmUp();
+    }
+
+    @Test
+    void editedCategoryIsServedWithTheNewEtag() {
+        ResponseEntity<ArticleResponse> first = get(null);
+        assertThat(first.getBody().getCategory().getName()).isEqualTo("Tin tức");
+        String etag = first.getHeaders().getETag();
+
+        // Đổi tên danh mục rồi phát sự kiện như CategoryServiceImpl sau khi commit
+        categoryName.setName("Tin tức - Sự kiện");
+        categoryName.setSlug("tin-tuc-su-kien");
+        CategoryChangedEvent event = new CategoryChangedEvent(3, false);
+        readModel.onCategoryChanged(event);
+        contentVersions.onCategoryChanged(event);
+
+        ResponseEntity<ArticleResponse> second = get(etag);
+
+        assertThat(second.getStatusCode().value()).isEqualTo(200);
+        assertThat(second.getHeaders().getETag()).isNotEqualTo(etag);
+        assertThat(second.getBody().getCategory().getName()).isEqualTo("Tin tức - Sự kiện");
+        assertThat(second.getBody().getCategory().getSlug()).isEqualTo("tin-tuc-su-kien");
+
+        // Lần hỏi lại với ETag mới nhận 304
+        assertThat(get(second.getHeaders().getETag()).getStatusCode().value()).isEqualTo(304);
+    }
+
+    private ResponseEntity<ArticleResponse> get(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/public/articles/slug/bai-viet/vi");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return controller.getPublicArticleBySlug("bai-viet", "vi",
+                new ServletWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    private Article article() {
+        Category category = new Category();
+        category.setId(3);
+        categoryName = new CategoryTranslation();
+        categoryName.setLanguageCode("vi");
+        categoryName.setName("Tin tức");
+        categoryName.setSlug("tin-tuc");
+        categoryName.setCategory(category);
+        category.getTranslations().add(categoryName);
+
+        Article article = new Article();
+        article.setId(1L);
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setCategory(category);
+        article.setPublishedAt(LocalDateTime.of(2025, 1, 15, 8, 0));
+        ArticleTranslation translation = new ArticleTranslation();
+        translation.setLanguageCode("vi");
+        translation.setSlug("bai-viet");
+        translation.setArticle(article);
+        article.getTranslations().add(translation);
+        return article;
+    }
+}
@@ -0,0 +1,105 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.dto.article.response.ArticleResponse;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.repository.projection.CategoryArticleId;
+import com.vhu.backend.service.ArticleReadModel;
+import com.vhu.backend.service.CategoryTreeCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleCategorySectionsTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleReadModel articleReadModel;
+
+    @Mock
+    private CategoryTreeCache categoryTreeCache;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    @Test
+    void usesTreeQueryWhileCategoryCacheIsNotReady() {
+        when(articleReadModel.isReady()).thenReturn(true);
+        when(categoryTreeCache.isReady()).thenReturn(false);
+        when(articleRepository.findTopIdsPerCategoryTree(List.of(5, 2), ArticleStatus.PUBLISHED.name(), 2))
+                .thenReturn(List.of(row(2, 20L), row(2, 21L), row(5, 50L)));
+        stubResponses();
+
+        Map<Integer, List<ArticleResponse>> sections = articleService.getLatestArticlesByCategoryTrees(List.of(5, 2), "vi", 2);
+
+        assertThat(sections.keySet()).containsExactly(5, 2);
+        assertThat(sections.get(5)).extracting(ArticleResponse::getId).containsExactly(50L);
+        assertThat(sections.get(2)).extracting(ArticleResponse::getId).containsExactly(20L, 21L);
+        verify(categoryTreeCache, never()).getSubtreeIds(5);
+    }
+
+    @Test
+    void usesTreeQueryWhileReadModelIsNotReady() {
+        when(articleReadModel.isReady()).thenReturn(false);
+        when(articleRepository.findTopIdsPerCategoryTree(List.of(7), ArticleStatus.PUBLISHED.name(), 3))
+                .thenReturn(List.of());
+
+        Map<Integer, List<ArticleResponse>> sections = articleService.getLatestArticlesByCategoryTrees(List.of(7), "vi", 3);
+
+        // Danh mục không có bài vẫn có mặt với danh sách rỗng
+        assertThat(sections).containsOnlyKeys(7);
+        assertThat(sections.get(7)).isEmpty();
+    }
+
+    @Test
+    void usesSubtreesFromCacheOnceBothAreReady() {
+        when(articleReadModel.isReady()).thenReturn(true);
+        when(categoryTreeCache.isReady()).thenReturn(true);
+        when(categoryTreeCache.getSubtreeIds(1)).thenReturn(List.of(1, 3, 4));
+        when(articleReadModel.findIdsByCategories(List.of(1, 3, 4), 2)).thenReturn(List.of(11L, 12L));
+        stubResponses();
+
+        Map<Integer, List<ArticleResponse>> sections = articleService.getLatestArticlesByCategoryTrees(List.of(1), "vi", 2);
+
+        assertThat(sections.get(1)).extracting(ArticleResponse::getId).containsExactly(11L, 12L);
+        verify(articleRepository, never()).findTopIdsPerCategoryTree(List.of(1), ArticleStatus.PUBLISHED.name(), 2);
+    }
+
+    private void stubResponses() {
+        lenient().when(articleReadModel.getResponse(anyLong(), eq("vi"))).thenAnswer(invocation -> {
+            ArticleResponse response = new ArticleResponse();
+            response.setId(invocation.getArgument(0));
+            return response;
+        });
+    }
+
+    private static CategoryArticleId row(Integer categoryId, Long articleId) {
+        return new CategoryArticleId() {
+            @Override
+            public Integer getCategoryId() {
+                return categoryId;
+            }
+
+            @Override
+            public Long getArticleId() {
+                return articleId;
+            }
+        };
+    }
+}
@@ -0,0 +1,211 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.dto.article.request.ArticleTranslationRequest;
+import com.vhu.backend.dto.article.request.ArticleUpdateRequest;
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.entity.ArticleTranslation;
+import com.vhu.backend.entity.Category;
+import com.vhu.backend.entity.Media;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.repository.CategoryRepository;
+import com.vhu.backend.repository.MediaRepository;
+import com.vhu.backend.repository.TagRepository;
+import com.vhu.backend.service.FileSystemStorageService;
+import com.vhu.backend.service.MediaOwnershipService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lưu một bài có ảnh trong nội dung hai lần liên tiếp, với một bảng media giả lập trong bộ nhớ:
+ * lần đầu ảnh được chuyển khỏi temp, lần sau ảnh phải vẫn được tìm thấy theo URL và vẫn thuộc bài viết.
+ */
+@ExtendWith(MockitoExtension.class)
+class ArticleContentImagesTest {
+
+    private static final long ARTICLE_ID = 7L;
+    private static final String FILE_NAME = "0b8e2f4c-1d2a-4c1e-9a57-3f4b6c8d9e10_ảnh tuyển sinh+2025.png";
+    private static final String TEMP_PATH = "temp/" + FILE_NAME;
+    private static final String PERMANENT_PATH = "articles/7/images/" + FILE_NAME;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private MediaRepository mediaRepository;
+
+    @Mock
+    private FileSystemStorageService storageService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    private final List<Media> mediaTable = new ArrayList<>();
+    private Article article;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        ReflectionTestUtils.setField(articleService, "mediaOwnershipService",
+                new MediaOwnershipService(mediaRepository, jdbcTemplate));
+
+        Media thumbnail = media(1L, "articles/7/anh-dai-dien.png");
+        thumbnail.setOwnerId(ARTICLE_ID);
+        thumbnail.setOwnerType("ARTICLE_THUMBNAIL");
+        media(2L, TEMP_PATH);
+
+        Category category = new Category();
+        category.setId(3);
+        article = new Article();
+        article.setId(ARTICLE_ID);
+        article.setCategory(category);
+        article.setThumbnail(thumbnail);
+        ArticleTranslation translation = new ArticleTranslation();
+        translation.setLanguageCode("vi");
+        translation.setArticle(article);
+        article.getTranslations().add(translation);
+
+        when(articleRepository.findById(ARTICLE_ID)).thenReturn(Optional.of(article));
+        when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(categoryRepository.findById(3)).thenReturn(Optional.of(category));
+        when(tagRepository.findAllById(any())).thenReturn(List.of());
+        when(mediaRepository.findById(1L)).thenReturn(Optional.of(thumbnail));
+        lenient().when(storageService.moveFile(TEMP_PATH, "articles/7/images")).thenReturn(PERMANENT_PATH);
+        stubMediaTable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void nonAsciiImageStaysAssignedAcrossSaves() {
+        String tempUrl = "http://localhost/uploads/" + UriUtils.encodePath(TEMP_PATH, StandardCharsets.UTF_8);
+
+        articleService.updateArticle(ARTICLE_ID, request("<p><img src=\"" + tempUrl + "\"></p>"));
+
+        String savedContent = article.getTranslations().get(0).getContent();
+        Media image = mediaTable.get(1);
+        assertThat(image.getS3Key()).isEqualTo(PERMANENT_PATH);
+        assertThat(savedContent).isEqualTo("<p><img src=\"" + image.getUrl() + "\"></p>");
+        assertThat(image.getUrl()).doesNotContain("ả").doesNotContain(" ");
+        assertOwnedByArticle(image);
+
+        articleService.updateArticle(ARTICLE_ID, request(savedContent));
+
+        assertThat(article.getTranslations().get(0).getContent()).isEqualTo(savedContent);
+        assertThat(image.getS3Key()).isEqualTo(PERMANENT_PATH);
+        assertOwnedByArticle(image);
+    }
+
+    private void assertOwnedByArticle(Media image) {
+        assertThat(image.getOwnerId()).isEqualTo(ARTICLE_ID);
+        assertThat(image.getOwnerType()).isEqualTo("ARTICLE_CONTENT");
+    }
+
+    private static ArticleUpdateRequest request(String content) {
+        ArticleTranslationRequest translation = new ArticleTranslationRequest();
+        translation.setLanguageCode("vi");
+        translation.setTitle("Thông báo tuyển sinh");
+        translation.setContent(content);
+        ArticleUpdateRequest request = new ArticleUpdateRequest();
+        request.setCategoryId(3);
+        request.setThumbnailMediaId(1L);
+        request.setStatus(ArticleStatus.DRAFT);
+        request.setTranslations(List.of(translation));
+        return request;
+    }
+
+    private Media media(Long id, String s3Key) {
+        Media media = new Media();
+        media.setId(id);
+        media.setS3Key(s3Key);
+        media.setUrl("http://localhost/uploads/" + UriUtils.encodePath(s3Key, StandardCharsets.UTF_8));
+        mediaTable.add(media);
+        return media;
+    }
+
+    // Các truy vấn / câu UPDATE của MediaRepository và lô JDBC của MediaOwnershipService chạy trên mediaTable
+    @SuppressWarnings("unchecked")
+    private void stubMediaTable() {
+        when(mediaRepository.findByUrlIn(anyList())).thenAnswer(invocation -> {
+            List<String> urls = invocation.getArgument(0);
+            return mediaTable.stream().filter(media -> urls.contains(media.getUrl())).toList();
+        });
+        lenient().when(mediaRepository.findIdsByS3KeyIn(any())).thenAnswer(invocation -> {
+            Collection<String> paths = invocation.getArgument(0);
+            return mediaTable.stream().filter(media -> paths.contains(media.getS3Key())).map(Media::getId).toList();
+        });
+        when(mediaRepository.findIdsByOwner(anyLong(), anyString())).thenAnswer(invocation -> mediaTable.stream()
+                .filter(media -> Objects.equals(media.getOwnerId(), invocation.getArgument(0))
+                        && Objects.equals(media.getOwnerType(), invocation.getArgument(1)))
+                .map(Media::getId).toList());
+        lenient().when(mediaRepository.assignOwner(any(), anyLong(), anyString())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            mediaTable.stream().filter(media -> ids.contains(media.getId())).forEach(media -> {
+                media.setOwnerId(invocation.getArgument(1));
+                media.setOwnerType(invocation.getArgument(2));
+            });
+            return ids.size();
+        });
+        lenient().when(mediaRepository.clearOwner(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            mediaTable.stream().filter(media -> ids.contains(media.getId())).forEach(media -> {
+                media.setOwnerId(null);
+                media.setOwnerType(null);
+            });
+            return ids.size();
+        });
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            // UPDATE media SET s3_key = ?, url = ?, owner_id = ?, owner_type = ? WHERE s3_key = ?
+            rows.forEach(row -> mediaTable.stream().filter(media -> media.getS3Key().equals(row[4])).forEach(media -> {
+                media.setS3Key((String) row[0]);
+                media.setUrl((String) row[1]);
+                media.setOwnerId((Long) row[2]);
+                media.setOwnerType((String) row[3]);
+            }));
+            return new int[rows.size()];
+        });
+    }
+}
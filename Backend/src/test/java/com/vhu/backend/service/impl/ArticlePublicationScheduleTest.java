@@ -0,0 +1,92 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.entity.Article;
+import com.vhu.backend.entity.ArticleStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class ArticlePublicationScheduleTest {
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    @Test
+    void resavingScheduledArticleWithoutDatesKeepsSchedule() {
+        LocalDateTime publishAt = LocalDateTime.now().plusDays(1);
+        LocalDateTime unpublishAt = publishAt.plusDays(7);
+        Article article = scheduled(publishAt, unpublishAt);
+
+        apply(article, ArticleStatus.SCHEDULED, null, null, false);
+
+        assertThat(article.getStatus()).isEqualTo(ArticleStatus.SCHEDULED);
+        assertThat(article.getPublishedAt()).isEqualTo(publishAt);
+        assertThat(article.getUnpublishAt()).isEqualTo(unpublishAt);
+    }
+
+    @Test
+    void editingPublishedArticleKeepsPendingUnpublish() {
+        LocalDateTime publishedAt = LocalDateTime.now().minusDays(1);
+        LocalDateTime unpublishAt = LocalDateTime.now().plusDays(3);
+        Article article = new Article();
+        article.setStatus(ArticleStatus.PUBLISHED);
+        article.setPublishedAt(publishedAt);
+        article.setUnpublishAt(unpublishAt);
+
+        apply(article, ArticleStatus.PUBLISHED, null, null, false);
+
+        assertThat(article.getPublishedAt()).isEqualTo(publishedAt);
+        assertThat(article.getUnpublishAt()).isEqualTo(unpublishAt);
+    }
+
+    @Test
+    void clearUnpublishAtCancelsPendingUnpublish() {
+        Article article = scheduled(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(8));
+
+        apply(article, ArticleStatus.SCHEDULED, null, null, true);
+
+        assertThat(article.getUnpublishAt()).isNull();
+    }
+
+    @Test
+    void explicitDatesReplaceStoredOnes() {
+        Article article = scheduled(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(8));
+        LocalDateTime publishAt = LocalDateTime.now().plusDays(2);
+        LocalDateTime unpublishAt = publishAt.plusDays(1);
+
+        apply(article, ArticleStatus.SCHEDULED, publishAt, unpublishAt, false);
+
+        assertThat(article.getPublishedAt()).isEqualTo(publishAt);
+        assertThat(article.getUnpublishAt()).isEqualTo(unpublishAt);
+    }
+
+    @Test
+    void scheduledStatusStillNeedsAFutureTime() {
+        Article article = new Article();
+
+        assertThatThrownBy(() -> apply(article, ArticleStatus.SCHEDULED, null, null, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Article scheduled(LocalDateTime publishAt, LocalDateTime unpublishAt) {
+        Article article = new Article();
+        article.setStatus(ArticleStatus.SCHEDULED);
+        article.setPublishedAt(publishAt);
+        article.setUnpublishAt(unpublishAt);
+        return article;
+    }
+
+    private void apply(Article article, ArticleStatus status, LocalDateTime publishAt,
+                       LocalDateTime unpublishAt, boolean clearUnpublishAt) {
+        ReflectionTestUtils.invokeMethod(articleService, "applyPublicationSchedule",
+                article, status, publishAt, unpublishAt, clearUnpublishAt);
+    }
+}
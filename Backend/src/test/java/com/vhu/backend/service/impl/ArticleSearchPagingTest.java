@@ -0,0 +1,121 @@
+package com.vhu.backend.service.impl;
+
+import com.vhu.backend.dto.article.response.ArticleSearchResult;
+import com.vhu.backend.entity.ArticleStatus;
+import com.vhu.backend.repository.ArticleRepository;
+import com.vhu.backend.service.ArticleSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleSearchPagingTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @InjectMocks
+    private ArticleServiceImpl articleService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(articleService, "searchMaxPageSize", 50);
+        ReflectionTestUtils.setField(articleService, "searchMaxResults", 10);
+    }
+
+    @Test
+    void indexBranchUsesCursorOffsetAndReturnsNextCursor() {
+        when(articleSearchIndex.isReady()).thenReturn(true);
+        when(articleSearchIndex.search("tuyển sinh", "vi", 0, 4))
+                .thenReturn(new ArticleSearchIndex.SearchResult(List.of(1L, 2L, 3L, 4L), 40));
+        when(articleSearchIndex.search("tuyển sinh", "vi", 4, 4))
+                .thenReturn(new ArticleSearchIndex.SearchResult(List.of(5L, 6L, 7L, 8L), 40));
+
+        ArticleSearchResult first = articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, null);
+        assertThat(first.getArticleIds()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(first.getNextCursor()).isEqualTo(cursor(4));
+
+        ArticleSearchResult second = articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, first.getNextCursor());
+        assertThat(second.getArticleIds()).containsExactly(5L, 6L, 7L, 8L);
+        assertThat(second.getNextCursor()).isEqualTo(cursor(8));
+    }
+
+    @Test
+    void indexBranchClampsLastPageToMaxResults() {
+        when(articleSearchIndex.isReady()).thenReturn(true);
+        when(articleSearchIndex.search("tuyển sinh", "vi", 8, 2))
+                .thenReturn(new ArticleSearchIndex.SearchResult(List.of(9L, 10L), 40));
+
+        ArticleSearchResult result = articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, cursor(8));
+
+        assertThat(result.getArticleIds()).containsExactly(9L, 10L);
+        assertThat(result.getTotal()).isEqualTo(40);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void fallbackUsesCursorOffsetThatIsNotAMultipleOfPageSize() {
+        when(articleSearchIndex.isReady()).thenReturn(false);
+        when(articleRepository.searchIdsByTitle("tuyển sinh", "vi", ArticleStatus.PUBLISHED.name(), 3, 4))
+                .thenReturn(List.of(4L, 5L, 6L, 7L));
+        when(articleRepository.countByTitle("tuyển sinh", "vi", ArticleStatus.PUBLISHED)).thenReturn(40L);
+
+        ArticleSearchResult result = articleService.searchPublicArticleIds(" tuyển sinh ", "vi", 0, 4, cursor(3));
+
+        assertThat(result.getArticleIds()).containsExactly(4L, 5L, 6L, 7L);
+        assertThat(result.getNextCursor()).isEqualTo(cursor(7));
+    }
+
+    @Test
+    void fallbackClampsLastPageToMaxResults() {
+        when(articleSearchIndex.isReady()).thenReturn(false);
+        when(articleRepository.searchIdsByTitle("tuyển sinh", "vi", ArticleStatus.PUBLISHED.name(), 7, 3))
+                .thenReturn(List.of(8L, 9L, 10L));
+        when(articleRepository.countByTitle("tuyển sinh", "vi", ArticleStatus.PUBLISHED)).thenReturn(40L);
+
+        ArticleSearchResult result = articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, cursor(7));
+
+        assertThat(result.getArticleIds()).containsExactly(8L, 9L, 10L);
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void cursorPastMaxResultsReturnsEmptyPageWithoutQuerying() {
+        ArticleSearchResult result = articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, cursor(10));
+
+        assertThat(result.getArticleIds()).isEmpty();
+        assertThat(result.getNextCursor()).isNull();
+        verify(articleRepository, never()).searchIdsByTitle(anyString(), anyString(), anyString(), anyInt(), anyInt());
+        verify(articleSearchIndex, never()).search(anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> articleService.searchPublicArticleIds("tuyển sinh", "vi", 0, 4, "không-hợp-lệ"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String cursor(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+}
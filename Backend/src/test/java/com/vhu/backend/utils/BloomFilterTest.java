@@ -0,0 +1,46 @@
+package com.vhu.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsAnInsertedValueAsMissing() {
+        BloomFilter filter = new BloomFilter(2_000, 0.01);
+        for (int i = 0; i < 2_000; i++) {
+            filter.put("bai-viet-" + i);
+        }
+
+        for (int i = 0; i < 2_000; i++) {
+            assertThat(filter.mightContain("bai-viet-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(5_000, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("tin-tuc-" + i);
+        }
+
+        int falsePositives = 0;
+        int probes = 20_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("khong-ton-tai-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.03);
+    }
+
+    @Test
+    void handlesUnicodeSlugs() {
+        BloomFilter filter = new BloomFilter(16, 0.01);
+        filter.put("tuyển-sinh-2025");
+
+        assertThat(filter.mightContain("tuyển-sinh-2025")).isTrue();
+        assertThat(filter.mightContain("tuyen-sinh-2025")).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package com.vhu.backend.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+    // 4 ô x 10 ms: deadline xa hơn 40 ms phải chờ qua nhiều vòng
+    private static final int WHEEL_SIZE = 4;
+
+    private final Map<String, Long> firedAt = new ConcurrentHashMap<>();
+    private HashedTimingWheel<String> wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.close();
+        }
+    }
+
+    @Test
+    void firesWithinOneTickAfterDeadlineAcrossRounds() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        wheel = new HashedTimingWheel<>("test-wheel", TICK_MILLIS, WHEEL_SIZE, items -> record(items, latch));
+
+        long now = System.currentTimeMillis();
+        long nearDeadline = now + 25;
+        long farDeadline = now + 175;
+        wheel.schedule("near", nearDeadline);
+        wheel.schedule("far", farDeadline);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        // Không bao giờ sớm hơn deadline; biên trên nới rộng cho máy CI chậm
+        assertThat(firedAt.get("near")).isBetween(nearDeadline, nearDeadline + 500);
+        assertThat(firedAt.get("far")).isBetween(farDeadline, farDeadline + 500);
+    }
+
+    @Test
+    void pastDeadlineFiresOnNextTick() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HashedTimingWheel<>("test-wheel", TICK_MILLIS, WHEEL_SIZE, items -> record(items, latch));
+
+        wheel.schedule("overdue", System.currentTimeMillis() - 60_000);
+
+        assertThat(latch.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAt).containsOnlyKeys("overdue");
+    }
+
+    @Test
+    void cancelledTimeoutNeverFires() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        wheel = new HashedTimingWheel<>("test-wheel", TICK_MILLIS, WHEEL_SIZE, items -> record(items, latch));
+
+        long deadline = System.currentTimeMillis() + 50;
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", deadline);
+        wheel.schedule("kept", deadline + 30);
+        wheel.cancel(cancelled);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(firedAt).containsOnlyKeys("kept");
+    }
+
+    @Test
+    void keepsRunningWhenHandlerThrows() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean thrown = new AtomicBoolean();
+        wheel = new HashedTimingWheel<>("test-wheel", TICK_MILLIS, WHEEL_SIZE, items -> {
+            if (items.contains("first")) {
+                thrown.set(true);
+                throw new IllegalStateException("lỗi thử");
+            }
+            record(items, latch);
+        });
+
+        long now = System.currentTimeMillis();
+        wheel.schedule("first", now + 20);
+        wheel.schedule("second", now + 80);
+
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(thrown).isTrue();
+        assertThat(firedAt).containsOnlyKeys("second");
+    }
+
+    private void record(List<String> items, CountDownLatch latch) {
+        long now = System.currentTimeMillis();
+        for (String item : items) {
+            firedAt.put(item, now);
+            latch.countDown();
+        }
+    }
+}
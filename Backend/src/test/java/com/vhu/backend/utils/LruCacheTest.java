@@ -0,0 +1,37 @@
+package com.vhu.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        // Đọc "a" làm nó mới hơn "b"
+        assertThat(cache.get("a")).isEqualTo(1);
+
+        cache.put("c", 3);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("c")).isEqualTo(3);
+    }
+
+    @Test
+    void removeIfDropsMatchingKeys() {
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.put("featured:3:vi", 1);
+        cache.put("featured:3:en", 2);
+        cache.put("partners:vi", 3);
+
+        cache.removeIf(key -> key.startsWith("featured:"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("partners:vi")).isEqualTo(3);
+    }
+}
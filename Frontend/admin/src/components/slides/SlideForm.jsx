@@ -1,11 +1,11 @@
 import React, { useState, useEffect } from 'react';
 import { translateTexts } from '../../services/translationService';
 import { uploadFile } from '../../services/mediaService';
-import { getAllArticleTitles } from '../../services/articleService';
+import { getArticleById, suggestArticleTitles } from '../../services/articleService';
 import toast from 'react-hot-toast';
 import { Languages, UploadCloud } from 'lucide-react';
 import ToggleSwitch from '../common/ToggleSwitch';
-import Select from 'react-select';
+import AsyncSelect from 'react-select/async';
 
 const customSelectStyles = {
     control: (provided, state) => ({
@@ -32,7 +32,7 @@ function SlideForm({ slide, onSave, onCancel, isOpen }) {
         vi: { title: '', description: '' },
         en: { title: '', description: '' },
     });
-    const [articleList, setArticleList] = useState([]);
+    const [selectedArticle, setSelectedArticle] = useState(null);
     const [errors, setErrors] = useState({});
     const [isUploading, setIsUploading] = useState(false);
     const [isTranslating, setIsTranslating] = useState(false);
@@ -40,13 +40,7 @@ function SlideForm({ slide, onSave, onCancel, isOpen }) {
 
     useEffect(() => {
         if (isOpen) {
-            const fetchArticles = async () => {
-                try {
-                    const response = await getAllArticleTitles();
-                    setArticleList(response.data);
-                } catch { toast.error("Không thể tải danh-sách bài-viết."); }
-            };
-            fetchArticles();
+            setSelectedArticle(null);
             if (slide) {
                 const vi = slide.translations.find(t => t.languageCode === 'vi') || {};
                 const en = slide.translations.find(t => t.languageCode === 'en') || {};
@@ -64,6 +58,15 @@ function SlideForm({ slide, onSave, onCancel, isOpen }) {
                     vi: { title: vi.title || '' , description: vi.description || ''},
                     en: { title: en.title || '', description: en.description || ''},
                 });
+                if (vi.linkedArticleId) {
+                    // Chỉ lấy tiêu-đề của bài đang được liên-kết, danh-sách chọn được tải theo từ khóa
+                    getArticleById(vi.linkedArticleId)
+                        .then(response => {
+                            const title = response.data.translations.find(t => t.languageCode === 'vi')?.title;
+                            setSelectedArticle({ value: vi.linkedArticleId, label: title || `#${vi.linkedArticleId}` });
+                        })
+                        .catch(() => setSelectedArticle({ value: vi.linkedArticleId, label: `#${vi.linkedArticleId}` }));
+                }
             } else {
                 setFormData({
                     mediaId: null, imageUrl: '', active: true,
@@ -76,6 +79,16 @@ function SlideForm({ slide, onSave, onCancel, isOpen }) {
         }
     }, [slide, isOpen]);
 
+    const loadArticleOptions = async (inputValue) => {
+        try {
+            const response = await suggestArticleTitles(inputValue, 20);
+            return response.data.map(a => ({ value: a.id, label: a.title }));
+        } catch {
+            toast.error("Không thể tải danh-sách bài-viết.");
+            return [];
+        }
+    };
+
     const handleFileChange = async (event) => {
         const file = event.target.files[0];
         if (!file) return;
@@ -198,11 +211,17 @@ function SlideForm({ slide, onSave, onCancel, isOpen }) {
                             {formData.linkType === 'article' && (
                                 <div>
                                     <label className="block text-sm font-medium">Chọn bài viết</label>
-                                    <Select
-                                        options={articleList.map(a => ({ value: a.id, label: a.title }))}
-                                        value={articleList.find(a => a.id === formData.linkedArticleId) ? { value: formData.linkedArticleId, label: articleList.find(a => a.id === formData.linkedArticleId).title } : null}
-                                        onChange={(selected) => setFormData(prev => ({...prev, linkedArticleId: selected.value }))}
-                                        placeholder="-- Chọn một bài-viết --"
+                                    <AsyncSelect
+                                        cacheOptions
+                                        defaultOptions
+                                        loadOptions={loadArticleOptions}
+                                        value={selectedArticle}
+                                        onChange={(selected) => {
+                                            setSelectedArticle(selected);
+                                            setFormData(prev => ({...prev, linkedArticleId: selected.value }));
+                                        }}
+                                        placeholder="-- Gõ để tìm bài-viết --"
+                                        noOptionsMessage={() => "Không tìm thấy bài-viết"}
                                         styles={customSelectStyles}
                                         className="mt-1"
                                     />
@@ -6,7 +6,7 @@ import Select from 'react-select';
 import { getArticleById, createArticle, updateArticle } from '../services/articleService';
 import { getAllCategoriesAsTree } from '../services/categoryService';
 import { getAllTags } from '../services/tagService';
-import { uploadFile } from '../services/mediaService';
+import { uploadFile, uploadLargeFile } from '../services/mediaService';
 import { translateTexts } from '../services/translationService';
 import toast from 'react-hot-toast';
 import { UploadCloud, Save, Languages, FileText } from 'lucide-react';
@@ -29,6 +29,16 @@ const customSelectStyles = {
     }),
 };
 
+const STATUS_OPTIONS = [
+    { value: 'DRAFT', label: 'Bản nháp' },
+    { value: 'SCHEDULED', label: 'Hẹn giờ đăng' },
+    { value: 'PUBLISHED', label: 'Xuất bản' },
+    { value: 'ARCHIVED', label: 'Lưu trữ' },
+];
+
+// LocalDateTime từ API ("2025-01-31T08:30:00") -> giá trị của input datetime-local ("2025-01-31T08:30")
+const toDateTimeInput = (value) => (value ? value.slice(0, 16) : '');
+
 function ArticleFormPage() {
     const { id } = useParams();
     const { user } = useAuth();
@@ -44,9 +54,13 @@ function ArticleFormPage() {
         tags: [],
         thumbnailMediaId: null,
         thumbnailUrl: '',
-        status: { value: 'DRAFT', label: 'Bản nháp' },
+        status: STATUS_OPTIONS[0],
         pinned: false,
+        publishAt: '',
+        unpublishAt: '',
     });
+    // Bài đã có lịch gỡ: xóa trống ô này nghĩa là bỏ lịch, phải báo rõ cho API (để trống thì API giữ lịch cũ)
+    const [hadUnpublishAt, setHadUnpublishAt] = useState(false);
     const [contentVi, setContentVi] = useState('');
     const [contentEn, setContentEn] = useState('');
     const [categoryOptions, setCategoryOptions] = useState([]);
@@ -96,9 +110,12 @@ function ArticleFormPage() {
                         tags: article.tags.map(t => ({ value: t.id, label: t.name })),
                         thumbnailMediaId: article.thumbnailMediaId,
                         thumbnailUrl: article.thumbnailUrl,
-                        status: { value: article.status, label: article.status === 'PUBLISHED' ? 'Xuất bản' : 'Bản nháp' },
+                        status: STATUS_OPTIONS.find(o => o.value === article.status) || STATUS_OPTIONS[0],
                         pinned: article.pinned || false,
+                        publishAt: toDateTimeInput(article.publishedAt),
+                        unpublishAt: toDateTimeInput(article.unpublishAt),
                     });
+                    setHadUnpublishAt(Boolean(article.unpublishAt));
                     setContentVi(vi.content || '');
                     setContentEn(en.content || '');
                 }
@@ -132,6 +149,28 @@ function ArticleFormPage() {
             .catch(err => reject('Upload ảnh thất bại: ' + err.message));
     });
 
+    // Video / audio trong hộp thoại "media" của TinyMCE: upload theo từng đoạn, tự gửi tiếp khi mất kết nối
+    const handleTinymceFilePicker = (callback) => {
+        const input = document.createElement('input');
+        input.type = 'file';
+        input.accept = 'video/*,audio/*';
+        input.onchange = async () => {
+            const file = input.files[0];
+            if (!file) return;
+            const toastId = toast.loading(`Đang tải lên ${file.name}...`);
+            try {
+                const res = await uploadLargeFile(file, {
+                    onProgress: (ratio) => toast.loading(`Đang tải lên ${file.name}: ${Math.round(ratio * 100)}%`, { id: toastId }),
+                });
+                callback(res.data.location, { title: file.name });
+                toast.success("Upload file thành công!", { id: toastId });
+            } catch (err) {
+                toast.error('Upload file thất bại: ' + (err?.message || ''), { id: toastId });
+            }
+        };
+        input.click();
+    };
+
     const handleTranslate = async () => {
         setIsTranslating(true);
         if(formData.title_vi.trim() === '' && (!editorViRef.current || editorViRef.current.getContent().trim() === '')) {
@@ -179,6 +218,9 @@ function ArticleFormPage() {
                 thumbnailMediaId: formData.thumbnailMediaId,
                 tagIds: formData.tags.map(t => t.value),
                 status: formData.status?.value,
+                publishAt: formData.publishAt || null,
+                unpublishAt: formData.unpublishAt || null,
+                clearUnpublishAt: hadUnpublishAt && !formData.unpublishAt,
                 pinned: formData.pinned,
                 translations: [
                     { languageCode: 'vi', title: formData.title_vi, excerpt: formData.excerpt_vi, content: editorViRef.current ? editorViRef.current.getContent() : '' },
@@ -300,6 +342,8 @@ function ArticleFormPage() {
                                     plugins: 'lists link image media table wordcount',
                                     toolbar: 'undo redo | blocks | bold italic | alignleft aligncenter alignright | bullist numlist | link image media',
                                     images_upload_handler: handleTinymceUpload,
+                                    file_picker_types: 'media',
+                                    file_picker_callback: handleTinymceFilePicker,
                                     highlight_on_focus: false
                                 }}/>
                             </div>
@@ -314,6 +358,8 @@ function ArticleFormPage() {
                                     plugins: 'lists link image media table wordcount',
                                     toolbar: 'undo redo | blocks | bold italic | alignleft aligncenter alignright | bullist numlist | link image media',
                                     images_upload_handler: handleTinymceUpload,
+                                    file_picker_types: 'media',
+                                    file_picker_callback: handleTinymceFilePicker,
                                     highlight_on_focus: false
                                 }}/>
                             </div>
@@ -351,10 +397,7 @@ function ArticleFormPage() {
                                     <div>
                                         <div className="mt-2">
                                             <Select
-                                                options={[{value: 'DRAFT', label: 'Bản nháp'}, {
-                                                    value: 'PUBLISHED',
-                                                    label: 'Xuất bản'
-                                                }]}
+                                                options={STATUS_OPTIONS}
                                                 value={formData.status}
                                                 onChange={(selected) => setFormData(prev => ({
                                                     ...prev,
@@ -364,6 +407,19 @@ function ArticleFormPage() {
                                                 isDisabled={!canChangeStatus}
                                             />
                                         </div>
+                                        <div className="mt-3">
+                                            <label className="text-[12px] text-gray-600">Thời điểm đăng</label>
+                                            <input type="datetime-local" name="publishAt" value={formData.publishAt}
+                                                   onChange={handleChange} disabled={!canChangeStatus}
+                                                   className="w-full mt-1 p-2 border border-gray-300 rounded-md text-sm focus:outline-none"/>
+                                            <p className="text-xs text-gray-500 mt-1 italic">Chọn thời điểm trong tương lai để hẹn giờ đăng bài.</p>
+                                        </div>
+                                        <div className="mt-3">
+                                            <label className="text-[12px] text-gray-600">Tự động gỡ bài lúc</label>
+                                            <input type="datetime-local" name="unpublishAt" value={formData.unpublishAt}
+                                                   onChange={handleChange} disabled={!canChangeStatus}
+                                                   className="w-full mt-1 p-2 border border-gray-300 rounded-md text-sm focus:outline-none"/>
+                                        </div>
                                     </div>
                                 </div>
                                 <div>
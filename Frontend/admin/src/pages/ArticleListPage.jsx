@@ -6,6 +6,13 @@ import Pagination from '../components/common/Pagination';
 import { FileText, PlusCircle, Edit, Trash2, Pin } from 'lucide-react';
 import { format, parseISO } from 'date-fns';
 
+const STATUS_BADGES = {
+    DRAFT: { label: 'Bản nháp', className: 'bg-yellow-100 text-yellow-800' },
+    SCHEDULED: { label: 'Hẹn giờ đăng', className: 'bg-blue-100 text-blue-800' },
+    PUBLISHED: { label: 'Đã xuất bản', className: 'bg-green-100 text-green-800' },
+    ARCHIVED: { label: 'Lưu trữ', className: 'bg-gray-100 text-gray-700' },
+};
+
 function ArticleListPage() {
     const [searchParams] = useSearchParams();
     const searchTerm = searchParams.get('search') || '';
@@ -123,12 +130,15 @@ function ArticleListPage() {
                                 <td className="px-5 py-2 text-sm">{article.category.name}</td>
                                 <td className="px-5 py-2 text-sm">
                                         <span
-                                            className={`px-2 py-1 text-xs font-semibold rounded-full ${article.status === 'PUBLISHED' ? 'bg-green-100 text-green-800' : 'bg-yellow-100 text-yellow-800'}`}>
-                                            {article.status === 'PUBLISHED' ? 'Đã xuất bản' : 'Bản nháp'}
+                                            className={`px-2 py-1 text-xs font-semibold rounded-full ${(STATUS_BADGES[article.status] || STATUS_BADGES.DRAFT).className}`}>
+                                            {(STATUS_BADGES[article.status] || STATUS_BADGES.DRAFT).label}
                                         </span>
                                 </td>
                                 <td className="px-5 py-2 text-sm">
                                     {article.publishedAt ? format(parseISO(article.publishedAt), 'dd/MM/yyyy HH:mm') : 'Chưa xuất bản'}
+                                    {article.unpublishAt && (
+                                        <div className="text-xs text-gray-500">Gỡ lúc {format(parseISO(article.unpublishAt), 'dd/MM/yyyy HH:mm')}</div>
+                                    )}
                                 </td>
                                 <td className="px-5 py-2 text-sm text-center">
                                     <div className="flex items-center justify-center space-x-2">
@@ -13,6 +13,8 @@ export const deleteArticle = (id) => apiClient.delete(`/articles/${id}`);
 
 export const getAllArticleTitles = () => apiClient.get('/articles/list-titles');
 
+export const suggestArticleTitles = (q, limit = 10) => apiClient.get('/articles/titles/suggest', { params: { q, limit } });
+
 export const toggleArticlePinStatus = (id) => {
     return apiClient.patch(`/articles/${id}/toggle-pin`);
 };
\ No newline at end of file
@@ -10,4 +10,43 @@ export const uploadFile = (file, folder = 'others') => {
             'Content-Type': 'multipart/form-data',
         },
     });
+};
+
+const CHUNK_SIZE = 8 * 1024 * 1024;
+const MAX_RETRIES = 5;
+
+// Upload file lớn (PDF, video) theo từng đoạn 8MB; khi mất kết nối sẽ hỏi lại server vị trí đã nhận rồi gửi tiếp.
+// Truyền lại uploadId của lần trước để tiếp tục một upload bị gián đoạn.
+export const uploadLargeFile = async (file, { onProgress, uploadId } = {}) => {
+    if (!uploadId) {
+        const init = await apiClient.post('/media/uploads', null, {
+            params: { fileName: file.name, size: file.size, contentType: file.type },
+        });
+        uploadId = init.data.uploadId;
+    }
+
+    let offset = (await apiClient.get(`/media/uploads/${uploadId}`)).data.offset;
+    let retries = 0;
+    while (offset < file.size) {
+        try {
+            const res = await apiClient.put(`/media/uploads/${uploadId}`, file.slice(offset, offset + CHUNK_SIZE), {
+                params: { offset },
+                headers: { 'Content-Type': 'application/octet-stream' },
+            });
+            offset = res.data.offset;
+            retries = 0;
+            onProgress?.(offset / file.size, uploadId);
+        } catch (error) {
+            if (error?.status === 409) {
+                offset = error.data.offset;
+            } else if (++retries > MAX_RETRIES) {
+                throw error;
+            } else {
+                await new Promise((resolve) => setTimeout(resolve, 1000 * retries));
+                offset = (await apiClient.get(`/media/uploads/${uploadId}`)).data.offset;
+            }
+        }
+    }
+
+    return apiClient.post(`/media/uploads/${uploadId}/complete`);
 };
\ No newline at end of file
@@ -48,6 +48,8 @@ const ArticleCard = ({ article, size = 'normal' }) => {
                 <div className={`w-full overflow-hidden ${currentSize.imageContainer}`}>
                     <img
                         src={article.thumbnailUrl}
+                        srcSet={article.thumbnailSrcset || undefined}
+                        sizes="(min-width: 1024px) 33vw, (min-width: 640px) 50vw, 100vw"
                         alt={articleTranslation.title}
                         className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-300"
                     />
@@ -24,6 +24,8 @@ const ArticleListCard = ({ article }) => {
             <Link to={`/${localizedPath}/${articleTranslation.slug}`} className="block sm:w-48 flex-shrink-0 overflow-hidden">
                 <img
                     src={article.thumbnailUrl}
+                    srcSet={article.thumbnailSrcset || undefined}
+                    sizes="(min-width: 640px) 192px, 100vw"
                     alt={articleTranslation.title}
                     className="w-full h-40 sm:h-full object-cover group-hover:scale-110 transition-transform duration-300"
                 />
@@ -87,6 +87,8 @@ const Slider = () => {
 
                                 <img
                                     src={slide.imageUrl}
+                                    srcSet={slide.imageSrcset || undefined}
+                                    sizes="100vw"
                                     alt={translation.title || 'Slide background'}
                                     className="absolute inset-0 w-full h-full object-contain z-10"
                                     loading={index === 0 ? 'eager' : 'lazy'}
@@ -53,6 +53,9 @@ const ArticleDetailPage = () => {
                 const articleId = mainArticle.id;
                 const categoryId = mainArticle.category.id;
 
+                // Ghi nhận lượt xem, không chặn việc hiển thị nếu lỗi
+                apiClient.post(`/public/articles/${articleId}/view`).catch(() => {});
+
                 const relatedPromise = apiClient.get(`/public/articles/related/${articleId}/${categoryId}/${currentLang}?limit=5`);
                 const latestPromise = apiClient.get(`/public/articles/latest/${currentLang}?limit=6`);
 